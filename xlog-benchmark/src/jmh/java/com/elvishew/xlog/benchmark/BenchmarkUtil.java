@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.XLog;
+
+/**
+ * Utilities shared by benchmarks.
+ */
+/*package*/ class BenchmarkUtil {
+
+  private static boolean sXLogInitialized;
+
+  /**
+   * Initialize XLog once, with all logs enabled and printed to a {@link SinkPrinter}, loggers
+   * built by benchmarks are derived from this global configuration.
+   */
+  static synchronized void ensureXLogInitialized() {
+    if (!sXLogInitialized) {
+      XLog.init(LogLevel.ALL, new SinkPrinter());
+      sXLogInitialized = true;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.ClassicFlattener;
+import com.elvishew.xlog.printer.file.FilePrinter;
+import com.elvishew.xlog.printer.file.backup.NeverBackupStrategy;
+import com.elvishew.xlog.printer.file.naming.ChangelessFileNameGenerator;
+import com.elvishew.xlog.printer.file.writer.SimpleWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sustained throughput of {@link FilePrinter} with different numbers of producer threads.
+ * <p>
+ * FilePrinter writes logs in a background thread with an unbounded queue, so measuring only the
+ * enqueueing would just fill the heap. Producers here stop when too many logs are pending, so the
+ * score is the rate at which logs really reach the file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FilePrinterBenchmark {
+
+  /**
+   * The max number of logs enqueued but not written yet.
+   */
+  private static final long MAX_PENDING_LOGS = 10000;
+
+  /**
+   * How many logs a producer prints between two checks of pending logs.
+   */
+  private static final int CHECK_INTERVAL = 256;
+
+  @State(Scope.Benchmark)
+  public static class PrinterState {
+
+    File folder;
+
+    FilePrinter printer;
+
+    CountingWriter writer;
+
+    final AtomicLong enqueued = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      folder = File.createTempFile("xlog-benchmark", "");
+      folder.delete();
+      writer = new CountingWriter();
+      printer = new FilePrinter.Builder(folder.getPath())
+          .fileNameGenerator(new ChangelessFileNameGenerator("log"))
+          .backupStrategy(new NeverBackupStrategy())
+          .flattener(new ClassicFlattener())
+          .writer(writer)
+          .build();
+    }
+
+    /**
+     * Let the worker drain the queue, so that one iteration does not pay for the previous one.
+     */
+    @TearDown(Level.Iteration)
+    public void drain() throws InterruptedException {
+      while (writer.written.get() < enqueued.get()) {
+        Thread.sleep(1);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      writer.close();
+      File[] files = folder.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          file.delete();
+        }
+      }
+      folder.delete();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ProducerState {
+
+    int sinceLastCheck;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void producers1(PrinterState printerState, ProducerState producerState)
+      throws InterruptedException {
+    println(printerState, producerState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void producers4(PrinterState printerState, ProducerState producerState)
+      throws InterruptedException {
+    println(printerState, producerState);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void producers16(PrinterState printerState, ProducerState producerState)
+      throws InterruptedException {
+    println(printerState, producerState);
+  }
+
+  private static void println(PrinterState printerState, ProducerState producerState)
+      throws InterruptedException {
+    printerState.printer.println(LogLevel.DEBUG, "TAG", "Simple message to file");
+    if (++producerState.sinceLastCheck == CHECK_INTERVAL) {
+      producerState.sinceLastCheck = 0;
+      long enqueued = printerState.enqueued.addAndGet(CHECK_INTERVAL);
+      while (enqueued - printerState.writer.written.get() > MAX_PENDING_LOGS) {
+        Thread.sleep(0, 100000);
+      }
+    }
+  }
+
+  /**
+   * A writer counting the logs really written.
+   */
+  static class CountingWriter extends SimpleWriter {
+
+    final AtomicLong written = new AtomicLong();
+
+    @Override
+    public void appendLog(String log) {
+      super.appendLog(log);
+      written.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.ClassicFlattener;
+import com.elvishew.xlog.flattener.DefaultFlattener;
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.flattener.PatternFlattener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of flattening a log into a single line, as done by FilePrinter for every log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FlattenerBenchmark {
+
+  private Flattener2 defaultFlattener;
+
+  private Flattener2 classicFlattener;
+
+  private Flattener2 patternFlattener;
+
+  private long timeMillis;
+
+  @Setup
+  public void setup() {
+    defaultFlattener = new DefaultFlattener();
+    classicFlattener = new ClassicFlattener();
+    patternFlattener = new PatternFlattener("{d yyyy-MM-dd HH:mm:ss.SSS} {l}/{t}: {m}");
+    timeMillis = System.currentTimeMillis();
+  }
+
+  @Benchmark
+  public CharSequence defaultFlattener() {
+    return defaultFlattener.flatten(timeMillis++, LogLevel.DEBUG, "TAG", "Simple message");
+  }
+
+  @Benchmark
+  public CharSequence classicFlattener() {
+    return classicFlattener.flatten(timeMillis++, LogLevel.DEBUG, "TAG", "Simple message");
+  }
+
+  @Benchmark
+  public CharSequence patternFlattener() {
+    return patternFlattener.flatten(timeMillis++, LogLevel.DEBUG, "TAG", "Simple message");
+  }
+}
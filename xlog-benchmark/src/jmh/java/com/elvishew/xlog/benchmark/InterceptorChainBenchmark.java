@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.Logger;
+import com.elvishew.xlog.interceptor.BlacklistTagsFilterInterceptor;
+import com.elvishew.xlog.interceptor.Interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of passing logs through interceptor chains of different length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class InterceptorChainBenchmark {
+
+  @Param({"0", "1", "4", "16"})
+  public int interceptorCount;
+
+  private Logger logger;
+
+  @Setup
+  public void setup() {
+    BenchmarkUtil.ensureXLogInitialized();
+    Logger.Builder builder = new Logger.Builder();
+    for (int i = 0; i < interceptorCount; i++) {
+      if (i % 2 == 0) {
+        builder.addInterceptor(new BlacklistTagsFilterInterceptor("blocked" + i));
+      } else {
+        builder.addInterceptor(new Interceptor() {
+          @Override
+          public LogItem intercept(LogItem log) {
+            return log;
+          }
+        });
+      }
+    }
+    logger = builder.build();
+  }
+
+  @Benchmark
+  public void passThrough() {
+    logger.d("Simple message");
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.libcat.LibCat;
+import com.elvishew.xlog.libcat.internal.Cat;
+import com.elvishew.xlog.libcat.internal.LogAspect;
+import com.elvishew.xlog.printer.Printer;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.runtime.internal.Conversions;
+import org.aspectj.runtime.reflect.Factory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the libcat advices, when an intercepted log is passed to a printer.
+ * <p>
+ * The "joinPoint" benchmarks replay what the woven code of an advice taking a {@link JoinPoint}
+ * does: create the join point with boxed arguments, then get and cast the arguments. The
+ * "boundArgs" benchmarks call the advices of {@link LogAspect}, whose arguments are bound by
+ * args(...) pointcuts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LibCatBenchmark {
+
+  private static final Factory FACTORY = new Factory("LibCatBenchmark.java", LibCatBenchmark.class);
+
+  private static final JoinPoint.StaticPart LOG_D_JOIN_POINT = FACTORY.makeSJP("method-call",
+      FACTORY.makeMethodSig("9", "d", "android.util.Log", "java.lang.String:java.lang.String",
+          "tag:msg", "", "int"), 1);
+
+  private static final JoinPoint.StaticPart LOG_PRINTLN_JOIN_POINT = FACTORY.makeSJP(
+      "method-call", FACTORY.makeMethodSig("9", "println", "android.util.Log",
+          "int:java.lang.String:java.lang.String", "priority:tag:msg", "", "int"), 1);
+
+  private LogAspect aspect;
+
+  private int priority = android.util.Log.DEBUG;
+
+  private String tag = "tag";
+
+  private String msg = "Simple message";
+
+  @Setup
+  public void setup() {
+    aspect = new LogAspect();
+    LibCat.config(false, new SinkPrinter());
+  }
+
+  @TearDown
+  public void tearDown() {
+    LibCat.config(true, (Printer) null);
+  }
+
+  @Benchmark
+  public int joinPoint_d() {
+    JoinPoint joinPoint = Factory.makeJP(LOG_D_JOIN_POINT, null, null, tag, msg);
+    Object[] args = joinPoint.getArgs();
+    return Cat.d((String) args[0], (String) args[1]);
+  }
+
+  @Benchmark
+  public int boundArgs_d() {
+    return aspect.cat_Log_D_SS(tag, msg);
+  }
+
+  @Benchmark
+  public int joinPoint_println() {
+    JoinPoint joinPoint = Factory.makeJP(LOG_PRINTLN_JOIN_POINT, null, null,
+        new Object[]{Conversions.intObject(priority), tag, msg});
+    Object[] args = joinPoint.getArgs();
+    return Cat.println((Integer) args[0], (String) args[1], (String) args[2]);
+  }
+
+  @Benchmark
+  public int boundArgs_println() {
+    return aspect.cat_Log_Println_ISS(priority, tag, msg);
+  }
+}
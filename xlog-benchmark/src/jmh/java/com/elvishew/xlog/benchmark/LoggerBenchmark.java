@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single logging call, from {@link Logger} to printer, with different features enabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+
+  private Logger disabledLogger;
+
+  private Logger plainLogger;
+
+  private Logger threadInfoLogger;
+
+  private Logger stackTraceLogger;
+
+  private Logger borderLogger;
+
+  private int count;
+
+  @Setup
+  public void setup() {
+    BenchmarkUtil.ensureXLogInitialized();
+    disabledLogger = new Logger.Builder().logLevel(LogLevel.INFO).build();
+    plainLogger = new Logger.Builder().build();
+    threadInfoLogger = new Logger.Builder().enableThreadInfo().build();
+    stackTraceLogger = new Logger.Builder().enableStackTrace(5).build();
+    borderLogger = new Logger.Builder().enableThreadInfo().enableStackTrace(5).enableBorder()
+        .build();
+  }
+
+  /**
+   * A log rejected by level, the cost every disabled log call in production pays.
+   */
+  @Benchmark
+  public void disabledLevel() {
+    disabledLogger.d("Simple message");
+  }
+
+  /**
+   * A disabled log with arguments, including the varargs array allocation.
+   */
+  @Benchmark
+  public void disabledLevelWithArgs() {
+    disabledLogger.d("Message %s %d", "arg", count++);
+  }
+
+  @Benchmark
+  public void plainMessage() {
+    plainLogger.d("Simple message");
+  }
+
+  @Benchmark
+  public void formatArgs() {
+    plainLogger.d("User %s logged in %d times, ratio %.2f", "elvis", count++, 0.75);
+  }
+
+  @Benchmark
+  public void threadInfo() {
+    threadInfoLogger.d("Simple message");
+  }
+
+  @Benchmark
+  public void stackTrace() {
+    stackTraceLogger.d("Simple message");
+  }
+
+  @Benchmark
+  public void threadInfoStackTraceAndBorder() {
+    borderLogger.d("Simple message");
+  }
+}
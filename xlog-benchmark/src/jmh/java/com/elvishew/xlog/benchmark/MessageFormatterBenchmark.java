@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.formatter.message.json.DefaultJsonFormatter;
+import com.elvishew.xlog.formatter.message.xml.DefaultXmlFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of formatting JSON and XML payloads of different sizes, as done by XLog.json() and
+ * XLog.xml().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MessageFormatterBenchmark {
+
+  /**
+   * Number of records in the payload.
+   */
+  @Param({"10", "1000"})
+  public int records;
+
+  private String json;
+
+  private String xml;
+
+  private DefaultJsonFormatter jsonFormatter;
+
+  private DefaultXmlFormatter xmlFormatter;
+
+  @Setup
+  public void setup() {
+    StringBuilder jsonBuilder = new StringBuilder("{\"records\":[");
+    StringBuilder xmlBuilder = new StringBuilder("<?xml version=\"1.0\"?><records>");
+    for (int i = 0; i < records; i++) {
+      if (i > 0) {
+        jsonBuilder.append(',');
+      }
+      jsonBuilder.append("{\"id\":").append(i)
+          .append(",\"name\":\"record ").append(i)
+          .append("\",\"tags\":[\"a\",\"b\"],\"valid\":true}");
+      xmlBuilder.append("<record id=\"").append(i).append("\"><name>record ").append(i)
+          .append("</name><tags><tag>a</tag><tag>b</tag></tags></record>");
+    }
+    json = jsonBuilder.append("]}").toString();
+    xml = xmlBuilder.append("</records>").toString();
+    jsonFormatter = new DefaultJsonFormatter();
+    xmlFormatter = new DefaultXmlFormatter();
+  }
+
+  @Benchmark
+  public String json() {
+    return jsonFormatter.format(json);
+  }
+
+  @Benchmark
+  public String xml() {
+    return xmlFormatter.format(xml);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.benchmark;
+
+import com.elvishew.xlog.printer.Printer;
+
+/**
+ * A printer consuming logs without any I/O, so that benchmarks measure the pipeline in front of
+ * the printers only.
+ */
+public class SinkPrinter implements Printer {
+
+  /**
+   * Written on every log, so that the JIT can not eliminate the work of building the log.
+   */
+  private volatile int sink;
+
+  @Override
+  public void println(int logLevel, String tag, String msg) {
+    sink = logLevel + tag.length() + msg.length();
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.elvishew.xlog.libcat;
 
+import com.elvishew.xlog.Logger;
 import com.elvishew.xlog.libcat.internal.Cat;
 import com.elvishew.xlog.printer.Printer;
 
@@ -37,7 +38,22 @@ public class LibCat {
    *                      there is no need to print the logs to other place
    */
   public static void config(boolean keepOriginLog, Printer output) {
-    Cat.keepOriginLog = keepOriginLog;
-    Cat.output = output;
+    Cat.config(keepOriginLog, output, null);
+  }
+
+  /**
+   * Config LibCat, the intercepted logs are passed to a {@link Logger}, with their original tags,
+   * so that the log level and interceptors of the logger apply to them.
+   * <p>
+   * Logs rejected by the log level, or by the tag filters at the beginning of the interceptors,
+   * are dropped before their stack traces are built.
+   *
+   * @param keepOriginLog whether the origin log logged by {@link android.util.Log} should be kept,
+   *                      which means you can still see them in 'logcat', default to be true
+   * @param logger        specify a {@link Logger} to log the intercepted logs, can be null if
+   *                      there is no need to print the logs to other place
+   */
+  public static void config(boolean keepOriginLog, Logger logger) {
+    Cat.config(keepOriginLog, null, logger);
   }
 }
@@ -16,72 +16,128 @@
 
 package com.elvishew.xlog.libcat.internal;
 
+import com.elvishew.xlog.Logger;
 import com.elvishew.xlog.printer.Printer;
 
 /**
- * Intercept the origin log logged by {@link android.util.Log}, and pass it to specific {@link Printer}.
+ * Intercept the origin log logged by {@link android.util.Log}, and pass it to specific
+ * {@link Logger} or {@link Printer}.
  */
 public class Cat {
 
-  public static boolean keepOriginLog = true;
-
-  public static Printer output;
+  /**
+   * The current configuration, replaced as a whole so that it is always seen consistently by
+   * other threads.
+   */
+  private static volatile Config config = new Config(true, null, null);
 
   private Cat() {
   }
 
+  /**
+   * Config where the intercepted logs go.
+   *
+   * @param keepOriginLog whether the origin log should be kept
+   * @param output        the printer to print the intercepted logs, ignored if logger is specified
+   * @param logger        the logger to log the intercepted logs
+   */
+  public static void config(boolean keepOriginLog, Printer output, Logger logger) {
+    config = new Config(keepOriginLog, output, logger);
+  }
+
   public static int v(String tag, String msg) {
-    return println(android.util.Log.VERBOSE, tag, msg);
+    return println(android.util.Log.VERBOSE, tag, msg, null);
   }
 
   public static int v(String tag, String msg, Throwable tr) {
-    return println(android.util.Log.VERBOSE, tag, msg + '\n' + android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.VERBOSE, tag, msg, tr);
   }
 
   public static int d(String tag, String msg) {
-    return println(android.util.Log.DEBUG, tag, msg);
+    return println(android.util.Log.DEBUG, tag, msg, null);
   }
 
   public static int d(String tag, String msg, Throwable tr) {
-    return println(android.util.Log.DEBUG, tag, msg + '\n' + android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.DEBUG, tag, msg, tr);
   }
 
   public static int i(String tag, String msg) {
-    return println(android.util.Log.INFO, tag, msg);
+    return println(android.util.Log.INFO, tag, msg, null);
   }
 
   public static int i(String tag, String msg, Throwable tr) {
-    return println(android.util.Log.INFO, tag, msg + '\n' + android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.INFO, tag, msg, tr);
   }
 
   public static int w(String tag, String msg) {
-    return println(android.util.Log.WARN, tag, msg);
+    return println(android.util.Log.WARN, tag, msg, null);
   }
 
   public static int w(String tag, String msg, Throwable tr) {
-    return println(android.util.Log.WARN, tag, msg + '\n' + android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.WARN, tag, msg, tr);
   }
 
   public static int w(String tag, Throwable tr) {
-    return println(android.util.Log.WARN, tag, android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.WARN, tag, null, tr);
   }
 
   public static int e(String tag, String msg) {
-    return println(android.util.Log.ERROR, tag, msg);
+    return println(android.util.Log.ERROR, tag, msg, null);
   }
 
   public static int e(String tag, String msg, Throwable tr) {
-    return println(android.util.Log.ERROR, tag, msg + '\n' + android.util.Log.getStackTraceString(tr));
+    return println(android.util.Log.ERROR, tag, msg, tr);
   }
 
   public static int println(int priority, String tag, String msg) {
+    return println(priority, tag, msg, null);
+  }
+
+  /**
+   * Pass the log to where it should go, the stack trace of throwable is only built when needed.
+   */
+  private static int println(int priority, String tag, String msg, Throwable tr) {
+    Config config = Cat.config;
     int ret = 0;
-    if (keepOriginLog) {
-      ret = android.util.Log.println(priority, tag, msg);
+    String originMsg = null;
+    if (config.keepOriginLog) {
+      originMsg = originMsg(msg, tr);
+      ret = android.util.Log.println(priority, tag, originMsg);
     }
-    if (output != null) {
-      output.println(priority, tag, msg);
+    if (config.logger != null) {
+      config.logger.forward(priority, tag, msg, tr);
+    } else if (config.output != null) {
+      if (originMsg == null) {
+        originMsg = originMsg(msg, tr);
+      }
+      config.output.println(priority, tag, originMsg);
     }
     return ret;
   }
+
+  /**
+   * Build the message like {@link android.util.Log} does.
+   */
+  private static String originMsg(String msg, Throwable tr) {
+    if (tr == null) {
+      return msg;
+    }
+    String stackTrace = android.util.Log.getStackTraceString(tr);
+    return msg == null ? stackTrace : msg + '\n' + stackTrace;
+  }
+
+  private static class Config {
+
+    final boolean keepOriginLog;
+
+    final Printer output;
+
+    final Logger logger;
+
+    Config(boolean keepOriginLog, Printer output, Logger logger) {
+      this.keepOriginLog = keepOriginLog;
+      this.output = output;
+      this.logger = logger;
+    }
+  }
 }
@@ -16,13 +16,15 @@
 
 package com.elvishew.xlog.libcat.internal;
 
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 
 /**
  * Aspect all logging via {@link android.util.Log}.
+ * <p>
+ * The arguments are bound to the advices directly, so no join point object or argument array is
+ * created, and no priority is boxed, when a log is intercepted.
  */
 @Aspect
 public class LogAspect {
@@ -79,75 +81,75 @@ public class LogAspect {
   public void call_Log_Println_ISS() {
   }
 
-  @Around("call_Log_V_SS() && !withinXlog()")
-  public int cat_Log_V_SS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.v((String) args[0], (String) args[1]);
+  @Around(value = "call_Log_V_SS() && args(tag, msg) && !withinXlog()",
+      argNames = "tag,msg")
+  public int cat_Log_V_SS(String tag, String msg) {
+    return Cat.v(tag, msg);
   }
 
-  @Around("call_Log_V_SST() && !withinXlog()")
-  public int cat_Log_V_SST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.v((String) args[0], (String) args[1], (Throwable) args[2]);
+  @Around(value = "call_Log_V_SST() && args(tag, msg, tr) && !withinXlog()",
+      argNames = "tag,msg,tr")
+  public int cat_Log_V_SST(String tag, String msg, Throwable tr) {
+    return Cat.v(tag, msg, tr);
   }
 
-  @Around("call_Log_D_SS() && !withinXlog()")
-  public int cat_Log_D_SS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.d((String) args[0], (String) args[1]);
+  @Around(value = "call_Log_D_SS() && args(tag, msg) && !withinXlog()",
+      argNames = "tag,msg")
+  public int cat_Log_D_SS(String tag, String msg) {
+    return Cat.d(tag, msg);
   }
 
-  @Around("call_Log_D_SST() && !withinXlog()")
-  public int cat_Log_D_SST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.d((String) args[0], (String) args[1], (Throwable) args[2]);
+  @Around(value = "call_Log_D_SST() && args(tag, msg, tr) && !withinXlog()",
+      argNames = "tag,msg,tr")
+  public int cat_Log_D_SST(String tag, String msg, Throwable tr) {
+    return Cat.d(tag, msg, tr);
   }
 
-  @Around("call_Log_I_SS() && !withinXlog()")
-  public int cat_Log_I_SS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.i((String) args[0], (String) args[1]);
+  @Around(value = "call_Log_I_SS() && args(tag, msg) && !withinXlog()",
+      argNames = "tag,msg")
+  public int cat_Log_I_SS(String tag, String msg) {
+    return Cat.i(tag, msg);
   }
 
-  @Around("call_Log_I_SST() && !withinXlog()")
-  public int cat_Log_I_SST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.i((String) args[0], (String) args[1], (Throwable) args[2]);
+  @Around(value = "call_Log_I_SST() && args(tag, msg, tr) && !withinXlog()",
+      argNames = "tag,msg,tr")
+  public int cat_Log_I_SST(String tag, String msg, Throwable tr) {
+    return Cat.i(tag, msg, tr);
   }
 
-  @Around("call_Log_W_SS() && !withinXlog()")
-  public int cat_Log_W_SS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.w((String) args[0], (String) args[1]);
+  @Around(value = "call_Log_W_SS() && args(tag, msg) && !withinXlog()",
+      argNames = "tag,msg")
+  public int cat_Log_W_SS(String tag, String msg) {
+    return Cat.w(tag, msg);
   }
 
-  @Around("call_Log_W_SST() && !withinXlog()")
-  public int cat_Log_W_SST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.w((String) args[0], (String) args[1], (Throwable) args[2]);
+  @Around(value = "call_Log_W_SST() && args(tag, msg, tr) && !withinXlog()",
+      argNames = "tag,msg,tr")
+  public int cat_Log_W_SST(String tag, String msg, Throwable tr) {
+    return Cat.w(tag, msg, tr);
   }
 
-  @Around("call_Log_W_ST() && !withinXlog()")
-  public int cat_Log_W_ST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.w((String) args[0], (Throwable) args[1]);
+  @Around(value = "call_Log_W_ST() && args(tag, tr) && !withinXlog()",
+      argNames = "tag,tr")
+  public int cat_Log_W_ST(String tag, Throwable tr) {
+    return Cat.w(tag, tr);
   }
 
-  @Around("call_Log_E_SS() && !withinXlog()")
-  public int cat_Log_E_SS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.e((String) args[0], (String) args[1]);
+  @Around(value = "call_Log_E_SS() && args(tag, msg) && !withinXlog()",
+      argNames = "tag,msg")
+  public int cat_Log_E_SS(String tag, String msg) {
+    return Cat.e(tag, msg);
   }
 
-  @Around("call_Log_E_SST() && !withinXlog()")
-  public int cat_Log_E_SST(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.e((String) args[0], (String) args[1], (Throwable) args[2]);
+  @Around(value = "call_Log_E_SST() && args(tag, msg, tr) && !withinXlog()",
+      argNames = "tag,msg,tr")
+  public int cat_Log_E_SST(String tag, String msg, Throwable tr) {
+    return Cat.e(tag, msg, tr);
   }
 
-  @Around("call_Log_Println_ISS() && !withinXlog()")
-  public int cat_Log_Println_ISS(JoinPoint joinPoint) {
-    Object[] args = joinPoint.getArgs();
-    return Cat.println((Integer) args[0], (String) args[1], (String) args[2]);
+  @Around(value = "call_Log_Println_ISS() && args(priority, tag, msg) && !withinXlog()",
+      argNames = "priority,tag,msg")
+  public int cat_Log_Println_ISS(int priority, String tag, String msg) {
+    return Cat.println(priority, tag, msg);
   }
 }
@@ -0,0 +1,517 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.JumpInsnNode;
+import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.LineNumberNode;
+import org.objectweb.asm.tree.LookupSwitchInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TableSwitchInsnNode;
+import org.objectweb.asm.tree.TryCatchBlockNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Strip the calls of XLog, Logger and Logger.Builder below a specific level from a class, together
+ * with the instructions computing their arguments.
+ * <p>
+ * A call is stripped only if its arguments are computed right before the call, by instructions
+ * known to have no side effects: constants, local variable and field reads, arithmetic without
+ * exceptions, string concatenation, boxing, lambda creation, varargs arrays, and the
+ * configuration methods of XLog and Logger.Builder. Converting an argument to string is assumed to
+ * have no side effects. Other calls are kept, and counted as kept.
+ * <p>
+ * Only the removed instructions are touched, the stack map frames of the class are kept as is.
+ */
+class CallSiteStripper {
+
+  private static final String XLOG = "com/elvishew/xlog/XLog";
+
+  private static final String LOGGER = "com/elvishew/xlog/Logger";
+
+  private static final String LOGGER_BUILDER = "com/elvishew/xlog/Logger$Builder";
+
+  private static final String LOGGER_BUILDER_DESC = "L" + LOGGER_BUILDER + ";";
+
+  private static final String LOGGER_DESC = "L" + LOGGER + ";";
+
+  private static final String STRING_BUILDER = "java/lang/StringBuilder";
+
+  private static final String XLOG_PACKAGE = "com/elvishew/xlog/";
+
+  /**
+   * The levels of logging methods, same as {@code LogLevel} of XLog.
+   */
+  private static final Map<String, Integer> METHOD_LEVELS = new HashMap<>();
+
+  /**
+   * The method taking the level as its first argument.
+   */
+  private static final String LOG_METHOD = "log";
+
+  /**
+   * The classes whose methods have no side effects.
+   */
+  private static final Set<String> PURE_CLASSES = new HashSet<>();
+
+  private static final Set<String> PURE_BOOTSTRAP_CLASSES = new HashSet<>();
+
+  static {
+    METHOD_LEVELS.put("v", 2);
+    METHOD_LEVELS.put("d", 3);
+    METHOD_LEVELS.put("i", 4);
+    METHOD_LEVELS.put("w", 5);
+    METHOD_LEVELS.put("e", 6);
+    METHOD_LEVELS.put("json", 3);
+    METHOD_LEVELS.put("xml", 3);
+
+    PURE_CLASSES.add("java/lang/String");
+    PURE_CLASSES.add("java/lang/Boolean");
+    PURE_CLASSES.add("java/lang/Byte");
+    PURE_CLASSES.add("java/lang/Character");
+    PURE_CLASSES.add("java/lang/Short");
+    PURE_CLASSES.add("java/lang/Integer");
+    PURE_CLASSES.add("java/lang/Long");
+    PURE_CLASSES.add("java/lang/Float");
+    PURE_CLASSES.add("java/lang/Double");
+    PURE_CLASSES.add("java/lang/Math");
+
+    PURE_BOOTSTRAP_CLASSES.add("java/lang/invoke/StringConcatFactory");
+    PURE_BOOTSTRAP_CLASSES.add("java/lang/invoke/LambdaMetafactory");
+  }
+
+  /**
+   * A fresh string builder on the operand stack, which can be modified without side effects.
+   */
+  private static final Object FRESH_BUILDER = new Object();
+
+  /**
+   * A fresh array on the operand stack, which can be modified without side effects.
+   */
+  private static final Object FRESH_ARRAY = new Object();
+
+  /**
+   * Any other value on the operand stack.
+   */
+  private static final Object OTHER = new Object();
+
+  private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+  private final int minLevel;
+
+  /**
+   * Constructor.
+   *
+   * @param minLevel the calls below this level are stripped
+   */
+  CallSiteStripper(int minLevel) {
+    this.minLevel = minLevel;
+  }
+
+  /**
+   * Strip the calls from a class.
+   *
+   * @param classBytes the class file
+   * @param report     the report to record the stripped and kept calls
+   * @return the stripped class file, or the original one if no call is stripped
+   */
+  byte[] strip(byte[] classBytes, StripReport report) {
+    // Most classes don't refer to XLog at all, skip them without parsing.
+    if (!new String(classBytes, ISO_8859_1).contains(XLOG_PACKAGE)) {
+      return classBytes;
+    }
+    ClassNode classNode = new ClassNode();
+    new ClassReader(classBytes).accept(classNode, 0);
+    if (classNode.name.startsWith(XLOG_PACKAGE)) {
+      // XLog itself.
+      return classBytes;
+    }
+    boolean stripped = false;
+    for (MethodNode method : classNode.methods) {
+      if (stripMethod(classNode, method, report)) {
+        stripped = true;
+      }
+    }
+    if (!stripped) {
+      return classBytes;
+    }
+    ClassWriter classWriter = new ClassWriter(0);
+    classNode.accept(classWriter);
+    return classWriter.toByteArray();
+  }
+
+  private boolean stripMethod(ClassNode classNode, MethodNode method, StripReport report) {
+    InsnList insns = method.instructions;
+    if (insns.size() == 0) {
+      return false;
+    }
+    Set<LabelNode> jumpTargets = null;
+    boolean stripped = false;
+    AbstractInsnNode next;
+    for (AbstractInsnNode insn = insns.getFirst(); insn != null; insn = next) {
+      next = insn.getNext();
+      if (!(insn instanceof MethodInsnNode)) {
+        continue;
+      }
+      MethodInsnNode call = (MethodInsnNode) insn;
+      if (!isLoggingCall(call)) {
+        continue;
+      }
+      Integer level = METHOD_LEVELS.get(call.name);
+      if (level != null && level >= minLevel) {
+        continue;
+      }
+      if (jumpTargets == null) {
+        jumpTargets = findJumpTargets(method);
+      }
+      String site = classNode.name.replace('/', '.') + "." + method.name + "("
+          + findSourceFile(classNode) + ":" + findLineNumber(call) + ")";
+      AbstractInsnNode start = findArgumentsStart(call, jumpTargets);
+      List<Object> args = start != null ? simulate(start, call) : null;
+      if (level == null) {
+        // The level of log(int, ...) should be a constant.
+        if (args == null) {
+          continue;
+        }
+        Object levelArg = args.get(call.getOpcode() == Opcodes.INVOKESTATIC ? 0 : 1);
+        if (!(levelArg instanceof Integer) || (Integer) levelArg >= minLevel) {
+          continue;
+        }
+      }
+      if (args == null) {
+        report.kept(site);
+        continue;
+      }
+
+      // Keep labels and line numbers, which may be referred by debug info.
+      for (AbstractInsnNode node = start; node != next; ) {
+        AbstractInsnNode following = node.getNext();
+        if (node.getType() != AbstractInsnNode.LABEL && node.getType() != AbstractInsnNode.LINE) {
+          insns.remove(node);
+        }
+        node = following;
+      }
+      report.stripped(site);
+      stripped = true;
+    }
+    if (stripped) {
+      keepTryCatchBlocksNonEmpty(method);
+    }
+    return stripped;
+  }
+
+  private static boolean isLoggingCall(MethodInsnNode call) {
+    if (!call.desc.endsWith(")V")) {
+      return false;
+    }
+    if (!METHOD_LEVELS.containsKey(call.name) && !(call.name.equals(LOG_METHOD)
+        && call.desc.startsWith("(I"))) {
+      return false;
+    }
+    if (call.getOpcode() == Opcodes.INVOKESTATIC) {
+      return call.owner.equals(XLOG);
+    }
+    return call.getOpcode() == Opcodes.INVOKEVIRTUAL
+        && (call.owner.equals(LOGGER) || call.owner.equals(LOGGER_BUILDER));
+  }
+
+  /**
+   * Find the labels which can be jumped to, so that no instruction is removed across them.
+   */
+  private static Set<LabelNode> findJumpTargets(MethodNode method) {
+    Set<LabelNode> targets = new HashSet<>();
+    for (AbstractInsnNode insn = method.instructions.getFirst(); insn != null;
+         insn = insn.getNext()) {
+      if (insn instanceof JumpInsnNode) {
+        targets.add(((JumpInsnNode) insn).label);
+      } else if (insn instanceof TableSwitchInsnNode) {
+        targets.add(((TableSwitchInsnNode) insn).dflt);
+        targets.addAll(((TableSwitchInsnNode) insn).labels);
+      } else if (insn instanceof LookupSwitchInsnNode) {
+        targets.add(((LookupSwitchInsnNode) insn).dflt);
+        targets.addAll(((LookupSwitchInsnNode) insn).labels);
+      }
+    }
+    for (TryCatchBlockNode tryCatchBlock : method.tryCatchBlocks) {
+      targets.add(tryCatchBlock.start);
+      targets.add(tryCatchBlock.end);
+      targets.add(tryCatchBlock.handler);
+    }
+    return targets;
+  }
+
+  /**
+   * Find the first instruction of those computing the arguments of a call, by walking backward
+   * until all arguments are produced.
+   *
+   * @return the first instruction, or null if any instruction may have side effects
+   */
+  private static AbstractInsnNode findArgumentsStart(MethodInsnNode call,
+                                                     Set<LabelNode> jumpTargets) {
+    int needed = Type.getArgumentTypes(call.desc).length
+        + (call.getOpcode() == Opcodes.INVOKESTATIC ? 0 : 1);
+    if (needed == 0) {
+      return call;
+    }
+    for (AbstractInsnNode insn = call.getPrevious(); insn != null; insn = insn.getPrevious()) {
+      switch (insn.getType()) {
+        case AbstractInsnNode.LABEL:
+          if (jumpTargets.contains(insn)) {
+            return null;
+          }
+          continue;
+        case AbstractInsnNode.LINE:
+          continue;
+        case AbstractInsnNode.FRAME:
+          return null;
+        default:
+          break;
+      }
+      int[] effect = stackEffect(insn);
+      if (effect == null || effect[1] > needed) {
+        return null;
+      }
+      needed = needed - effect[1] + effect[0];
+      if (needed == 0) {
+        return insn;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the number of values popped from and pushed to the operand stack by an instruction.
+   *
+   * @return the popped and pushed values, or null if the instruction may have side effects
+   */
+  private static int[] stackEffect(AbstractInsnNode insn) {
+    int opcode = insn.getOpcode();
+    switch (insn.getType()) {
+      case AbstractInsnNode.INSN:
+        if (opcode >= Opcodes.ACONST_NULL && opcode <= Opcodes.DCONST_1) {
+          return new int[]{0, 1};
+        }
+        if (opcode >= Opcodes.IALOAD && opcode <= Opcodes.SALOAD) {
+          return new int[]{2, 1};
+        }
+        if (opcode >= Opcodes.IASTORE && opcode <= Opcodes.SASTORE) {
+          return new int[]{3, 0};
+        }
+        if (opcode == Opcodes.DUP) {
+          return new int[]{1, 2};
+        }
+        if (opcode == Opcodes.IDIV || opcode == Opcodes.LDIV
+            || opcode == Opcodes.IREM || opcode == Opcodes.LREM) {
+          // May throw ArithmeticException.
+          return null;
+        }
+        if ((opcode >= Opcodes.IADD && opcode <= Opcodes.DREM)
+            || (opcode >= Opcodes.ISHL && opcode <= Opcodes.LXOR)
+            || (opcode >= Opcodes.LCMP && opcode <= Opcodes.DCMPG)) {
+          return new int[]{2, 1};
+        }
+        if ((opcode >= Opcodes.INEG && opcode <= Opcodes.DNEG)
+            || (opcode >= Opcodes.I2L && opcode <= Opcodes.I2S)
+            || opcode == Opcodes.ARRAYLENGTH) {
+          return new int[]{1, 1};
+        }
+        return null;
+      case AbstractInsnNode.INT_INSN:
+        return opcode == Opcodes.NEWARRAY ? new int[]{1, 1} : new int[]{0, 1};
+      case AbstractInsnNode.LDC_INSN:
+        return new int[]{0, 1};
+      case AbstractInsnNode.VAR_INSN:
+        return opcode >= Opcodes.ILOAD && opcode <= Opcodes.ALOAD ? new int[]{0, 1} : null;
+      case AbstractInsnNode.TYPE_INSN:
+        if (opcode == Opcodes.NEW) {
+          return ((TypeInsnNode) insn).desc.equals(STRING_BUILDER) ? new int[]{0, 1} : null;
+        }
+        // ANEWARRAY, CHECKCAST and INSTANCEOF.
+        return new int[]{1, 1};
+      case AbstractInsnNode.FIELD_INSN:
+        if (opcode == Opcodes.GETSTATIC) {
+          return new int[]{0, 1};
+        }
+        return opcode == Opcodes.GETFIELD ? new int[]{1, 1} : null;
+      case AbstractInsnNode.METHOD_INSN:
+        MethodInsnNode method = (MethodInsnNode) insn;
+        if (!isPureMethod(method)) {
+          return null;
+        }
+        return new int[]{Type.getArgumentTypes(method.desc).length
+            + (opcode == Opcodes.INVOKESTATIC ? 0 : 1),
+            Type.getReturnType(method.desc) == Type.VOID_TYPE ? 0 : 1};
+      case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+        InvokeDynamicInsnNode invokeDynamic = (InvokeDynamicInsnNode) insn;
+        Handle bootstrap = invokeDynamic.bsm;
+        if (!PURE_BOOTSTRAP_CLASSES.contains(bootstrap.getOwner())) {
+          return null;
+        }
+        return new int[]{Type.getArgumentTypes(invokeDynamic.desc).length, 1};
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isPureMethod(MethodInsnNode method) {
+    String owner = method.owner;
+    if (PURE_CLASSES.contains(owner) || owner.equals(STRING_BUILDER)) {
+      // Modifying a string builder is checked by simulate().
+      return true;
+    }
+    String returnDesc = Type.getReturnType(method.desc).getDescriptor();
+    if (owner.equals(XLOG)) {
+      // Start a customization.
+      return method.getOpcode() == Opcodes.INVOKESTATIC && returnDesc.equals(LOGGER_BUILDER_DESC);
+    }
+    if (owner.equals(LOGGER_BUILDER)) {
+      // Customize, or build.
+      return returnDesc.equals(LOGGER_BUILDER_DESC) || returnDesc.equals(LOGGER_DESC);
+    }
+    if (owner.equals("java/lang/Object")) {
+      return method.name.equals("toString") || method.name.equals("getClass");
+    }
+    if (owner.equals("java/lang/Class")) {
+      return method.name.equals("getName") || method.name.equals("getSimpleName");
+    }
+    if (owner.equals("java/util/Arrays")) {
+      return method.name.equals("toString") || method.name.equals("deepToString");
+    }
+    return false;
+  }
+
+  /**
+   * Simulate the operand stack from the first instruction computing the arguments to the call,
+   * to make sure only fresh objects are modified, and to find the constant arguments.
+   *
+   * @return the arguments, an {@link Integer} if the argument is an int constant, or null if any
+   * instruction may have side effects
+   */
+  private static List<Object> simulate(AbstractInsnNode start, MethodInsnNode call) {
+    List<Object> stack = new ArrayList<>();
+    for (AbstractInsnNode insn = start; insn != call; insn = insn.getNext()) {
+      int type = insn.getType();
+      if (type == AbstractInsnNode.LABEL || type == AbstractInsnNode.LINE) {
+        continue;
+      }
+      int opcode = insn.getOpcode();
+      if (opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) {
+        stack.add(opcode - Opcodes.ICONST_0);
+        continue;
+      }
+      if (opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH) {
+        stack.add(((IntInsnNode) insn).operand);
+        continue;
+      }
+      if (opcode == Opcodes.DUP) {
+        stack.add(stack.get(stack.size() - 1));
+        continue;
+      }
+      if (opcode == Opcodes.NEW) {
+        stack.add(FRESH_BUILDER);
+        continue;
+      }
+      int[] effect = stackEffect(insn);
+      Object receiver = null;
+      for (int i = 0; i < effect[0]; i++) {
+        receiver = stack.remove(stack.size() - 1);
+      }
+      if (opcode >= Opcodes.IASTORE && opcode <= Opcodes.SASTORE) {
+        if (receiver != FRESH_ARRAY) {
+          return null;
+        }
+        continue;
+      }
+      if (opcode == Opcodes.NEWARRAY || opcode == Opcodes.ANEWARRAY) {
+        stack.add(FRESH_ARRAY);
+        continue;
+      }
+      if (insn instanceof MethodInsnNode && ((MethodInsnNode) insn).owner.equals(STRING_BUILDER)) {
+        if (receiver != FRESH_BUILDER) {
+          return null;
+        }
+        if (effect[1] > 0) {
+          stack.add(Type.getReturnType(((MethodInsnNode) insn).desc).getInternalName()
+              .equals(STRING_BUILDER) ? FRESH_BUILDER : OTHER);
+        }
+        continue;
+      }
+      if (insn instanceof LdcInsnNode && ((LdcInsnNode) insn).cst instanceof Integer) {
+        stack.add(((LdcInsnNode) insn).cst);
+        continue;
+      }
+      for (int i = 0; i < effect[1]; i++) {
+        stack.add(OTHER);
+      }
+    }
+    return stack;
+  }
+
+  /**
+   * A try-catch block should cover at least one instruction, put a NOP in those becoming empty.
+   */
+  private static void keepTryCatchBlocksNonEmpty(MethodNode method) {
+    for (TryCatchBlockNode tryCatchBlock : method.tryCatchBlocks) {
+      boolean empty = true;
+      for (AbstractInsnNode insn = tryCatchBlock.start; insn != tryCatchBlock.end;
+           insn = insn.getNext()) {
+        if (insn.getOpcode() >= 0) {
+          empty = false;
+          break;
+        }
+      }
+      if (empty) {
+        method.instructions.insert(tryCatchBlock.start, new InsnNode(Opcodes.NOP));
+      }
+    }
+  }
+
+  private static String findSourceFile(ClassNode classNode) {
+    return classNode.sourceFile != null ? classNode.sourceFile : "Unknown Source";
+  }
+
+  private static int findLineNumber(AbstractInsnNode insn) {
+    for (AbstractInsnNode node = insn; node != null; node = node.getPrevious()) {
+      if (node instanceof LineNumberNode) {
+        return ((LineNumberNode) node).line;
+      }
+    }
+    return -1;
+  }
+}
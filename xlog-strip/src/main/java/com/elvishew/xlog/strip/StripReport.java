@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The call sites stripped and kept when transforming a variant.
+ */
+class StripReport {
+
+  private final List<String> strippedSites = new ArrayList<>();
+
+  private final List<String> keptSites = new ArrayList<>();
+
+  synchronized void stripped(String site) {
+    strippedSites.add(site);
+  }
+
+  /**
+   * A call below the level is kept, since its arguments may have side effects.
+   */
+  synchronized void kept(String site) {
+    keptSites.add(site);
+  }
+
+  synchronized int getStrippedCount() {
+    return strippedSites.size();
+  }
+
+  synchronized int getKeptCount() {
+    return keptSites.size();
+  }
+
+  /**
+   * Write the call sites to a file.
+   *
+   * @param file the report file
+   * @throws IOException if failed to write
+   */
+  synchronized void writeTo(File file) throws IOException {
+    File folder = file.getParentFile();
+    if (folder != null && !folder.exists() && !folder.mkdirs()) {
+      throw new IOException("Report folder " + folder.getPath() + " not created");
+    }
+    Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+    try {
+      writer.write("Stripped " + strippedSites.size() + " call sites:\n");
+      for (String site : strippedSites) {
+        writer.write("  " + site + "\n");
+      }
+      writer.write("Kept " + keptSites.size()
+          + " call sites, whose arguments may have side effects:\n");
+      for (String site : keptSites) {
+        writer.write("  " + site + "\n");
+      }
+    } finally {
+      writer.close();
+    }
+  }
+}
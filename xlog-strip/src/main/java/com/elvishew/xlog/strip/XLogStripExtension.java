@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The 'xlogStrip' block in build.gradle.
+ * <pre>
+ * xlogStrip {
+ *     minLevel 'INFO'            // Strip the calls below INFO, default to INFO
+ *     buildTypes 'release'       // Strip in these build types only, default to release
+ * }
+ * </pre>
+ */
+public class XLogStripExtension {
+
+  private static final List<String> LEVEL_NAMES = Arrays.asList(
+      "VERBOSE", "DEBUG", "INFO", "WARN", "ERROR");
+
+  /**
+   * The level of VERBOSE, same as {@code LogLevel.VERBOSE} of XLog.
+   */
+  private static final int VERBOSE = 2;
+
+  private String minLevel = "INFO";
+
+  private List<String> buildTypes = new ArrayList<>(Arrays.asList("release"));
+
+  public String getMinLevel() {
+    return minLevel;
+  }
+
+  /**
+   * Set the min level of calls to keep, one of VERBOSE, DEBUG, INFO, WARN and ERROR.
+   *
+   * @param minLevel the min level of calls to keep
+   */
+  public void setMinLevel(String minLevel) {
+    if (!LEVEL_NAMES.contains(minLevel.toUpperCase(Locale.US))) {
+      throw new IllegalArgumentException("Illegal level: " + minLevel
+          + ", should be one of " + LEVEL_NAMES);
+    }
+    this.minLevel = minLevel;
+  }
+
+  public void minLevel(String minLevel) {
+    setMinLevel(minLevel);
+  }
+
+  public List<String> getBuildTypes() {
+    return buildTypes;
+  }
+
+  /**
+   * Set the build types in which the calls are stripped.
+   *
+   * @param buildTypes the build types
+   */
+  public void setBuildTypes(List<String> buildTypes) {
+    this.buildTypes = new ArrayList<>(buildTypes);
+  }
+
+  public void buildTypes(String... buildTypes) {
+    setBuildTypes(Arrays.asList(buildTypes));
+  }
+
+  /**
+   * Get the min level as in {@code LogLevel} of XLog.
+   */
+  int getMinLevelValue() {
+    return VERBOSE + LEVEL_NAMES.indexOf(minLevel.toUpperCase(Locale.US));
+  }
+
+  /**
+   * Whether the calls should be stripped in a variant.
+   *
+   * @param variantName the name of variant, e.g. "freeRelease"
+   */
+  boolean isEnabledFor(String variantName) {
+    String lowerVariantName = variantName.toLowerCase(Locale.US);
+    for (String buildType : buildTypes) {
+      if (lowerVariantName.endsWith(buildType.toLowerCase(Locale.US))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
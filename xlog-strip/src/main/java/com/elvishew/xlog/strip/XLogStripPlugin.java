@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import com.android.build.gradle.BaseExtension;
+
+import org.gradle.api.Action;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+
+/**
+ * Strip the calls of XLog below a specific level at build time, see {@link XLogStripExtension}.
+ * <p>
+ * Apply after the Android application or library plugin:
+ * <pre>
+ * apply plugin: 'com.android.application'
+ * apply plugin: 'com.elvishew.xlog-strip'
+ * </pre>
+ */
+public class XLogStripPlugin implements Plugin<Project> {
+
+  @Override
+  public void apply(final Project project) {
+    final XLogStripExtension extension = project.getExtensions()
+        .create("xlogStrip", XLogStripExtension.class);
+    project.getPlugins().withId("com.android.application", new Action<Plugin>() {
+      @Override
+      public void execute(Plugin plugin) {
+        registerTransform(project, extension, false);
+      }
+    });
+    project.getPlugins().withId("com.android.library", new Action<Plugin>() {
+      @Override
+      public void execute(Plugin plugin) {
+        registerTransform(project, extension, true);
+      }
+    });
+  }
+
+  private static void registerTransform(Project project, XLogStripExtension extension,
+                                        boolean isLibrary) {
+    BaseExtension android = project.getExtensions().getByType(BaseExtension.class);
+    android.registerTransform(new XLogStripTransform(project, extension, isLibrary));
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import com.android.build.api.transform.DirectoryInput;
+import com.android.build.api.transform.Format;
+import com.android.build.api.transform.JarInput;
+import com.android.build.api.transform.QualifiedContent;
+import com.android.build.api.transform.Status;
+import com.android.build.api.transform.Transform;
+import com.android.build.api.transform.TransformException;
+import com.android.build.api.transform.TransformInput;
+import com.android.build.api.transform.TransformInvocation;
+import com.android.build.api.transform.TransformOutputProvider;
+import com.android.build.gradle.internal.pipeline.TransformManager;
+
+import org.gradle.api.Project;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Strip the calls of XLog from all classes of the project, and report the stripped call sites to
+ * build/outputs/xlog-strip/&lt;variant&gt;.txt.
+ */
+class XLogStripTransform extends Transform {
+
+  private static final String CLASS_SUFFIX = ".class";
+
+  private final Project project;
+
+  private final XLogStripExtension extension;
+
+  private final boolean isLibrary;
+
+  XLogStripTransform(Project project, XLogStripExtension extension, boolean isLibrary) {
+    this.project = project;
+    this.extension = extension;
+    this.isLibrary = isLibrary;
+  }
+
+  @Override
+  public String getName() {
+    return "xlogStrip";
+  }
+
+  @Override
+  public Set<QualifiedContent.ContentType> getInputTypes() {
+    return TransformManager.CONTENT_CLASS;
+  }
+
+  @Override
+  public Set<? super QualifiedContent.Scope> getScopes() {
+    if (isLibrary) {
+      // A library can only transform its own classes.
+      return TransformManager.PROJECT_ONLY;
+    }
+    return TransformManager.SCOPE_FULL_PROJECT;
+  }
+
+  @Override
+  public boolean isIncremental() {
+    return true;
+  }
+
+  @Override
+  public Map<String, Object> getParameterInputs() {
+    // Transform again when the configuration changes.
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("minLevel", extension.getMinLevel());
+    parameters.put("buildTypes", extension.getBuildTypes().toString());
+    return parameters;
+  }
+
+  @Override
+  public void transform(TransformInvocation invocation)
+      throws TransformException, InterruptedException, IOException {
+    String variantName = invocation.getContext().getVariantName();
+    CallSiteStripper stripper = extension.isEnabledFor(variantName)
+        ? new CallSiteStripper(extension.getMinLevelValue()) : null;
+    StripReport report = new StripReport();
+    TransformOutputProvider outputProvider = invocation.getOutputProvider();
+
+    // Only a pass-through can be incremental. When stripping, all classes are transformed again
+    // so that the report covers every call site.
+    boolean incremental = invocation.isIncremental() && stripper == null;
+    if (!incremental) {
+      outputProvider.deleteAll();
+    }
+    for (TransformInput input : invocation.getInputs()) {
+      for (DirectoryInput directoryInput : input.getDirectoryInputs()) {
+        File output = outputProvider.getContentLocation(directoryInput.getName(),
+            directoryInput.getContentTypes(), directoryInput.getScopes(), Format.DIRECTORY);
+        if (incremental) {
+          transformChangedFiles(directoryInput.getFile(), output,
+              directoryInput.getChangedFiles());
+        } else {
+          transformDirectory(directoryInput.getFile(), output, stripper, report);
+        }
+      }
+      for (JarInput jarInput : input.getJarInputs()) {
+        // Jars of different paths may have the same name.
+        String name = jarInput.getName() + "_"
+            + Integer.toHexString(jarInput.getFile().getAbsolutePath().hashCode());
+        File output = outputProvider.getContentLocation(name,
+            jarInput.getContentTypes(), jarInput.getScopes(), Format.JAR);
+        if (incremental) {
+          Status status = jarInput.getStatus();
+          if (status == Status.NOTCHANGED) {
+            // Reuse the previous output.
+            continue;
+          }
+          if (status == Status.REMOVED) {
+            delete(output);
+            continue;
+          }
+        }
+        transformJar(jarInput.getFile(), output, stripper, report);
+      }
+    }
+
+    if (stripper != null) {
+      File reportFile = new File(project.getBuildDir(),
+          "outputs/xlog-strip/" + variantName + ".txt");
+      report.writeTo(reportFile);
+      project.getLogger().lifecycle("XLog strip: stripped " + report.getStrippedCount()
+          + " call sites below " + extension.getMinLevel() + ", kept "
+          + report.getKeptCount() + ", see " + reportFile.getPath());
+    }
+  }
+
+  private static void transformDirectory(File input, File output, CallSiteStripper stripper,
+                                         StripReport report) throws IOException {
+    File[] files = input.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      File outputFile = new File(output, file.getName());
+      if (file.isDirectory()) {
+        transformDirectory(file, outputFile, stripper, report);
+        continue;
+      }
+      transformFile(file, outputFile, stripper, report);
+    }
+  }
+
+  /**
+   * Copy the changed files of a directory input, the unchanged ones are left in the output as is.
+   */
+  private static void transformChangedFiles(File input, File output,
+                                            Map<File, Status> changedFiles) throws IOException {
+    String inputPath = input.getAbsolutePath() + File.separator;
+    for (Map.Entry<File, Status> changedFile : changedFiles.entrySet()) {
+      File file = changedFile.getKey();
+      String path = file.getAbsolutePath();
+      if (!path.startsWith(inputPath)) {
+        continue;
+      }
+      File outputFile = new File(output, path.substring(inputPath.length()));
+      switch (changedFile.getValue()) {
+        case ADDED:
+        case CHANGED:
+          if (file.isFile()) {
+            transformFile(file, outputFile, null, null);
+          }
+          break;
+        case REMOVED:
+          delete(outputFile);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private static void transformFile(File input, File output, CallSiteStripper stripper,
+                                    StripReport report) throws IOException {
+    File folder = output.getParentFile();
+    if (!folder.exists() && !folder.mkdirs()) {
+      throw new IOException("Folder " + folder.getPath() + " not created");
+    }
+    byte[] bytes = readAll(new FileInputStream(input));
+    if (stripper != null && input.getName().endsWith(CLASS_SUFFIX)) {
+      bytes = stripper.strip(bytes, report);
+    }
+    OutputStream out = new FileOutputStream(output);
+    try {
+      out.write(bytes);
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void delete(File file) throws IOException {
+    File[] files = file.listFiles();
+    if (files != null) {
+      for (File child : files) {
+        delete(child);
+      }
+    }
+    if (file.exists() && !file.delete()) {
+      throw new IOException("File " + file.getPath() + " not deleted");
+    }
+  }
+
+  private static void transformJar(File input, File output, CallSiteStripper stripper,
+                                   StripReport report) throws IOException {
+    File folder = output.getParentFile();
+    if (!folder.exists() && !folder.mkdirs()) {
+      throw new IOException("Folder " + folder.getPath() + " not created");
+    }
+    ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(input)));
+    ZipOutputStream out = new ZipOutputStream(
+        new BufferedOutputStream(new FileOutputStream(output)));
+    try {
+      ZipEntry entry;
+      byte[] buffer = new byte[64 * 1024];
+      while ((entry = in.getNextEntry()) != null) {
+        out.putNextEntry(new ZipEntry(entry.getName()));
+        if (stripper != null && entry.getName().endsWith(CLASS_SUFFIX)) {
+          ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+          int count;
+          while ((count = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, count);
+          }
+          out.write(stripper.strip(bytes.toByteArray(), report));
+        } else {
+          int count;
+          while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+          }
+        }
+        out.closeEntry();
+      }
+    } finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[64 * 1024];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      return out.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+}
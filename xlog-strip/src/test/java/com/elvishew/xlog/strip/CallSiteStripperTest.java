@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.strip;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CallSiteStripperTest {
+
+  private static final int INFO = 4;
+
+  /**
+   * A fake XLog recording the logs, so that the logs surviving the stripping can be checked.
+   */
+  private static final String XLOG_SOURCE = ""
+      + "package com.elvishew.xlog;\n"
+      + "public class XLog {\n"
+      + "  public static final java.util.List<String> LOGS = new java.util.ArrayList<>();\n"
+      + "  public static void v(String msg) { LOGS.add(\"v \" + msg); }\n"
+      + "  public static void d(String msg) { LOGS.add(\"d \" + msg); }\n"
+      + "  public static void d(String format, Object... args) {\n"
+      + "    LOGS.add(\"d \" + String.format(format, args));\n"
+      + "  }\n"
+      + "  public static void i(String msg) { LOGS.add(\"i \" + msg); }\n"
+      + "  public static void log(int level, String msg) { LOGS.add(level + \" \" + msg); }\n"
+      + "  public static Logger.Builder tag(String tag) { return new Logger.Builder(); }\n"
+      + "}\n";
+
+  private static final String LOGGER_SOURCE = ""
+      + "package com.elvishew.xlog;\n"
+      + "public class Logger {\n"
+      + "  public void d(String msg) { XLog.LOGS.add(\"logger d \" + msg); }\n"
+      + "  public void i(String msg) { XLog.LOGS.add(\"logger i \" + msg); }\n"
+      + "  public static class Builder {\n"
+      + "    public void d(String msg) { XLog.LOGS.add(\"builder d \" + msg); }\n"
+      + "    public Logger build() { return new Logger(); }\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String SAMPLE_SOURCE = ""
+      + "package sample;\n"
+      + "import com.elvishew.xlog.Logger;\n"
+      + "import com.elvishew.xlog.XLog;\n"
+      + "public class Sample {\n"
+      + "  private static int counter;\n"
+      + "  private final Logger logger = new Logger();\n"
+      + "  public static int run(int x) {\n"
+      + "    XLog.v(\"verbose \" + x);\n"
+      + "    XLog.d(\"debug %d %s\", x, \"s\");\n"
+      + "    XLog.i(\"info \" + x);\n"
+      + "    XLog.tag(\"tag\").d(\"builder \" + x);\n"
+      + "    XLog.log(3, \"log debug\");\n"
+      + "    XLog.log(5, \"log warn\");\n"
+      + "    XLog.d(\"side effect \" + (++counter));\n"
+      + "    try {\n"
+      + "      XLog.d(\"in try\");\n"
+      + "    } catch (RuntimeException e) {\n"
+      + "      x++;\n"
+      + "    }\n"
+      + "    if (x > 0) {\n"
+      + "      XLog.d(\"in branch\");\n"
+      + "    }\n"
+      + "    return x + 1;\n"
+      + "  }\n"
+      + "  public void runLogger(String msg) {\n"
+      + "    logger.d(msg.length() > 1 ? msg : \"short\");\n"
+      + "    logger.i(msg);\n"
+      + "  }\n"
+      + "}\n";
+
+  private File sourceFolder = new File("build/test/strip/src");
+
+  private File classFolder = new File("build/test/strip/classes");
+
+  private Map<String, byte[]> classes = new HashMap<>();
+
+  @Before
+  public void setup() throws Exception {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    classFolder.mkdirs();
+    int result = compiler.run(null, null, null, "-nowarn", "-source", "1.8", "-target", "1.8",
+        "-d", classFolder.getPath(),
+        writeSource("com/elvishew/xlog/XLog.java", XLOG_SOURCE),
+        writeSource("com/elvishew/xlog/Logger.java", LOGGER_SOURCE),
+        writeSource("sample/Sample.java", SAMPLE_SOURCE));
+    assertEquals(0, result);
+    for (String className : new String[]{"com.elvishew.xlog.XLog", "com.elvishew.xlog.Logger",
+        "com.elvishew.xlog.Logger$Builder", "sample.Sample"}) {
+      classes.put(className, readClass(className));
+    }
+  }
+
+  @Test
+  public void testStrip() throws Exception {
+    StripReport report = new StripReport();
+    CallSiteStripper stripper = new CallSiteStripper(INFO);
+    byte[] xlogClass = classes.get("com.elvishew.xlog.XLog");
+    assertSame(xlogClass, stripper.strip(xlogClass, report));
+    classes.put("sample.Sample", stripper.strip(classes.get("sample.Sample"), report));
+
+    // v, d with varargs, d of builder, log(3), d in try and d in branch.
+    assertEquals(6, report.getStrippedCount());
+    // d with side effect, and d of logger with a conditional argument.
+    assertEquals(2, report.getKeptCount());
+
+    // The stripped class still runs.
+    ClassLoader classLoader = new ClassLoader(null) {
+      @Override
+      protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+          throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+      }
+    };
+    Class<?> sampleClass = classLoader.loadClass("sample.Sample");
+    assertEquals(2, sampleClass.getMethod("run", int.class).invoke(null, 1));
+    sampleClass.getMethod("runLogger", String.class).invoke(sampleClass.newInstance(), "msg");
+    List<?> logs = (List<?>) classLoader.loadClass("com.elvishew.xlog.XLog")
+        .getField("LOGS").get(null);
+    assertArrayEquals(new Object[]{
+        "i info 1",
+        "5 log warn",
+        "d side effect 1",
+        "logger d msg",
+        "logger i msg"
+    }, logs.toArray());
+  }
+
+  @Test
+  public void testNothingToStrip() throws Exception {
+    StripReport report = new StripReport();
+    byte[] sampleClass = classes.get("sample.Sample");
+    // Nothing is below verbose.
+    assertSame(sampleClass, new CallSiteStripper(2).strip(sampleClass, report));
+    assertEquals(0, report.getStrippedCount());
+  }
+
+  private String writeSource(String path, String source) throws IOException {
+    File file = new File(sourceFolder, path);
+    file.getParentFile().mkdirs();
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(source.getBytes("UTF-8"));
+    } finally {
+      out.close();
+    }
+    return file.getPath();
+  }
+
+  private byte[] readClass(String className) throws IOException {
+    InputStream in = new FileInputStream(
+        new File(classFolder, className.replace('.', '/') + ".class"));
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      return out.toByteArray();
+    } finally {
+      in.close();
+    }
+  }
+}
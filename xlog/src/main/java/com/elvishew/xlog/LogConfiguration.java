@@ -27,18 +27,35 @@ import com.elvishew.xlog.interceptor.Interceptor;
 import com.elvishew.xlog.internal.DefaultsFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The configuration used for logging, always attached to a {@link Logger}, will affect all logs
  * logged by the {@link Logger}.
  * <p>
  * Use the {@link Builder} to construct a {@link LogConfiguration} object.
+ * <p>
+ * A {@link LogConfiguration} is an immutable snapshot, to change the configuration at runtime,
+ * build a new one with {@link Builder#Builder(LogConfiguration)} and publish it via
+ * {@link XLog#updateLogConfiguration(LogConfiguration)}.
  */
 public class LogConfiguration {
 
+  /**
+   * Marks a class of objects having no object formatter, in {@link #resolvedObjectFormatters}.
+   */
+  private static final ObjectFormatter<Object> NO_OBJECT_FORMATTER = new ObjectFormatter<Object>() {
+    @Override
+    public String format(Object data) {
+      return null;
+    }
+  };
 
   /**
    * The log level, the logs below of which would not be printed.
@@ -82,6 +99,13 @@ public class LogConfiguration {
    */
   public final boolean withBorder;
 
+  /**
+   * Whether SLF4J-style "{}" placeholders are supported in format strings.
+   *
+   * @since 1.12.0
+   */
+  public final boolean withBracePlaceholders;
+
   /**
    * The JSON formatter used to format the JSON string when log a JSON string.
    */
@@ -124,6 +148,13 @@ public class LogConfiguration {
    */
   public final List<Interceptor> interceptors;
 
+  /**
+   * The object formatters resolved for each class of objects logged, see
+   * {@link #getObjectFormatter(Object)}.
+   */
+  private final ConcurrentHashMap<Class<?>, ObjectFormatter<?>> resolvedObjectFormatters =
+      new ConcurrentHashMap<>();
+
   /*package*/ LogConfiguration(final Builder builder) {
     logLevel = builder.logLevel;
 
@@ -134,6 +165,7 @@ public class LogConfiguration {
     stackTraceOrigin = builder.stackTraceOrigin;
     stackTraceDepth = builder.stackTraceDepth;
     withBorder = builder.withBorder;
+    withBracePlaceholders = builder.withBracePlaceholders;
 
     jsonFormatter = builder.jsonFormatter;
     xmlFormatter = builder.xmlFormatter;
@@ -142,13 +174,28 @@ public class LogConfiguration {
     stackTraceFormatter = builder.stackTraceFormatter;
     borderFormatter = builder.borderFormatter;
 
-    objectFormatters = builder.objectFormatters;
+    // Copy the containers, so that a builder reused after building won't affect this snapshot.
+    objectFormatters = builder.objectFormatters == null
+        ? null
+        : Collections.unmodifiableMap(new HashMap<>(builder.objectFormatters));
 
-    interceptors = builder.interceptors;
+    interceptors = builder.interceptors == null
+        ? null
+        : Collections.unmodifiableList(new ArrayList<>(builder.interceptors));
   }
 
   /**
    * Get {@link ObjectFormatter} for specific object.
+   * <p>
+   * The formatter registered for the closest type of the object is used, the class of the object
+   * and its superclasses are tried first, from the nearest to the farthest, then the interfaces,
+   * and {@link Object} at last. For example, with formatters registered for {@link Object},
+   * {@link java.util.List} and {@link java.util.AbstractList}, an {@link ArrayList} is formatted by
+   * the one for {@link java.util.AbstractList}, and a {@link java.util.LinkedList} by the one for
+   * {@link java.util.List}.
+   * <p>
+   * The resolved formatter of each class is cached, so that the lookup is cheap when the same
+   * class of objects is logged again.
    *
    * @param object the object
    * @param <T>    the type of object
@@ -160,15 +207,50 @@ public class LogConfiguration {
       return null;
     }
 
-    Class<? super T> clazz;
-    Class<? super T> superClazz = (Class<? super T>) object.getClass();
-    ObjectFormatter<? super T> formatter;
-    do {
-      clazz = superClazz;
-      formatter = (ObjectFormatter<? super T>) objectFormatters.get(clazz);
-      superClazz = clazz.getSuperclass();
-    } while (formatter == null && superClazz != null);
-    return formatter;
+    Class<?> clazz = object.getClass();
+    ObjectFormatter<?> formatter = resolvedObjectFormatters.get(clazz);
+    if (formatter == null) {
+      formatter = resolveObjectFormatter(clazz);
+      resolvedObjectFormatters.put(clazz, formatter != null ? formatter : NO_OBJECT_FORMATTER);
+    }
+    return formatter == NO_OBJECT_FORMATTER ? null : (ObjectFormatter<? super T>) formatter;
+  }
+
+  /**
+   * Find the object formatter of the closest type of a class, see
+   * {@link #getObjectFormatter(Object)}.
+   *
+   * @param clazz the class of object
+   * @return the object formatter, or null if not found
+   */
+  private ObjectFormatter<?> resolveObjectFormatter(Class<?> clazz) {
+    // Classes, excluding Object.
+    for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+      ObjectFormatter<?> formatter = objectFormatters.get(c);
+      if (formatter != null) {
+        return formatter;
+      }
+    }
+
+    // Interfaces, breadth first, those of subclasses before those of superclasses.
+    List<Class<?>> interfaces = new ArrayList<>();
+    for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+      Collections.addAll(interfaces, c.getInterfaces());
+    }
+    Set<Class<?>> visited = new HashSet<>();
+    for (int i = 0; i < interfaces.size(); i++) {
+      Class<?> itf = interfaces.get(i);
+      if (!visited.add(itf)) {
+        continue;
+      }
+      ObjectFormatter<?> formatter = objectFormatters.get(itf);
+      if (formatter != null) {
+        return formatter;
+      }
+      Collections.addAll(interfaces, itf.getInterfaces());
+    }
+
+    return objectFormatters.get(Object.class);
   }
 
   /**
@@ -230,6 +312,11 @@ public class LogConfiguration {
      */
     private boolean withBorder;
 
+    /**
+     * Whether SLF4J-style "{}" placeholders are supported in format strings.
+     */
+    private boolean withBracePlaceholders;
+
     /**
      * The JSON formatter used to format the JSON string when log a JSON string.
      */
@@ -291,6 +378,7 @@ public class LogConfiguration {
       stackTraceOrigin = logConfiguration.stackTraceOrigin;
       stackTraceDepth = logConfiguration.stackTraceDepth;
       withBorder = logConfiguration.withBorder;
+      withBracePlaceholders = logConfiguration.withBracePlaceholders;
 
       jsonFormatter = logConfiguration.jsonFormatter;
       xmlFormatter = logConfiguration.xmlFormatter;
@@ -504,6 +592,31 @@ public class LogConfiguration {
       return this;
     }
 
+    /**
+     * Enable SLF4J-style "{}" placeholders, a format string containing "{}" will be formatted
+     * like {@code XLog.d("User {} logged in {} times", name, count)}, in which "%" has no special
+     * meaning, and "\\{}" stands for a literal "{}". Format strings without "{}" are still
+     * formatted in printf style.
+     *
+     * @return the builder
+     * @since 1.12.0
+     */
+    public Builder enableBracePlaceholders() {
+      this.withBracePlaceholders = true;
+      return this;
+    }
+
+    /**
+     * Disable SLF4J-style "{}" placeholders, all format strings are formatted in printf style.
+     *
+     * @return the builder
+     * @since 1.12.0
+     */
+    public Builder disableBracePlaceholders() {
+      this.withBracePlaceholders = false;
+      return this;
+    }
+
     /**
      * Set the JSON formatter used when log a JSON string.
      *
@@ -104,6 +104,10 @@ public class LogUtils {
    * Compress all files under the specific folder to a single zip file.
    * <p>
    * Should be call in background thread.
+   * <p>
+   * Files are compressed one by one in a streaming way, use
+   * {@link com.elvishew.xlog.printer.file.LogArchiver} to archive in parallel, incrementally, or
+   * while logs are being written.
    *
    * @param folderPath  the specific folder path
    * @param zipFilePath the zip file path
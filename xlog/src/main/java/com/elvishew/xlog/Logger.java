@@ -23,11 +23,17 @@ import com.elvishew.xlog.formatter.message.throwable.ThrowableFormatter;
 import com.elvishew.xlog.formatter.message.xml.XmlFormatter;
 import com.elvishew.xlog.formatter.stacktrace.StackTraceFormatter;
 import com.elvishew.xlog.formatter.thread.ThreadFormatter;
+import com.elvishew.xlog.interceptor.BlacklistTagsFilterInterceptor;
 import com.elvishew.xlog.interceptor.Interceptor;
+import com.elvishew.xlog.interceptor.WhitelistTagsFilterInterceptor;
 import com.elvishew.xlog.internal.DefaultsFactory;
+import com.elvishew.xlog.internal.LatencySampler;
+import com.elvishew.xlog.internal.Metrics;
 import com.elvishew.xlog.internal.Platform;
 import com.elvishew.xlog.internal.SystemCompat;
+import com.elvishew.xlog.internal.util.PlaceholderFormatter;
 import com.elvishew.xlog.internal.util.StackTraceUtil;
+import com.elvishew.xlog.metrics.LatencyStage;
 import com.elvishew.xlog.printer.Printer;
 import com.elvishew.xlog.printer.PrinterSet;
 
@@ -50,14 +56,27 @@ import java.util.Map;
 public class Logger {
 
   /**
-   * The log configuration which you should respect to when logging.
+   * The log configuration which you should respect to when logging, null if this logger follows
+   * the global log configuration, see {@link #logConfiguration()}.
    */
-  private LogConfiguration logConfiguration;
+  private final LogConfiguration logConfiguration;
+
+  /**
+   * The customizations of this logger, applied on top of the global log configuration, null if
+   * this logger uses a fixed log configuration.
+   */
+  private final Builder customization;
+
+  /**
+   * The latest log configuration derived from the global log configuration and the
+   * customizations, replaced as a whole when the global log configuration changes.
+   */
+  private volatile DerivedConfiguration derivedConfiguration;
 
   /**
    * The log printer used to print the logs.
    */
-  private Printer printer;
+  private final Printer printer;
 
   /**
    * Construct a logger.
@@ -67,6 +86,7 @@ public class Logger {
    */
     /*package*/ Logger(LogConfiguration logConfiguration, Printer printer) {
     this.logConfiguration = logConfiguration;
+    this.customization = null;
     this.printer = printer;
   }
 
@@ -76,65 +96,8 @@ public class Logger {
    * @param builder the logger builder
    */
     /*package*/ Logger(Builder builder) {
-    LogConfiguration.Builder logConfigBuilder = new LogConfiguration.Builder(
-        XLog.sLogConfiguration);
-
-    if (builder.logLevel != 0) {
-      logConfigBuilder.logLevel(builder.logLevel);
-    }
-
-    if (builder.tag != null) {
-      logConfigBuilder.tag(builder.tag);
-    }
-
-    if (builder.threadSet) {
-      if (builder.withThread) {
-        logConfigBuilder.enableThreadInfo();
-      } else {
-        logConfigBuilder.disableThreadInfo();
-      }
-    }
-    if (builder.stackTraceSet) {
-      if (builder.withStackTrace) {
-        logConfigBuilder.enableStackTrace(builder.stackTraceOrigin, builder.stackTraceDepth);
-      } else {
-        logConfigBuilder.disableStackTrace();
-      }
-    }
-    if (builder.borderSet) {
-      if (builder.withBorder) {
-        logConfigBuilder.enableBorder();
-      } else {
-        logConfigBuilder.disableBorder();
-      }
-    }
-
-    if (builder.jsonFormatter != null) {
-      logConfigBuilder.jsonFormatter(builder.jsonFormatter);
-    }
-    if (builder.xmlFormatter != null) {
-      logConfigBuilder.xmlFormatter(builder.xmlFormatter);
-    }
-    if (builder.throwableFormatter != null) {
-      logConfigBuilder.throwableFormatter(builder.throwableFormatter);
-    }
-    if (builder.threadFormatter != null) {
-      logConfigBuilder.threadFormatter(builder.threadFormatter);
-    }
-    if (builder.stackTraceFormatter != null) {
-      logConfigBuilder.stackTraceFormatter(builder.stackTraceFormatter);
-    }
-    if (builder.borderFormatter != null) {
-      logConfigBuilder.borderFormatter(builder.borderFormatter);
-    }
-    if (builder.objectFormatters != null) {
-      logConfigBuilder.objectFormatters(builder.objectFormatters);
-    }
-    if (builder.interceptors != null) {
-      logConfigBuilder.interceptors(builder.interceptors);
-    }
-    logConfiguration = logConfigBuilder.build();
-
+    this.logConfiguration = null;
+    this.customization = new Builder(builder);
     if (builder.printer != null) {
       printer = builder.printer;
     } else {
@@ -142,6 +105,40 @@ public class Logger {
     }
   }
 
+  /**
+   * Get the log configuration that should be respected by the current logging call.
+   * <p>
+   * For a logger built by {@link Builder}, the configuration is re-derived lazily whenever the
+   * global log configuration was updated via {@link XLog#updateLogConfiguration(LogConfiguration)},
+   * no lock is needed since a stale derivation is simply replaced by an equivalent one.
+   *
+   * @return the log configuration
+   */
+  private LogConfiguration logConfiguration() {
+    if (logConfiguration != null) {
+      return logConfiguration;
+    }
+    LogConfiguration globalConfiguration = XLog.sLogConfiguration;
+    DerivedConfiguration derived = derivedConfiguration;
+    if (derived == null || derived.base != globalConfiguration) {
+      derived = new DerivedConfiguration(globalConfiguration,
+          customization.applyTo(globalConfiguration));
+      derivedConfiguration = derived;
+    }
+    return derived.configuration;
+  }
+
+  /**
+   * Whether logs with specific level is loggable by this logger.
+   *
+   * @param logLevel the specific level
+   * @return true if loggable, false otherwise
+   * @since 1.12.0
+   */
+  public boolean isLoggable(int logLevel) {
+    return logConfiguration().isLoggable(logLevel);
+  }
+
   /**
    * Log an object with level {@link LogLevel#VERBOSE}.
    *
@@ -191,6 +188,102 @@ public class Logger {
     println(LogLevel.VERBOSE, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#VERBOSE}, the supplier is called only
+   * if the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void v(MessageSupplier supplier) {
+    println(LogLevel.VERBOSE, supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one argument, no array is allocated if
+   * the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, Object arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and two arguments, no array is allocated if
+   * the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, Object arg1, Object arg2) {
+    println(LogLevel.VERBOSE, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one int argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, int arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, char arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, byte arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, short arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void v(String format, long arg) {
+    println(LogLevel.VERBOSE, format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#DEBUG}.
    *
@@ -240,6 +333,102 @@ public class Logger {
     println(LogLevel.DEBUG, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#DEBUG}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void d(MessageSupplier supplier) {
+    println(LogLevel.DEBUG, supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, Object arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, Object arg1, Object arg2) {
+    println(LogLevel.DEBUG, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, int arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, char arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, byte arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, short arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void d(String format, long arg) {
+    println(LogLevel.DEBUG, format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#INFO}.
    *
@@ -289,6 +478,102 @@ public class Logger {
     println(LogLevel.INFO, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#INFO}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void i(MessageSupplier supplier) {
+    println(LogLevel.INFO, supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, Object arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, Object arg1, Object arg2) {
+    println(LogLevel.INFO, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, int arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, char arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one byte argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, byte arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, short arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one long argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void i(String format, long arg) {
+    println(LogLevel.INFO, format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#WARN}.
    *
@@ -338,6 +623,102 @@ public class Logger {
     println(LogLevel.WARN, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#WARN}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void w(MessageSupplier supplier) {
+    println(LogLevel.WARN, supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, Object arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, Object arg1, Object arg2) {
+    println(LogLevel.WARN, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, int arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, char arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one byte argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, byte arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, short arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one long argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void w(String format, long arg) {
+    println(LogLevel.WARN, format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#ERROR}.
    *
@@ -387,6 +768,102 @@ public class Logger {
     println(LogLevel.ERROR, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#ERROR}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void e(MessageSupplier supplier) {
+    println(LogLevel.ERROR, supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, Object arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, Object arg1, Object arg2) {
+    println(LogLevel.ERROR, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, int arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, char arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, byte arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, short arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public void e(String format, long arg) {
+    println(LogLevel.ERROR, format, arg);
+  }
+
   /**
    * Log an object with specific log level.
    *
@@ -445,16 +922,122 @@ public class Logger {
     println(logLevel, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with specific log level, the supplier is called only if the log
+   * is going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, MessageSupplier supplier) {
+    println(logLevel, supplier);
+  }
+
+  /**
+   * Log a message with specific log level and one argument, no array is allocated if the log is not
+   * going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, Object arg) {
+    println(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and two arguments, no array is allocated if the log is
+   * not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg1     the first argument of the message to log
+   * @param arg2     the second argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, Object arg1, Object arg2) {
+    println(logLevel, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with specific log level and one int argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, int arg) {
+    println(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one char argument, logged as a character, the
+   * argument is not boxed if the log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, char arg) {
+    println(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one byte argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, byte arg) {
+    println(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one short argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, short arg) {
+    println(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one long argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public void log(int logLevel, String format, long arg) {
+    println(logLevel, format, arg);
+  }
+
   /**
    * Log a JSON string, with level {@link LogLevel#DEBUG} by default.
    *
    * @param json the JSON string to log
    */
   public void json(String json) {
-    if (LogLevel.DEBUG < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, LogLevel.DEBUG)) {
       return;
     }
-    printlnInternal(LogLevel.DEBUG, logConfiguration.jsonFormatter.format(json));
+    printlnInternal(sample, config, LogLevel.DEBUG, config.jsonFormatter.format(json));
   }
 
   /**
@@ -463,10 +1046,69 @@ public class Logger {
    * @param xml the XML string to log
    */
   public void xml(String xml) {
-    if (LogLevel.DEBUG < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, LogLevel.DEBUG)) {
       return;
     }
-    printlnInternal(LogLevel.DEBUG, logConfiguration.xmlFormatter.format(xml));
+    printlnInternal(sample, config, LogLevel.DEBUG, config.xmlFormatter.format(xml));
+  }
+
+  /**
+   * Log a message and a throwable from another logging system, e.g. {@link android.util.Log},
+   * with the original level and tag, the tag of this logger is ignored.
+   * <p>
+   * The log is rejected before the throwable is formatted if its level is not loggable, or its
+   * tag is filtered out by the {@link BlacklistTagsFilterInterceptor}s or
+   * {@link WhitelistTagsFilterInterceptor}s at the beginning of the interceptors.
+   *
+   * @param logLevel the level of the log
+   * @param tag      the tag of the log
+   * @param msg      the message of the log
+   * @param tr       the throwable of the log, null if none
+   * @since 1.12.0
+   */
+  public void forward(int logLevel, String tag, String msg, Throwable tr) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    if (tag == null) {
+      tag = config.tag;
+    }
+    if (config.interceptors != null) {
+      LogItem probe = null;
+      for (Interceptor interceptor : config.interceptors) {
+        // Tag filters only check the tag, so they can be applied before the message is built.
+        if (!(interceptor instanceof BlacklistTagsFilterInterceptor
+            || interceptor instanceof WhitelistTagsFilterInterceptor)) {
+          break;
+        }
+        if (probe == null) {
+          probe = new LogItem(logLevel, tag, "");
+        }
+        if (interceptor.intercept(probe) == null) {
+          Metrics metrics = Metrics.current();
+          if (metrics != null) {
+            metrics.onRejected(interceptor);
+          }
+          finishSample(sample, LatencyStage.INTERCEPT);
+          return;
+        }
+      }
+      if (sample != null && probe != null) {
+        sample.mark(LatencyStage.INTERCEPT);
+      }
+    }
+    if (msg == null) {
+      msg = "";
+    }
+    if (tr != null) {
+      msg = (msg.length() == 0 ? "" : (msg + SystemCompat.lineSeparator))
+          + config.throwableFormatter.format(tr);
+    }
+    printlnInternal(sample, config, logLevel, tag, msg);
   }
 
   /**
@@ -476,12 +1118,14 @@ public class Logger {
    * @param object   the object to print
    */
   private <T> void println(int logLevel, T object) {
-    if (logLevel < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
       return;
     }
     String objectString;
     if (object != null) {
-      ObjectFormatter<? super T> objectFormatter = logConfiguration.getObjectFormatter(object);
+      ObjectFormatter<? super T> objectFormatter = config.getObjectFormatter(object);
       if (objectFormatter != null) {
         objectString = objectFormatter.format(object);
       } else {
@@ -490,7 +1134,7 @@ public class Logger {
     } else {
       objectString = "null";
     }
-    printlnInternal(logLevel, objectString);
+    printlnInternal(sample, config, logLevel, objectString);
   }
 
   /**
@@ -500,10 +1144,12 @@ public class Logger {
    * @param array    the array to print
    */
   private void println(int logLevel, Object[] array) {
-    if (logLevel < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
       return;
     }
-    printlnInternal(logLevel, Arrays.deepToString(array));
+    printlnInternal(sample, config, logLevel, Arrays.deepToString(array));
   }
 
   /**
@@ -514,10 +1160,141 @@ public class Logger {
    * @param args     the arguments of the printing log
    */
   private void println(int logLevel, String format, Object... args) {
-    if (logLevel < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, args));
+  }
+
+  /**
+   * Print a log with one argument in a new line.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, Object arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
       return;
     }
-    printlnInternal(logLevel, formatArgs(format, args));
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log with two arguments in a new line.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg1     the first argument of the printing log
+   * @param arg2     the second argument of the printing log
+   */
+  private void println(int logLevel, String format, Object arg1, Object arg2) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg1, arg2));
+  }
+
+  /**
+   * Print a log with one int argument in a new line, the argument is boxed only when printing.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, int arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log with one char argument in a new line, the argument is boxed only when printing.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, char arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log with one byte argument in a new line, the argument is boxed only when printing.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, byte arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log with one short argument in a new line, the argument is boxed only when printing.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, short arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log with one long argument in a new line, the argument is boxed only when printing.
+   *
+   * @param logLevel the log level of the printing log
+   * @param format   the format of the printing log, null if just need to concat arguments
+   * @param arg      the argument of the printing log
+   */
+  private void println(int logLevel, String format, long arg) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    printlnInternal(sample, config, logLevel, formatArgs(config, format, arg));
+  }
+
+  /**
+   * Print a log supplied lazily in a new line.
+   *
+   * @param logLevel the log level of the printing log
+   * @param supplier the supplier of the printing log, called only when printing
+   */
+  private void println(int logLevel, MessageSupplier supplier) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
+      return;
+    }
+    String msg = supplier.get();
+    printlnInternal(sample, config, logLevel, msg != null ? msg : "");
   }
 
   /**
@@ -527,10 +1304,12 @@ public class Logger {
    * @param msg      the message you would like to log
    */
     /*package*/ void println(int logLevel, String msg) {
-    if (logLevel < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
       return;
     }
-    printlnInternal(logLevel, msg != null ? msg : "");
+    printlnInternal(sample, config, logLevel, msg != null ? msg : "");
   }
 
   /**
@@ -541,38 +1320,97 @@ public class Logger {
    * @param tr       a throwable object to log
    */
   private void println(int logLevel, String msg, Throwable tr) {
-    if (logLevel < logConfiguration.logLevel) {
+    LatencySampler.Sample sample = LatencySampler.begin();
+    LogConfiguration config = logConfiguration();
+    if (!isLoggable(sample, config, logLevel)) {
       return;
     }
-    printlnInternal(logLevel, ((msg == null || msg.length() == 0)
+    printlnInternal(sample, config, logLevel, ((msg == null || msg.length() == 0)
         ? "" : (msg + SystemCompat.lineSeparator))
-        + logConfiguration.throwableFormatter.format(tr));
+        + config.throwableFormatter.format(tr));
+  }
+
+  /**
+   * Check whether a log of the specific level is loggable.
+   *
+   * @param sample   the latency sample of this logging call, null if not sampled
+   * @param config   the log configuration snapshot of this logging call
+   * @param logLevel the log level of the printing log
+   * @return true if loggable
+   */
+  private static boolean isLoggable(LatencySampler.Sample sample, LogConfiguration config,
+                                    int logLevel) {
+    boolean loggable = logLevel >= config.logLevel;
+    if (sample != null) {
+      sample.mark(LatencyStage.LEVEL_CHECK);
+      if (!loggable) {
+        sample.finish();
+      }
+    }
+    return loggable;
+  }
+
+  /**
+   * Finish the latency sample of a logging call, if sampled.
+   *
+   * @param sample the latency sample of this logging call, null if not sampled
+   * @param stage  the last stage of this logging call
+   */
+  private static void finishSample(LatencySampler.Sample sample, int stage) {
+    if (sample != null) {
+      sample.mark(stage);
+      sample.finish();
+    }
   }
 
   /**
    * Print a log in a new line internally.
    *
+   * @param sample   the latency sample of this logging call, null if not sampled
+   * @param config   the log configuration snapshot of this logging call
    * @param logLevel the log level of the printing log
    * @param msg      the message you would like to log
    */
-  private void printlnInternal(int logLevel, String msg) {
-    String tag = logConfiguration.tag;
-    String thread = logConfiguration.withThread
-        ? logConfiguration.threadFormatter.format(Thread.currentThread())
+  private void printlnInternal(LatencySampler.Sample sample, LogConfiguration config,
+                               int logLevel, String msg) {
+    printlnInternal(sample, config, logLevel, config.tag, msg);
+  }
+
+  /**
+   * Print a log with specific tag in a new line internally.
+   *
+   * @param sample   the latency sample of this logging call, null if not sampled
+   * @param config   the log configuration snapshot of this logging call
+   * @param logLevel the log level of the printing log
+   * @param tag      the tag of the printing log
+   * @param msg      the message you would like to log
+   */
+  private void printlnInternal(LatencySampler.Sample sample, LogConfiguration config,
+                               int logLevel, String tag, String msg) {
+    String thread = config.withThread
+        ? config.threadFormatter.format(Thread.currentThread())
         : null;
-    String stackTrace = logConfiguration.withStackTrace
-        ? logConfiguration.stackTraceFormatter.format(
+    String stackTrace = config.withStackTrace
+        ? config.stackTraceFormatter.format(
         StackTraceUtil.getCroppedRealStackTrack(new Throwable().getStackTrace(),
-            logConfiguration.stackTraceOrigin,
-            logConfiguration.stackTraceDepth))
+            config.stackTraceOrigin,
+            config.stackTraceDepth))
         : null;
+    if (sample != null) {
+      sample.mark(LatencyStage.FORMAT);
+    }
 
-    if (logConfiguration.interceptors != null) {
+    if (config.interceptors != null) {
       LogItem log = new LogItem(logLevel, tag, thread, stackTrace, msg);
-      for (Interceptor interceptor : logConfiguration.interceptors) {
+      for (Interceptor interceptor : config.interceptors) {
         log = interceptor.intercept(log);
         if (log == null) {
           // Log is eaten, don't print this log.
+          Metrics metrics = Metrics.current();
+          if (metrics != null) {
+            metrics.onRejected(interceptor);
+          }
+          finishSample(sample, LatencyStage.INTERCEPT);
           return;
         }
 
@@ -582,9 +1420,13 @@ public class Logger {
               + " should not remove the tag or message of a log,"
               + " if you don't want to print this log,"
               + " just return a null when intercept.");
+          finishSample(sample, LatencyStage.INTERCEPT);
           return;
         }
       }
+      if (sample != null) {
+        sample.mark(LatencyStage.INTERCEPT);
+      }
 
       // Use fields after interception.
       logLevel = log.level;
@@ -594,23 +1436,33 @@ public class Logger {
       msg = log.msg;
     }
 
-    printer.println(logLevel, tag, logConfiguration.withBorder
-        ? logConfiguration.borderFormatter.format(new String[]{thread, stackTrace, msg})
+    String formattedMsg = config.withBorder
+        ? config.borderFormatter.format(new String[]{thread, stackTrace, msg})
         : ((thread != null ? (thread + SystemCompat.lineSeparator) : "")
         + (stackTrace != null ? (stackTrace + SystemCompat.lineSeparator) : "")
-        + msg));
+        + msg);
+    if (sample != null) {
+      sample.mark(LatencyStage.FORMAT);
+    }
+    Metrics metrics = Metrics.current();
+    if (metrics != null) {
+      metrics.onPrinted(logLevel, tag);
+    }
+    printer.println(logLevel, tag, formattedMsg);
+    finishSample(sample, LatencyStage.HAND_OFF);
   }
 
   /**
    * Format a string with arguments.
    *
+   * @param config the log configuration snapshot of this logging call
    * @param format the format string, null if just to concat the arguments
    * @param args   the arguments
    * @return the formatted string
    */
-  private String formatArgs(String format, Object... args) {
+  private String formatArgs(LogConfiguration config, String format, Object... args) {
     if (format != null) {
-      return String.format(format, args);
+      return PlaceholderFormatter.format(format, args, config.withBracePlaceholders);
     } else {
       StringBuilder sb = new StringBuilder();
       for (int i = 0, N = args.length; i < N; i++) {
@@ -735,6 +1587,38 @@ public class Logger {
       XLog.assertInitialization();
     }
 
+    /**
+     * Construct a builder with all customizations from another builder, so that the built
+     * {@link Logger} is not affected if the other builder is reused.
+     *
+     * @param builder the builder to copy customizations from
+     */
+    private Builder(Builder builder) {
+      logLevel = builder.logLevel;
+      tag = builder.tag;
+      withThread = builder.withThread;
+      threadSet = builder.threadSet;
+      withStackTrace = builder.withStackTrace;
+      stackTraceOrigin = builder.stackTraceOrigin;
+      stackTraceDepth = builder.stackTraceDepth;
+      stackTraceSet = builder.stackTraceSet;
+      withBorder = builder.withBorder;
+      borderSet = builder.borderSet;
+      jsonFormatter = builder.jsonFormatter;
+      xmlFormatter = builder.xmlFormatter;
+      throwableFormatter = builder.throwableFormatter;
+      threadFormatter = builder.threadFormatter;
+      stackTraceFormatter = builder.stackTraceFormatter;
+      borderFormatter = builder.borderFormatter;
+      if (builder.objectFormatters != null) {
+        objectFormatters = new HashMap<>(builder.objectFormatters);
+      }
+      if (builder.interceptors != null) {
+        interceptors = new ArrayList<>(builder.interceptors);
+      }
+      printer = builder.printer;
+    }
+
     /**
      * Set the log level, the logs below of which would not be printed.
      *
@@ -1327,5 +2211,92 @@ public class Logger {
     public Logger build() {
       return new Logger(this);
     }
+
+    /**
+     * Apply all customizations of this builder on top of a base log configuration.
+     *
+     * @param base the base log configuration, normally the global one
+     * @return the customized log configuration
+     */
+    private LogConfiguration applyTo(LogConfiguration base) {
+      LogConfiguration.Builder logConfigBuilder = new LogConfiguration.Builder(base);
+
+      if (logLevel != 0) {
+        logConfigBuilder.logLevel(logLevel);
+      }
+
+      if (tag != null) {
+        logConfigBuilder.tag(tag);
+      }
+
+      if (threadSet) {
+        if (withThread) {
+          logConfigBuilder.enableThreadInfo();
+        } else {
+          logConfigBuilder.disableThreadInfo();
+        }
+      }
+      if (stackTraceSet) {
+        if (withStackTrace) {
+          logConfigBuilder.enableStackTrace(stackTraceOrigin, stackTraceDepth);
+        } else {
+          logConfigBuilder.disableStackTrace();
+        }
+      }
+      if (borderSet) {
+        if (withBorder) {
+          logConfigBuilder.enableBorder();
+        } else {
+          logConfigBuilder.disableBorder();
+        }
+      }
+
+      if (jsonFormatter != null) {
+        logConfigBuilder.jsonFormatter(jsonFormatter);
+      }
+      if (xmlFormatter != null) {
+        logConfigBuilder.xmlFormatter(xmlFormatter);
+      }
+      if (throwableFormatter != null) {
+        logConfigBuilder.throwableFormatter(throwableFormatter);
+      }
+      if (threadFormatter != null) {
+        logConfigBuilder.threadFormatter(threadFormatter);
+      }
+      if (stackTraceFormatter != null) {
+        logConfigBuilder.stackTraceFormatter(stackTraceFormatter);
+      }
+      if (borderFormatter != null) {
+        logConfigBuilder.borderFormatter(borderFormatter);
+      }
+      if (objectFormatters != null) {
+        logConfigBuilder.objectFormatters(objectFormatters);
+      }
+      if (interceptors != null) {
+        logConfigBuilder.interceptors(interceptors);
+      }
+      return logConfigBuilder.build();
+    }
+  }
+
+  /**
+   * A log configuration derived from a specific global log configuration.
+   */
+  private static class DerivedConfiguration {
+
+    /**
+     * The global log configuration this one derived from.
+     */
+    final LogConfiguration base;
+
+    /**
+     * The derived log configuration.
+     */
+    final LogConfiguration configuration;
+
+    DerivedConfiguration(LogConfiguration base, LogConfiguration configuration) {
+      this.base = base;
+      this.configuration = configuration;
+    }
   }
 }
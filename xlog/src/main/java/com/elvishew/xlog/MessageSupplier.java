@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog;
+
+/**
+ * Supply the message of a log lazily, the message is built only if the log is really going to be
+ * printed, so a disabled log costs nothing but a level check.
+ * <p>
+ * With Java 8 or Kotlin, a lambda can be used:
+ * <pre>
+ * XLog.d(() -&gt; "Current state: " + dumpState());
+ * </pre>
+ *
+ * @since 1.12.0
+ */
+public interface MessageSupplier {
+
+  /**
+   * Build the message.
+   *
+   * @return the message to log
+   */
+  String get();
+}
@@ -130,19 +130,19 @@ public class XLog {
   /**
    * Global logger for all direct logging via {@link XLog}.
    */
-  private static Logger sLogger;
+  private static volatile Logger sLogger;
 
   /**
    * Global log configuration.
    */
-  static LogConfiguration sLogConfiguration;
+  static volatile LogConfiguration sLogConfiguration;
 
   /**
    * Global log printer.
    */
-  static Printer sPrinter;
+  static volatile Printer sPrinter;
 
-  static boolean sIsInitialized;
+  static volatile boolean sIsInitialized;
 
   /**
    * Prevent instance.
@@ -249,6 +249,44 @@ public class XLog {
     sLogger = new Logger(sLogConfiguration, sPrinter);
   }
 
+  /**
+   * Get the current global log configuration.
+   *
+   * @return the current global log configuration
+   * @since 1.12.0
+   */
+  public static LogConfiguration getLogConfiguration() {
+    assertInitialization();
+    return sLogConfiguration;
+  }
+
+  /**
+   * Replace the global log configuration at runtime, without re-initializing the log system.
+   * <p>
+   * The new configuration takes effect on the next logging call of {@link XLog} and of all
+   * {@link Logger}s built by {@link Logger.Builder}, their customizations are kept and applied
+   * on top of the new configuration. Logging never blocks on the update.
+   * <p>
+   * To change only part of the configuration, copy the current one:
+   * <pre>
+   * XLog.updateLogConfiguration(new LogConfiguration.Builder(XLog.getLogConfiguration())
+   *     .logLevel(LogLevel.INFO)
+   *     .build());
+   * </pre>
+   * Concurrent updates are not merged, the last one wins.
+   *
+   * @param logConfiguration the new log configuration
+   * @since 1.12.0
+   */
+  public static void updateLogConfiguration(LogConfiguration logConfiguration) {
+    assertInitialization();
+    if (logConfiguration == null) {
+      throw new IllegalArgumentException("Please specify a LogConfiguration");
+    }
+    sLogConfiguration = logConfiguration;
+    sLogger = new Logger(logConfiguration, sPrinter);
+  }
+
   /**
    * Throw an IllegalStateException if not initialized.
    */
@@ -601,6 +639,110 @@ public class XLog {
     sLogger.v(msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#VERBOSE}, the supplier is called only
+   * if the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void v(MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.v(supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one argument, no array is allocated if
+   * the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, Object arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and two arguments, no array is allocated if
+   * the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.v(format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one int argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, int arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, char arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, byte arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, short arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#VERBOSE} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void v(String format, long arg) {
+    assertInitialization();
+    sLogger.v(format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#DEBUG}.
    *
@@ -655,6 +797,110 @@ public class XLog {
     sLogger.d(msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#DEBUG}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void d(MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.d(supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, Object arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.d(format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, int arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, char arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, byte arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, short arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#DEBUG} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void d(String format, long arg) {
+    assertInitialization();
+    sLogger.d(format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#INFO}.
    *
@@ -709,6 +955,110 @@ public class XLog {
     sLogger.i(msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#INFO}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void i(MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.i(supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, Object arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.i(format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, int arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, char arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one byte argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, byte arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, short arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#INFO} and one long argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void i(String format, long arg) {
+    assertInitialization();
+    sLogger.i(format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#WARN}.
    *
@@ -763,6 +1113,110 @@ public class XLog {
     sLogger.w(msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#WARN}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void w(MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.w(supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, Object arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.w(format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, int arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, char arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one byte argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, byte arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, short arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#WARN} and one long argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void w(String format, long arg) {
+    assertInitialization();
+    sLogger.w(format, arg);
+  }
+
   /**
    * Log an object with level {@link LogLevel#ERROR}.
    *
@@ -817,6 +1271,110 @@ public class XLog {
     sLogger.e(msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with level {@link LogLevel#ERROR}, the supplier is called only if
+   * the log is going to be printed.
+   *
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void e(MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.e(supplier);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one argument, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, Object arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and two arguments, no array is allocated if the
+   * log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg1   the first argument of the message to log
+   * @param arg2   the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.e(format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one int argument, the argument is not boxed
+   * if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, int arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one char argument, logged as a character,
+   * the argument is not boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, char arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one byte argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, byte arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one short argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, short arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
+  /**
+   * Log a message with level {@link LogLevel#ERROR} and one long argument, the argument is not
+   * boxed if the log is not going to be printed.
+   *
+   * @param format the format of the message to log, null if just need to concat arguments
+   * @param arg    the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void e(String format, long arg) {
+    assertInitialization();
+    sLogger.e(format, arg);
+  }
+
   /**
    * Log an object with specific log level.
    *
@@ -880,6 +1438,118 @@ public class XLog {
     sLogger.log(logLevel, msg, tr);
   }
 
+  /**
+   * Log a message supplied lazily with specific log level, the supplier is called only if the log
+   * is going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param supplier the supplier of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, MessageSupplier supplier) {
+    assertInitialization();
+    sLogger.log(logLevel, supplier);
+  }
+
+  /**
+   * Log a message with specific log level and one argument, no array is allocated if the log is not
+   * going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, Object arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and two arguments, no array is allocated if the log is
+   * not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg1     the first argument of the message to log
+   * @param arg2     the second argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, Object arg1, Object arg2) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg1, arg2);
+  }
+
+  /**
+   * Log a message with specific log level and one int argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, int arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one char argument, logged as a character, the
+   * argument is not boxed if the log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, char arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one byte argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, byte arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one short argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, short arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
+  /**
+   * Log a message with specific log level and one long argument, the argument is not boxed if the
+   * log is not going to be printed.
+   *
+   * @param logLevel the specific log level
+   * @param format   the format of the message to log, null if just need to concat arguments
+   * @param arg      the argument of the message to log
+   * @since 1.12.0
+   */
+  public static void log(int logLevel, String format, long arg) {
+    assertInitialization();
+    sLogger.log(logLevel, format, arg);
+  }
+
   /**
    * Log a JSON string, with level {@link LogLevel#DEBUG} by default.
    *
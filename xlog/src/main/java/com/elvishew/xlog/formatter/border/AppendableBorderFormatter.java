@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.border;
+
+import java.io.IOException;
+
+/**
+ * A {@link BorderFormatter} that can render the bordered segments directly into a destination,
+ * such as a {@link StringBuilder} or a {@link java.io.Writer}, without building an intermediate
+ * string.
+ *
+ * @since 1.12.0
+ */
+public interface AppendableBorderFormatter extends BorderFormatter {
+
+  /**
+   * Wrap the segments with borders, and append the result to the destination.
+   *
+   * @param segments the segments to wrap, null segments are ignored
+   * @param out      the destination to append to
+   * @throws IOException if the destination throws an {@link IOException}
+   */
+  void formatTo(String[] segments, Appendable out) throws IOException;
+}
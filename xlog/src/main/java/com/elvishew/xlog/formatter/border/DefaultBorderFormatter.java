@@ -18,6 +18,8 @@ package com.elvishew.xlog.formatter.border;
 
 import com.elvishew.xlog.internal.SystemCompat;
 
+import java.io.IOException;
+
 /**
  * String segments wrapped with borders look like:
  * <br>╔════════════════════════════════════════════════════════════════════════════
@@ -27,8 +29,10 @@ import com.elvishew.xlog.internal.SystemCompat;
  * <br>╟────────────────────────────────────────────────────────────────────────────
  * <br>║String segment 3
  * <br>╚════════════════════════════════════════════════════════════════════════════
+ * <p>
+ * Lines longer than the max line width, if specified, are wrapped so that the box is not broken.
  */
-public class DefaultBorderFormatter implements BorderFormatter {
+public class DefaultBorderFormatter implements AppendableBorderFormatter {
 
   private static final char VERTICAL_BORDER_CHAR = '║';
 
@@ -47,53 +51,134 @@ public class DefaultBorderFormatter implements BorderFormatter {
       "╚═════════════════════════════════════════════════" +
           "══════════════════════════════════════════════════";
 
+  /**
+   * The max number of characters in a line, excluding the vertical border, 0 if no limitation.
+   */
+  private final int maxLineWidth;
+
+  /**
+   * Construct a border formatter that never wraps lines.
+   */
+  public DefaultBorderFormatter() {
+    this(0);
+  }
+
+  /**
+   * Construct a border formatter that wraps long lines.
+   *
+   * @param maxLineWidth the max number of characters in a line, excluding the vertical border,
+   *                     0 if no limitation
+   * @since 1.12.0
+   */
+  public DefaultBorderFormatter(int maxLineWidth) {
+    if (maxLineWidth < 0) {
+      throw new IllegalArgumentException("Max line width should not be negative: "
+          + maxLineWidth);
+    }
+    this.maxLineWidth = maxLineWidth;
+  }
+
   @Override
   public String format(String[] segments) {
-    if (segments == null || segments.length == 0) {
+    if (segments == null) {
       return "";
     }
-
-    String[] nonNullSegments = new String[segments.length];
-    int nonNullCount = 0;
+    int length = 0;
     for (String segment : segments) {
       if (segment != null) {
-        nonNullSegments[nonNullCount++] = segment;
+        length += segment.length() + TOP_HORIZONTAL_BORDER.length() + 16;
       }
     }
-    if (nonNullCount == 0) {
+    if (length == 0) {
       return "";
     }
+    StringBuilder sb = new StringBuilder(length);
+    try {
+      formatTo(segments, sb);
+    } catch (IOException e) {
+      // Never happens with a StringBuilder.
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
 
-    StringBuilder msgBuilder = new StringBuilder();
-    msgBuilder.append(TOP_HORIZONTAL_BORDER).append(SystemCompat.lineSeparator);
-    for (int i = 0; i < nonNullCount; i++) {
-      msgBuilder.append(appendVerticalBorder(nonNullSegments[i]));
-      if (i != nonNullCount - 1) {
-        msgBuilder.append(SystemCompat.lineSeparator).append(DIVIDER_HORIZONTAL_BORDER)
-            .append(SystemCompat.lineSeparator);
+  @Override
+  public void formatTo(String[] segments, Appendable out) throws IOException {
+    if (segments == null) {
+      return;
+    }
+    boolean first = true;
+    for (String segment : segments) {
+      if (segment == null) {
+        continue;
+      }
+      if (first) {
+        out.append(TOP_HORIZONTAL_BORDER).append(SystemCompat.lineSeparator);
+        first = false;
       } else {
-        msgBuilder.append(SystemCompat.lineSeparator).append(BOTTOM_HORIZONTAL_BORDER);
+        out.append(SystemCompat.lineSeparator).append(DIVIDER_HORIZONTAL_BORDER)
+            .append(SystemCompat.lineSeparator);
       }
+      appendVerticalBorder(segment, out);
+    }
+    if (!first) {
+      out.append(SystemCompat.lineSeparator).append(BOTTOM_HORIZONTAL_BORDER);
     }
-    return msgBuilder.toString();
   }
 
   /**
-   * Add {@value #VERTICAL_BORDER_CHAR} to each line of msg.
+   * Append msg with {@value #VERTICAL_BORDER_CHAR} in the start of each line.
+   * <p>
+   * Like splitting msg by line separator, trailing empty lines are dropped.
    *
    * @param msg the message to add border
-   * @return the message with {@value #VERTICAL_BORDER_CHAR} in the start of each line
+   * @param out the destination to append to
+   */
+  private void appendVerticalBorder(String msg, Appendable out) throws IOException {
+    String separator = SystemCompat.lineSeparator;
+    int separatorLength = separator.length();
+    int end = msg.length();
+    while (end >= separatorLength && msg.startsWith(separator, end - separatorLength)) {
+      end -= separatorLength;
+    }
+    if (end == 0 && msg.length() != 0) {
+      // Nothing but line separators.
+      return;
+    }
+
+    int lineStart = 0;
+    while (true) {
+      int lineEnd = msg.indexOf(separator, lineStart);
+      if (lineEnd < 0 || lineEnd > end) {
+        lineEnd = end;
+      }
+      if (lineStart != 0) {
+        out.append(separator);
+      }
+      appendLine(msg, lineStart, lineEnd, out);
+      if (lineEnd >= end) {
+        break;
+      }
+      lineStart = lineEnd + separatorLength;
+    }
+  }
+
+  /**
+   * Append a single line with {@value #VERTICAL_BORDER_CHAR}, wrap it if too long.
    */
-  private static String appendVerticalBorder(String msg) {
-    StringBuilder borderedMsgBuilder = new StringBuilder(msg.length() + 10);
-    String[] lines = msg.split(SystemCompat.lineSeparator);
-    for (int i = 0, N = lines.length; i < N; i++) {
-      if (i != 0) {
-        borderedMsgBuilder.append(SystemCompat.lineSeparator);
+  private void appendLine(String msg, int start, int end, Appendable out) throws IOException {
+    if (maxLineWidth > 0) {
+      while (end - start > maxLineWidth) {
+        int wrapAt = start + maxLineWidth;
+        if (Character.isHighSurrogate(msg.charAt(wrapAt - 1)) && wrapAt - 1 > start) {
+          // Don't split a surrogate pair.
+          wrapAt--;
+        }
+        out.append(VERTICAL_BORDER_CHAR).append(msg, start, wrapAt)
+            .append(SystemCompat.lineSeparator);
+        start = wrapAt;
       }
-      String line = lines[i];
-      borderedMsgBuilder.append(VERTICAL_BORDER_CHAR).append(line);
     }
-    return borderedMsgBuilder.toString();
+    out.append(VERTICAL_BORDER_CHAR).append(msg, start, end);
   }
 }
@@ -16,41 +16,353 @@
 
 package com.elvishew.xlog.formatter.message.json;
 
-import com.elvishew.xlog.formatter.FormatException;
 import com.elvishew.xlog.internal.Platform;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 /**
- * Simply format the JSON using {@link JSONObject} and {@link JSONArray}.
+ * Format the JSON with an indent of {@value #DEFAULT_INDENT} by default.
+ * <p>
+ * The JSON is re-indented in a single pass, without parsing it into an object model, so the
+ * order of keys and the original text of strings and numbers are kept, and even a malformed JSON
+ * is formatted as far as possible.
+ * <p>
+ * To keep huge JSONs from flooding the log, the output can be limited by the {@link Builder}:
+ * <br>- Long strings are truncated, and end with "...N more".
+ * <br>- Large arrays are truncated, and end with an element "...N more".
+ * <br>- The whole output is truncated when it exceeds the max length, and ends with "...N more".
  */
 public class DefaultJsonFormatter implements JsonFormatter {
 
-  private static final int JSON_INDENT = 4;
+  private static final int DEFAULT_INDENT = 4;
+
+  private final int indent;
+
+  private final int maxOutputLength;
+
+  private final int maxArrayElements;
+
+  private final int maxStringLength;
+
+  /**
+   * Construct a JSON formatter with an indent of {@value #DEFAULT_INDENT} and no limitation.
+   */
+  public DefaultJsonFormatter() {
+    this(new Builder());
+  }
+
+  /*package*/ DefaultJsonFormatter(Builder builder) {
+    indent = builder.indent;
+    maxOutputLength = builder.maxOutputLength;
+    maxArrayElements = builder.maxArrayElements;
+    maxStringLength = builder.maxStringLength;
+  }
 
   @Override
   public String format(String json) {
-    String formattedString = null;
     if (json == null || json.trim().length() == 0) {
       Platform.get().warn("JSON empty.");
       return "";
     }
-    try {
-      if (json.startsWith("{")) {
-        JSONObject jsonObject = new JSONObject(json);
-        formattedString = jsonObject.toString(JSON_INDENT);
-      } else if (json.startsWith("[")) {
-        JSONArray jsonArray = new JSONArray(json);
-        formattedString = jsonArray.toString(JSON_INDENT);
-      } else {
-        Platform.get().warn("JSON should start with { or [");
-        return json;
-      }
-    } catch (Exception e) {
-      Platform.get().warn(e.getMessage());
+    if (!json.startsWith("{") && !json.startsWith("[")) {
+      Platform.get().warn("JSON should start with { or [");
       return json;
     }
-    return formattedString;
+    return new Reindenter(json).reindent();
+  }
+
+  /**
+   * Re-indent a single JSON string.
+   */
+  private class Reindenter {
+
+    private final String json;
+
+    private final int length;
+
+    private final StringBuilder out;
+
+    private int pos;
+
+    /**
+     * Current nesting depth.
+     */
+    private int depth;
+
+    /**
+     * Whether the container at each depth is an array.
+     */
+    private boolean[] isArray = new boolean[16];
+
+    /**
+     * Number of elements written of the container at each depth.
+     */
+    private int[] elementCounts = new int[16];
+
+    Reindenter(String json) {
+      this.json = json;
+      this.length = json.length();
+      this.out = new StringBuilder(maxOutputLength > 0
+          ? Math.min(maxOutputLength, length * 2) + 32
+          : length * 2);
+    }
+
+    String reindent() {
+      while (pos < length) {
+        if (isOutputFull()) {
+          out.append('\n').append("...").append(length - pos).append(" more");
+          break;
+        }
+        char c = json.charAt(pos);
+        switch (c) {
+          case '"':
+            copyString();
+            break;
+          case '{':
+          case '[':
+            open(c);
+            break;
+          case '}':
+          case ']':
+            close(c);
+            break;
+          case ',':
+            pos++;
+            out.append(',');
+            if (depth > 0 && isArray[depth - 1]) {
+              if (maxArrayElements > 0 && elementCounts[depth - 1] >= maxArrayElements) {
+                int skipped = skipElements();
+                newLine(depth);
+                out.append("\"...").append(skipped).append(" more\"");
+                break;
+              }
+              elementCounts[depth - 1]++;
+            }
+            newLine(depth);
+            break;
+          case ':':
+            pos++;
+            out.append(": ");
+            break;
+          case ' ':
+          case '\t':
+          case '\n':
+          case '\r':
+            pos++;
+            break;
+          default:
+            // Numbers, literals, or anything unexpected in a malformed JSON.
+            out.append(c);
+            pos++;
+            break;
+        }
+      }
+      return out.toString();
+    }
+
+    private boolean isOutputFull() {
+      return maxOutputLength > 0 && out.length() >= maxOutputLength;
+    }
+
+    private void open(char c) {
+      char close = c == '{' ? '}' : ']';
+      pos++;
+      int next = skipWhitespace(pos);
+      if (next < length && json.charAt(next) == close) {
+        out.append(c).append(close);
+        pos = next + 1;
+        return;
+      }
+      out.append(c);
+      if (depth == isArray.length) {
+        boolean[] newIsArray = new boolean[depth * 2];
+        System.arraycopy(isArray, 0, newIsArray, 0, depth);
+        isArray = newIsArray;
+        int[] newElementCounts = new int[depth * 2];
+        System.arraycopy(elementCounts, 0, newElementCounts, 0, depth);
+        elementCounts = newElementCounts;
+      }
+      isArray[depth] = c == '[';
+      elementCounts[depth] = 1;
+      depth++;
+      newLine(depth);
+    }
+
+    private void close(char c) {
+      pos++;
+      if (depth > 0) {
+        depth--;
+        newLine(depth);
+      }
+      out.append(c);
+    }
+
+    /**
+     * Copy a string, the quotes included, truncate it if too long.
+     */
+    private void copyString() {
+      out.append('"');
+      pos++;
+      int chars = 0;
+      int skippedChars = 0;
+      boolean closed = false;
+      while (pos < length) {
+        char c = json.charAt(pos);
+        if (c == '"') {
+          pos++;
+          closed = true;
+          break;
+        }
+        if (isOutputFull()) {
+          // Leave the rest to be counted in the note of the whole output.
+          return;
+        }
+
+        // An escape sequence is a single character.
+        int charLength = 1;
+        if (c == '\\') {
+          charLength = pos + 1 < length && json.charAt(pos + 1) == 'u' ? 6 : 2;
+          charLength = Math.min(charLength, length - pos);
+        }
+        if (maxStringLength <= 0 || chars < maxStringLength) {
+          out.append(json, pos, pos + charLength);
+        } else {
+          skippedChars++;
+        }
+        chars++;
+        pos += charLength;
+      }
+      if (skippedChars > 0) {
+        out.append("...").append(skippedChars).append(" more");
+      }
+      if (closed) {
+        out.append('"');
+      }
+    }
+
+    /**
+     * Skip the remaining elements of current array, stop before the closing bracket.
+     *
+     * @return the number of skipped elements
+     */
+    private int skipElements() {
+      int skipped = 1;
+      int level = 0;
+      boolean inString = false;
+      while (pos < length) {
+        char c = json.charAt(pos);
+        if (inString) {
+          if (c == '\\') {
+            pos++;
+          } else if (c == '"') {
+            inString = false;
+          }
+        } else if (c == '"') {
+          inString = true;
+        } else if (c == '{' || c == '[') {
+          level++;
+        } else if (c == '}' || c == ']') {
+          if (level == 0) {
+            break;
+          }
+          level--;
+        } else if (c == ',' && level == 0) {
+          skipped++;
+        }
+        pos++;
+      }
+      return skipped;
+    }
+
+    private int skipWhitespace(int from) {
+      while (from < length) {
+        char c = json.charAt(from);
+        if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+          break;
+        }
+        from++;
+      }
+      return from;
+    }
+
+    private void newLine(int depth) {
+      out.append('\n');
+      for (int i = 0, n = depth * indent; i < n; i++) {
+        out.append(' ');
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link DefaultJsonFormatter}.
+   *
+   * @since 1.12.0
+   */
+  public static class Builder {
+
+    private int indent = DEFAULT_INDENT;
+
+    private int maxOutputLength;
+
+    private int maxArrayElements;
+
+    private int maxStringLength;
+
+    /**
+     * Set the number of spaces to indent each level, default to be
+     * {@value DefaultJsonFormatter#DEFAULT_INDENT}.
+     *
+     * @param indent the number of spaces to indent
+     * @return the builder
+     */
+    public Builder indent(int indent) {
+      if (indent < 0) {
+        throw new IllegalArgumentException("Indent should not be negative: " + indent);
+      }
+      this.indent = indent;
+      return this;
+    }
+
+    /**
+     * Set the max length of the formatted JSON, the rest is omitted, 0 if no limitation.
+     *
+     * @param maxOutputLength the max length of the formatted JSON
+     * @return the builder
+     */
+    public Builder maxOutputLength(int maxOutputLength) {
+      this.maxOutputLength = maxOutputLength;
+      return this;
+    }
+
+    /**
+     * Set the max number of elements printed for each array, the rest are omitted, 0 if no
+     * limitation.
+     *
+     * @param maxArrayElements the max number of elements printed for each array
+     * @return the builder
+     */
+    public Builder maxArrayElements(int maxArrayElements) {
+      this.maxArrayElements = maxArrayElements;
+      return this;
+    }
+
+    /**
+     * Set the max number of characters printed for each string, the rest are omitted, 0 if no
+     * limitation.
+     *
+     * @param maxStringLength the max number of characters printed for each string
+     * @return the builder
+     */
+    public Builder maxStringLength(int maxStringLength) {
+      this.maxStringLength = maxStringLength;
+      return this;
+    }
+
+    /**
+     * Build configured {@link DefaultJsonFormatter} object.
+     *
+     * @return the built configured {@link DefaultJsonFormatter} object
+     */
+    public DefaultJsonFormatter build() {
+      return new DefaultJsonFormatter(this);
+    }
   }
 }
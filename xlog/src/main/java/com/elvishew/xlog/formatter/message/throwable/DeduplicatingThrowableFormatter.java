@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.message.throwable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A throwable formatter that prints the full stack trace of a throwable only once in a while, and
+ * a short reference for the repeats, which is useful when the same exception is logged over and
+ * over again, e.g. in a retry loop.
+ * <p>
+ * A throwable is identified by a fingerprint of the classes and stack trace elements of itself and
+ * its causes, the messages are not taken into account. The first time a fingerprint is seen, the
+ * full stack trace is printed with the fingerprint in front, like:
+ * <pre>
+ * #3fa2c01b java.io.IOException: Connection reset
+ *     at ...
+ * </pre>
+ * and the repeats are printed in a single line, like:
+ * <pre>
+ * java.io.IOException: Connection reset (same trace as #3fa2c01b, seen 512x)
+ * </pre>
+ * The full stack trace is printed again if it was not printed for the reprint interval, so that it
+ * can still be found in a log file after older ones are cleaned.
+ * <p>
+ * Rendering the full stack trace is the expensive part, and is skipped for the repeats. The
+ * fingerprints are kept in a LRU cache with bounded size.
+ *
+ * @since 1.12.0
+ */
+public class DeduplicatingThrowableFormatter implements ThrowableFormatter {
+
+  private static final int DEFAULT_MAX_CACHED_TRACES = 64;
+
+  private static final long DEFAULT_REPRINT_INTERVAL_MILLIS = 60 * 1000;
+
+  /**
+   * Max number of causes taken into account when computing the fingerprint.
+   */
+  private static final int MAX_CAUSE_DEPTH = 16;
+
+  private final ThrowableFormatter delegate;
+
+  private final long reprintIntervalMillis;
+
+  private final Map<Long, Trace> traces;
+
+  /**
+   * Constructor, caching at most {@value #DEFAULT_MAX_CACHED_TRACES} traces, and reprinting a
+   * trace every {@value #DEFAULT_REPRINT_INTERVAL_MILLIS} milliseconds.
+   */
+  public DeduplicatingThrowableFormatter() {
+    this(DEFAULT_MAX_CACHED_TRACES, DEFAULT_REPRINT_INTERVAL_MILLIS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxCachedTraces       the max number of traces to remember
+   * @param reprintIntervalMillis the interval in milliseconds after which a full stack trace is
+   *                              printed again, 0 if never reprint
+   */
+  public DeduplicatingThrowableFormatter(int maxCachedTraces, long reprintIntervalMillis) {
+    this(new DefaultThrowableFormatter(), maxCachedTraces, reprintIntervalMillis);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param delegate              the formatter used to print the full stack trace
+   * @param maxCachedTraces       the max number of traces to remember
+   * @param reprintIntervalMillis the interval in milliseconds after which a full stack trace is
+   *                              printed again, 0 if never reprint
+   */
+  public DeduplicatingThrowableFormatter(ThrowableFormatter delegate, int maxCachedTraces,
+                                         long reprintIntervalMillis) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Delegate formatter should not be null");
+    }
+    if (maxCachedTraces < 1) {
+      throw new IllegalArgumentException("Max cached traces should be greater than 0: "
+          + maxCachedTraces);
+    }
+    if (reprintIntervalMillis < 0) {
+      throw new IllegalArgumentException("Reprint interval should not be negative: "
+          + reprintIntervalMillis);
+    }
+    this.delegate = delegate;
+    this.reprintIntervalMillis = reprintIntervalMillis;
+    final int maxSize = maxCachedTraces;
+    this.traces = new LinkedHashMap<Long, Trace>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Trace> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public String format(Throwable tr) {
+    if (tr == null) {
+      return delegate.format(null);
+    }
+    long fingerprint = fingerprint(tr);
+    long now = System.currentTimeMillis();
+    Trace trace;
+    boolean printFull;
+    long seenCount;
+    synchronized (traces) {
+      trace = traces.get(fingerprint);
+      if (trace == null) {
+        trace = new Trace(Integer.toHexString((int) fingerprint));
+        traces.put(fingerprint, trace);
+        printFull = true;
+      } else {
+        printFull = reprintIntervalMillis > 0
+            && now - trace.lastPrintedTimeMillis >= reprintIntervalMillis;
+      }
+      if (printFull) {
+        trace.lastPrintedTimeMillis = now;
+      }
+      seenCount = ++trace.seenCount;
+    }
+
+    if (printFull) {
+      String rendered = delegate.format(tr);
+      if (rendered.length() == 0) {
+        // The delegate chose to print nothing for this throwable, e.g. UnknownHostException.
+        trace.empty = true;
+        return rendered;
+      }
+      return "#" + trace.id + " " + rendered;
+    }
+    if (trace.empty) {
+      return "";
+    }
+    return tr + " (same trace as #" + trace.id + ", seen " + seenCount + "x)";
+  }
+
+  /**
+   * Compute the fingerprint of a throwable, from the classes and stack trace elements of the
+   * throwable and its causes.
+   *
+   * @param tr the throwable
+   * @return the fingerprint
+   */
+  /*package*/ static long fingerprint(Throwable tr) {
+    long hash = 1125899906842597L;
+    Throwable t = tr;
+    for (int depth = 0; t != null && depth < MAX_CAUSE_DEPTH; depth++) {
+      hash = 31 * hash + t.getClass().getName().hashCode();
+      for (StackTraceElement element : t.getStackTrace()) {
+        hash = 31 * hash + element.hashCode();
+      }
+      Throwable cause = t.getCause();
+      t = cause == t ? null : cause;
+    }
+    // Spread the bits, so that the short id is distinct as well.
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * A remembered trace.
+   */
+  private static class Trace {
+
+    final String id;
+
+    long lastPrintedTimeMillis;
+
+    /**
+     * How many times the trace is seen, including the full prints.
+     */
+    long seenCount;
+
+    /**
+     * Whether the full print is empty.
+     */
+    volatile boolean empty;
+
+    Trace(String id) {
+      this.id = id;
+    }
+  }
+}
@@ -18,47 +18,318 @@ package com.elvishew.xlog.formatter.message.xml;
 
 import com.elvishew.xlog.internal.Platform;
 import com.elvishew.xlog.internal.SystemCompat;
-import com.elvishew.xlog.formatter.FormatException;
-
-import java.io.StringReader;
-import java.io.StringWriter;
-
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 
 /**
- * Simply format the XML with a indent of {@value XML_INDENT}.
- * <br>TODO: Make indent size and enable/disable state configurable.
+ * Format the XML with an indent of {@value #DEFAULT_INDENT} by default.
+ * <p>
+ * The XML is re-indented in a single pass by a simple scanner, without building a DOM or creating
+ * a transformer, so it is cheap enough to be called on every log. Tags, attributes, comments and
+ * CDATA sections are kept as they are, an element containing only text is printed in one line,
+ * like {@code <name>text</name>}, and whitespace between tags is dropped.
+ * <p>
+ * The output can be limited by {@link Builder#maxOutputLength(int)}, the omitted part is noted
+ * as "...N more".
  */
 public class DefaultXmlFormatter implements XmlFormatter {
 
-  private static final int XML_INDENT = 4;
+  private static final int DEFAULT_INDENT = 4;
+
+  private static final int TYPE_TEXT = 0;
+  private static final int TYPE_START_TAG = 1;
+  private static final int TYPE_END_TAG = 2;
+  private static final int TYPE_EMPTY_TAG = 3;
+
+  /**
+   * Declarations, processing instructions, comments, CDATA sections and DOCTYPEs.
+   */
+  private static final int TYPE_OTHER = 4;
+
+  private final int indent;
+
+  private final int maxOutputLength;
+
+  /**
+   * Construct a XML formatter with an indent of {@value #DEFAULT_INDENT} and no limitation.
+   */
+  public DefaultXmlFormatter() {
+    this(new Builder());
+  }
+
+  /*package*/ DefaultXmlFormatter(Builder builder) {
+    indent = builder.indent;
+    maxOutputLength = builder.maxOutputLength;
+  }
 
   @Override
   public String format(String xml) {
-    String formattedString;
     if (xml == null || xml.trim().length() == 0) {
       Platform.get().warn("XML empty.");
       return "";
     }
-    try {
-      Source xmlInput = new StreamSource(new StringReader(xml));
-      StreamResult xmlOutput = new StreamResult(new StringWriter());
-      Transformer transformer = TransformerFactory.newInstance().newTransformer();
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount",
-          String.valueOf(XML_INDENT));
-      transformer.transform(xmlInput, xmlOutput);
-      formattedString = xmlOutput.getWriter().toString().replaceFirst(">", ">"
-          + SystemCompat.lineSeparator);
-    } catch (Exception e) {
-      Platform.get().warn(e.getMessage());
+    if (!xml.trim().startsWith("<")) {
+      Platform.get().warn("XML should start with <");
       return xml;
     }
-    return formattedString;
+    return new Reindenter(xml).reindent();
+  }
+
+  /**
+   * Re-indent a single XML string.
+   */
+  private class Reindenter {
+
+    private final String xml;
+
+    private final int length;
+
+    private final StringBuilder out;
+
+    private int pos;
+
+    private int depth;
+
+    /**
+     * The type and range of the current token, and of the next two tokens peeked.
+     */
+    private final int[] types = new int[3];
+    private final int[] starts = new int[3];
+    private final int[] ends = new int[3];
+    private int peeked;
+
+    Reindenter(String xml) {
+      this.xml = xml;
+      this.length = xml.length();
+      this.out = new StringBuilder(maxOutputLength > 0
+          ? Math.min(maxOutputLength, length * 2) + 32
+          : length * 2);
+    }
+
+    String reindent() {
+      while (peek(0)) {
+        if (maxOutputLength > 0 && out.length() >= maxOutputLength) {
+          out.append(SystemCompat.lineSeparator)
+              .append("...").append(length - starts[0]).append(" more");
+          break;
+        }
+        int type = types[0];
+        if (type == TYPE_START_TAG
+            && peek(1) && types[1] == TYPE_TEXT
+            && peek(2) && types[2] == TYPE_END_TAG) {
+          // Element with only text, print in one line.
+          newLine();
+          append(0);
+          appendTrimmed(starts[1], ends[1]);
+          append(2);
+          consume(3);
+          continue;
+        }
+        if (type == TYPE_START_TAG && peek(1) && types[1] == TYPE_END_TAG) {
+          newLine();
+          append(0);
+          append(1);
+          consume(2);
+          continue;
+        }
+        switch (type) {
+          case TYPE_START_TAG:
+            newLine();
+            append(0);
+            depth++;
+            break;
+          case TYPE_END_TAG:
+            if (depth > 0) {
+              depth--;
+            }
+            newLine();
+            append(0);
+            break;
+          case TYPE_TEXT:
+            newLine();
+            appendTrimmed(starts[0], ends[0]);
+            break;
+          default:
+            newLine();
+            append(0);
+            break;
+        }
+        consume(1);
+      }
+      return out.toString();
+    }
+
+    /**
+     * Make sure the token at specific index is read.
+     *
+     * @return false if there is no more token
+     */
+    private boolean peek(int index) {
+      while (peeked <= index) {
+        if (!readToken(peeked)) {
+          return false;
+        }
+        peeked++;
+      }
+      return true;
+    }
+
+    private void consume(int count) {
+      for (int i = count; i < peeked; i++) {
+        types[i - count] = types[i];
+        starts[i - count] = starts[i];
+        ends[i - count] = ends[i];
+      }
+      peeked -= count;
+    }
+
+    /**
+     * Read the next token, whitespace between tags is skipped.
+     */
+    private boolean readToken(int index) {
+      while (true) {
+        if (pos >= length) {
+          return false;
+        }
+        int start = pos;
+        int type;
+        if (xml.charAt(pos) != '<') {
+          int end = xml.indexOf('<', pos);
+          pos = end < 0 ? length : end;
+          if (isBlank(start, pos)) {
+            continue;
+          }
+          type = TYPE_TEXT;
+        } else if (xml.startsWith("<!--", pos)) {
+          pos = indexAfter("-->", pos + 4);
+          type = TYPE_OTHER;
+        } else if (xml.startsWith("<![CDATA[", pos)) {
+          pos = indexAfter("]]>", pos + 9);
+          type = TYPE_OTHER;
+        } else if (xml.startsWith("<?", pos)) {
+          pos = indexAfter("?>", pos + 2);
+          type = TYPE_OTHER;
+        } else if (xml.startsWith("<!", pos)) {
+          pos = tagEnd(pos + 2);
+          type = TYPE_OTHER;
+        } else if (xml.startsWith("</", pos)) {
+          pos = tagEnd(pos + 2);
+          type = TYPE_END_TAG;
+        } else {
+          pos = tagEnd(pos + 1);
+          type = pos - start >= 2 && xml.charAt(pos - 2) == '/' && xml.charAt(pos - 1) == '>'
+              ? TYPE_EMPTY_TAG
+              : TYPE_START_TAG;
+        }
+        types[index] = type;
+        starts[index] = start;
+        ends[index] = pos;
+        return true;
+      }
+    }
+
+    /**
+     * Find the end of a tag, the '>' in quoted attribute values is ignored.
+     *
+     * @return the index after the '>', or the end of XML if the tag is not closed
+     */
+    private int tagEnd(int from) {
+      char quote = 0;
+      for (int i = from; i < length; i++) {
+        char c = xml.charAt(i);
+        if (quote != 0) {
+          if (c == quote) {
+            quote = 0;
+          }
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == '>') {
+          return i + 1;
+        }
+      }
+      return length;
+    }
+
+    private int indexAfter(String terminator, int from) {
+      int index = xml.indexOf(terminator, from);
+      return index < 0 ? length : index + terminator.length();
+    }
+
+    private boolean isBlank(int start, int end) {
+      for (int i = start; i < end; i++) {
+        if (!Character.isWhitespace(xml.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void append(int index) {
+      out.append(xml, starts[index], ends[index]);
+    }
+
+    private void appendTrimmed(int start, int end) {
+      while (start < end && Character.isWhitespace(xml.charAt(start))) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(xml.charAt(end - 1))) {
+        end--;
+      }
+      out.append(xml, start, end);
+    }
+
+    private void newLine() {
+      if (out.length() > 0) {
+        out.append(SystemCompat.lineSeparator);
+      }
+      for (int i = 0, n = depth * indent; i < n; i++) {
+        out.append(' ');
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link DefaultXmlFormatter}.
+   *
+   * @since 1.12.0
+   */
+  public static class Builder {
+
+    private int indent = DEFAULT_INDENT;
+
+    private int maxOutputLength;
+
+    /**
+     * Set the number of spaces to indent each level, default to be
+     * {@value DefaultXmlFormatter#DEFAULT_INDENT}.
+     *
+     * @param indent the number of spaces to indent
+     * @return the builder
+     */
+    public Builder indent(int indent) {
+      if (indent < 0) {
+        throw new IllegalArgumentException("Indent should not be negative: " + indent);
+      }
+      this.indent = indent;
+      return this;
+    }
+
+    /**
+     * Set the max length of the formatted XML, the rest is omitted, 0 if no limitation.
+     *
+     * @param maxOutputLength the max length of the formatted XML
+     * @return the builder
+     */
+    public Builder maxOutputLength(int maxOutputLength) {
+      this.maxOutputLength = maxOutputLength;
+      return this;
+    }
+
+    /**
+     * Build configured {@link DefaultXmlFormatter} object.
+     *
+     * @return the built configured {@link DefaultXmlFormatter} object
+     */
+    public DefaultXmlFormatter build() {
+      return new DefaultXmlFormatter(this);
+    }
   }
 }
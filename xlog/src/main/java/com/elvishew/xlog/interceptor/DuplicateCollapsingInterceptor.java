@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.interceptor;
+
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.internal.SystemCompat;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapse consecutive duplicate logs of the same tag, like the "last message repeated N times"
+ * of syslog.
+ * <p>
+ * When a log has the same level and message as the previous log of the same tag, it is filtered
+ * out, and the number of filtered logs is reported later, within the next printed log of that tag:
+ * <br>- If a different log comes, the burst ends, and a line like
+ * "Last message repeated 100 times" is put before the message of the new log.
+ * <br>- If the duplicate log keeps coming for more than the window time, one of them is printed
+ * with a line like "Last message repeated 100 times" before its message, and a new window starts.
+ * <p>
+ * Note that interceptors can only print a log when there is one being logged, so a summary is
+ * delayed until the next log of that tag, and the count of a burst is lost if no other log of that
+ * tag comes after it.
+ * <p>
+ * Only the first 256 tags seen are tracked, and they are never evicted, so logs of any later tag
+ * are never collapsed.
+ *
+ * @since 1.12.0
+ */
+public class DuplicateCollapsingInterceptor implements Interceptor {
+
+  /**
+   * The default window time, in milliseconds.
+   */
+  private static final long DEFAULT_WINDOW_MILLIS = 10 * 1000;
+
+  /**
+   * The max number of tags being tracked, logs with other tags are never collapsed.
+   */
+  private static final int MAX_TRACKED_TAGS = 256;
+
+  private final long windowMillis;
+
+  private final ConcurrentMap<String, Burst> bursts = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor, with a window time of {@value #DEFAULT_WINDOW_MILLIS} milliseconds.
+   */
+  public DuplicateCollapsingInterceptor() {
+    this(DEFAULT_WINDOW_MILLIS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param windowMillis the max time in milliseconds that a burst of duplicate logs can be
+   *                     collapsed into a single summary
+   */
+  public DuplicateCollapsingInterceptor(long windowMillis) {
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("Window time should be greater than 0: " + windowMillis);
+    }
+    this.windowMillis = windowMillis;
+  }
+
+  @Override
+  public LogItem intercept(LogItem log) {
+    Burst burst = bursts.get(log.tag);
+    if (burst == null) {
+      if (bursts.size() >= MAX_TRACKED_TAGS) {
+        return log;
+      }
+      burst = new Burst();
+      Burst existing = bursts.putIfAbsent(log.tag, burst);
+      if (existing != null) {
+        burst = existing;
+      }
+    }
+
+    long now = System.currentTimeMillis();
+    int collapsedCount;
+    synchronized (burst) {
+      if (burst.isSameAs(log)) {
+        if (now - burst.startTimeMillis < windowMillis) {
+          burst.collapsedCount++;
+          return null;
+        }
+      } else {
+        burst.level = log.level;
+        burst.msg = log.msg;
+      }
+      collapsedCount = burst.collapsedCount;
+      burst.collapsedCount = 0;
+      burst.startTimeMillis = now;
+    }
+
+    if (collapsedCount > 0) {
+      log.msg = formatSummary(collapsedCount) + SystemCompat.lineSeparator + log.msg;
+    }
+    return log;
+  }
+
+  /**
+   * Format the summary of collapsed logs.
+   *
+   * @param collapsedCount the number of collapsed logs
+   * @return the summary
+   */
+  protected String formatSummary(int collapsedCount) {
+    return "Last message repeated " + collapsedCount + " times";
+  }
+
+  /**
+   * The last log of a tag, and how many times it was repeated.
+   */
+  private static class Burst {
+
+    int level;
+
+    String msg;
+
+    long startTimeMillis;
+
+    int collapsedCount;
+
+    boolean isSameAs(LogItem log) {
+      // Strings of different lengths are told apart by equals() without comparing characters.
+      return msg != null && level == log.level && msg.equals(log.msg);
+    }
+  }
+}
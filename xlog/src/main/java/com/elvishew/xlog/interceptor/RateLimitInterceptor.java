@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.interceptor;
+
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.util.StripedCounter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limit the rate of logs, so that a misbehaving loop can not flood the printers.
+ * <p>
+ * A log goes through the following checks in order, and is filtered out by the first check it
+ * fails:
+ * <br>1. Logs with a level not lower than {@link Builder#alwaysPassLevel(int)} (default to be
+ * {@link LogLevel#ERROR}) always pass.
+ * <br>2. Sampling, only one in every N logs passes, see {@link Builder#sampling(int)}.
+ * <br>3. Token bucket of the log level, see {@link Builder#levelRateLimit(int, double, int)}.
+ * <br>4. Token bucket of the tag, every tag has its own bucket, see
+ * {@link Builder#tagRateLimit(double, int)}.
+ * <p>
+ * All checks are lock-free, and the number of suppressed logs can be read via
+ * {@link #getSuppressedCount()}.
+ * <p>
+ * Use the {@link Builder} to construct a {@link RateLimitInterceptor} object.
+ *
+ * @since 1.12.0
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+  /**
+   * The max number of tags having their own token buckets, logs with other tags share one bucket.
+   */
+  private static final int MAX_TAG_BUCKETS = 256;
+
+  private final int alwaysPassLevel;
+
+  private final int samplingRate;
+
+  private final Map<Integer, TokenBucket> levelBuckets;
+
+  private final double tagPermitsPerSecond;
+
+  private final int tagBurst;
+
+  private final ConcurrentMap<String, TokenBucket> tagBuckets;
+
+  /**
+   * Shared by all tags that come after the {@link #MAX_TAG_BUCKETS} limit is reached.
+   */
+  private final TokenBucket overflowTagBucket;
+
+  private final StripedCounter samplingCounter = new StripedCounter();
+
+  private final StripedCounter suppressedCounter = new StripedCounter();
+
+  /*package*/ RateLimitInterceptor(Builder builder) {
+    alwaysPassLevel = builder.alwaysPassLevel;
+    samplingRate = builder.samplingRate;
+    if (builder.levelRates != null) {
+      levelBuckets = new HashMap<>();
+      for (Map.Entry<Integer, double[]> levelRate : builder.levelRates.entrySet()) {
+        double[] rate = levelRate.getValue();
+        levelBuckets.put(levelRate.getKey(), new TokenBucket(rate[0], (int) rate[1]));
+      }
+    } else {
+      levelBuckets = null;
+    }
+    tagPermitsPerSecond = builder.tagPermitsPerSecond;
+    tagBurst = builder.tagBurst;
+    if (tagPermitsPerSecond > 0) {
+      tagBuckets = new ConcurrentHashMap<>();
+      overflowTagBucket = new TokenBucket(tagPermitsPerSecond, tagBurst);
+    } else {
+      tagBuckets = null;
+      overflowTagBucket = null;
+    }
+  }
+
+  @Override
+  public LogItem intercept(LogItem log) {
+    if (log.level >= alwaysPassLevel) {
+      return log;
+    }
+    if (samplingRate > 1 && samplingCounter.incrementAndGetCell() % samplingRate != 1) {
+      return suppress();
+    }
+    if (levelBuckets != null) {
+      TokenBucket levelBucket = levelBuckets.get(log.level);
+      if (levelBucket != null && !levelBucket.tryAcquire(System.nanoTime())) {
+        return suppress();
+      }
+    }
+    if (tagBuckets != null && !getTagBucket(log.tag).tryAcquire(System.nanoTime())) {
+      return suppress();
+    }
+    return log;
+  }
+
+  private LogItem suppress() {
+    suppressedCounter.increment();
+    return null;
+  }
+
+  private TokenBucket getTagBucket(String tag) {
+    TokenBucket bucket = tagBuckets.get(tag);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (tagBuckets.size() >= MAX_TAG_BUCKETS) {
+      return overflowTagBucket;
+    }
+    bucket = new TokenBucket(tagPermitsPerSecond, tagBurst);
+    TokenBucket existing = tagBuckets.putIfAbsent(tag, bucket);
+    return existing != null ? existing : bucket;
+  }
+
+  /**
+   * Get the number of logs suppressed by this interceptor so far.
+   *
+   * @return the number of suppressed logs
+   */
+  public long getSuppressedCount() {
+    return suppressedCounter.sum();
+  }
+
+  /**
+   * A token bucket implemented as a 'generic cell rate algorithm', the whole state is a single
+   * 'theoretical arrival time', so acquiring a token is just one CAS.
+   */
+  static class TokenBucket {
+
+    /**
+     * Time needed to produce one token, in nanoseconds.
+     */
+    private final long intervalNanos;
+
+    /**
+     * How far the theoretical arrival time may run ahead of now, allowing a burst.
+     */
+    private final long toleranceNanos;
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+      intervalNanos = Math.max(1, (long) (1000000000L / permitsPerSecond));
+      toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+      theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Try to take a token.
+     *
+     * @param nowNanos current time, in nanoseconds
+     * @return true if a token is taken, false if the bucket is empty
+     */
+    boolean tryAcquire(long nowNanos) {
+      while (true) {
+        long tat = theoreticalArrivalNanos.get();
+        if (tat - nowNanos > toleranceNanos) {
+          return false;
+        }
+        long newTat = (tat - nowNanos > 0 ? tat : nowNanos) + intervalNanos;
+        if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link RateLimitInterceptor}.
+   */
+  public static class Builder {
+
+    private int alwaysPassLevel = LogLevel.ERROR;
+
+    private int samplingRate = 1;
+
+    /**
+     * Permits per second and burst, of each limited log level.
+     */
+    private Map<Integer, double[]> levelRates;
+
+    private double tagPermitsPerSecond;
+
+    private int tagBurst;
+
+    /**
+     * Set the level, logs with which or higher level will never be suppressed, default to be
+     * {@link LogLevel#ERROR}.
+     *
+     * @param logLevel the level
+     * @return the builder
+     */
+    public Builder alwaysPassLevel(int logLevel) {
+      this.alwaysPassLevel = logLevel;
+      return this;
+    }
+
+    /**
+     * Only let one in every N logs pass.
+     * <p>
+     * The counting is spread over several counters to avoid contention, so the logs passing
+     * are evenly distributed but not exactly every N-th one.
+     *
+     * @param oneInN the N, 1 means no sampling
+     * @return the builder
+     */
+    public Builder sampling(int oneInN) {
+      if (oneInN < 1) {
+        throw new IllegalArgumentException("Sampling rate should not be less than 1: " + oneInN);
+      }
+      this.samplingRate = oneInN;
+      return this;
+    }
+
+    /**
+     * Limit the rate of logs with specific level.
+     *
+     * @param logLevel         the level of logs to limit
+     * @param permitsPerSecond the max number of logs per second in the long run
+     * @param burst            the max number of logs can pass at once
+     * @return the builder
+     */
+    public Builder levelRateLimit(int logLevel, double permitsPerSecond, int burst) {
+      checkRate(permitsPerSecond, burst);
+      if (levelRates == null) {
+        levelRates = new HashMap<>();
+      }
+      levelRates.put(logLevel, new double[]{permitsPerSecond, burst});
+      return this;
+    }
+
+    /**
+     * Limit the rate of logs for each tag, every tag is limited separately.
+     *
+     * @param permitsPerSecond the max number of logs per second of a single tag in the long run
+     * @param burst            the max number of logs of a single tag can pass at once
+     * @return the builder
+     */
+    public Builder tagRateLimit(double permitsPerSecond, int burst) {
+      checkRate(permitsPerSecond, burst);
+      this.tagPermitsPerSecond = permitsPerSecond;
+      this.tagBurst = burst;
+      return this;
+    }
+
+    private static void checkRate(double permitsPerSecond, int burst) {
+      if (!(permitsPerSecond > 0)) {
+        throw new IllegalArgumentException("Permits per second should be greater than 0: "
+            + permitsPerSecond);
+      }
+      if (burst < 1) {
+        throw new IllegalArgumentException("Burst should not be less than 1: " + burst);
+      }
+    }
+
+    /**
+     * Build configured {@link RateLimitInterceptor} object.
+     *
+     * @return the built configured {@link RateLimitInterceptor} object
+     */
+    public RateLimitInterceptor build() {
+      return new RateLimitInterceptor(this);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal;
+
+import com.elvishew.xlog.internal.util.LogLinearHistogram;
+import com.elvishew.xlog.internal.util.StripedCounter;
+import com.elvishew.xlog.metrics.LatencyStage;
+
+/**
+ * Sample one in every N logging calls, and record the latency of each stage of them, see
+ * {@link com.elvishew.xlog.metrics.LogMetrics#enableLatencySampling(int)}.
+ */
+public class LatencySampler {
+
+  /**
+   * The current sampler, null if disabled.
+   */
+  private static volatile LatencySampler sCurrent;
+
+  private final int sampleRate;
+
+  private final StripedCounter calls = new StripedCounter();
+
+  private final LogLinearHistogram[] histograms = new LogLinearHistogram[LatencyStage.COUNT];
+
+  /**
+   * Constructor.
+   *
+   * @param sampleRate sample one in every {@code sampleRate} logging calls
+   */
+  public LatencySampler(int sampleRate) {
+    this.sampleRate = sampleRate;
+    for (int i = 0; i < LatencyStage.COUNT; i++) {
+      histograms[i] = new LogLinearHistogram();
+    }
+  }
+
+  /**
+   * Get the current sampler.
+   *
+   * @return the current sampler, or null if latency sampling is disabled
+   */
+  public static LatencySampler current() {
+    return sCurrent;
+  }
+
+  /**
+   * Set the current sampler.
+   *
+   * @param sampler the sampler, or null to disable latency sampling
+   */
+  public static void setCurrent(LatencySampler sampler) {
+    sCurrent = sampler;
+  }
+
+  /**
+   * Begin a logging call.
+   *
+   * @return the sample of this call, or null if this call is not sampled
+   */
+  public static Sample begin() {
+    LatencySampler sampler = sCurrent;
+    if (sampler == null || sampler.calls.incrementAndGetCell() % sampler.sampleRate != 0) {
+      return null;
+    }
+    return new Sample(sampler);
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Get the histogram of a stage, in nanoseconds.
+   *
+   * @param stage the stage, see {@link LatencyStage}
+   */
+  public LogLinearHistogram getHistogram(int stage) {
+    return histograms[stage];
+  }
+
+  /**
+   * The latency of stages of a sampled logging call.
+   */
+  public static class Sample {
+
+    private final LatencySampler sampler;
+
+    private final long startNanos;
+
+    private long lastNanos;
+
+    /**
+     * The time spent in each stage, a stage may be entered more than once.
+     */
+    private final long[] stageNanos = new long[LatencyStage.TOTAL];
+
+    /**
+     * The bit mask of entered stages.
+     */
+    private int stages;
+
+    Sample(LatencySampler sampler) {
+      this.sampler = sampler;
+      startNanos = lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a stage, the time since the end of previous stage is counted in it.
+     *
+     * @param stage the stage, see {@link LatencyStage}
+     */
+    public void mark(int stage) {
+      long now = System.nanoTime();
+      stageNanos[stage] += now - lastNanos;
+      stages |= 1 << stage;
+      lastNanos = now;
+    }
+
+    /**
+     * Finish the logging call, and record the latency of entered stages.
+     */
+    public void finish() {
+      for (int i = 0; i < LatencyStage.TOTAL; i++) {
+        if ((stages & (1 << i)) != 0) {
+          sampler.histograms[i].record(stageNanos[i]);
+        }
+      }
+      sampler.histograms[LatencyStage.TOTAL].record(lastNanos - startNanos);
+    }
+  }
+}
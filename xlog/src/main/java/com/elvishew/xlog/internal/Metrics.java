@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal;
+
+import com.elvishew.xlog.internal.util.StripedCounter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The counters of logging, updated by the logging pipeline when metrics is enabled, see
+ * {@link com.elvishew.xlog.metrics.LogMetrics}.
+ * <p>
+ * Counters are striped, so updating is cheap even from many threads.
+ */
+public class Metrics {
+
+  /**
+   * The number of level counters, levels out of range are counted in the nearest one.
+   */
+  private static final int LEVEL_COUNT = 8;
+
+  /**
+   * The max number of tags counted separately, logs with other tags are counted together.
+   */
+  private static final int MAX_TAGS = 32;
+
+  /**
+   * The current metrics, null if disabled.
+   */
+  private static volatile Metrics sCurrent;
+
+  /**
+   * The queues of workers, for reading their current depth.
+   */
+  private static final Set<Collection<?>> sQueues = Collections.synchronizedSet(
+      Collections.newSetFromMap(new WeakHashMap<Collection<?>, Boolean>()));
+
+  private final StripedCounter[] levelCounters = new StripedCounter[LEVEL_COUNT];
+
+  private final ConcurrentMap<String, StripedCounter> tagCounters = new ConcurrentHashMap<>();
+
+  private final StripedCounter otherTagsCounter = new StripedCounter();
+
+  private final ConcurrentMap<String, StripedCounter> rejectedCounters =
+      new ConcurrentHashMap<>();
+
+  private final StripedCounter bytesWritten = new StripedCounter();
+
+  private final AtomicLong peakQueueDepth = new AtomicLong();
+
+  private final StripedCounter droppedCounter = new StripedCounter();
+
+  private final StripedCounter rotationCounter = new StripedCounter();
+
+  private final StripedCounter cleanupCounter = new StripedCounter();
+
+  private final StripedCounter flushCounter = new StripedCounter();
+
+  private final StripedCounter flushNanos = new StripedCounter();
+
+  private final AtomicLong maxFlushNanos = new AtomicLong();
+
+  public Metrics() {
+    for (int i = 0; i < LEVEL_COUNT; i++) {
+      levelCounters[i] = new StripedCounter();
+    }
+  }
+
+  /**
+   * Get the current metrics.
+   *
+   * @return the current metrics, or null if metrics is disabled
+   */
+  public static Metrics current() {
+    return sCurrent;
+  }
+
+  /**
+   * Set the current metrics.
+   *
+   * @param metrics the metrics, or null to disable metrics
+   */
+  public static void setCurrent(Metrics metrics) {
+    sCurrent = metrics;
+  }
+
+  /**
+   * Register the queue of a worker, so that its depth can be read.
+   *
+   * @param queue the queue of worker
+   */
+  public static void registerQueue(Collection<?> queue) {
+    sQueues.add(queue);
+  }
+
+  /**
+   * A log is handed off to the printer.
+   */
+  public void onPrinted(int level, String tag) {
+    levelCounters[Math.max(0, Math.min(level, LEVEL_COUNT - 1))].increment();
+    StripedCounter tagCounter = tagCounters.get(tag);
+    if (tagCounter == null) {
+      if (tagCounters.size() >= MAX_TAGS) {
+        otherTagsCounter.increment();
+        return;
+      }
+      tagCounter = getOrCreate(tagCounters, tag);
+    }
+    tagCounter.increment();
+  }
+
+  /**
+   * A log is rejected by an interceptor.
+   */
+  public void onRejected(Object interceptor) {
+    getOrCreate(rejectedCounters, interceptor.getClass().getName()).increment();
+  }
+
+  public void onBytesWritten(long bytes) {
+    bytesWritten.add(bytes);
+  }
+
+  /**
+   * A log is put into the queue of a worker.
+   *
+   * @param queueDepth the depth of queue after the log is put
+   */
+  public void onEnqueued(int queueDepth) {
+    updateMax(peakQueueDepth, queueDepth);
+  }
+
+  public void onDropped() {
+    droppedCounter.increment();
+  }
+
+  public void onRotated() {
+    rotationCounter.increment();
+  }
+
+  public void onCleaned() {
+    cleanupCounter.increment();
+  }
+
+  /**
+   * Logs are flushed to the underlying storage or stream.
+   *
+   * @param nanos the time of flushing, in nanoseconds
+   */
+  public void onFlushed(long nanos) {
+    flushCounter.increment();
+    flushNanos.add(nanos);
+    updateMax(maxFlushNanos, nanos);
+  }
+
+  public long getLevelCount(int level) {
+    return levelCounters[Math.max(0, Math.min(level, LEVEL_COUNT - 1))].sum();
+  }
+
+  public Map<String, Long> getTagCounts() {
+    return sum(tagCounters);
+  }
+
+  /**
+   * Get the number of logs of the tags not counted separately.
+   */
+  public long getOtherTagsCount() {
+    return otherTagsCounter.sum();
+  }
+
+  public Map<String, Long> getRejectedCounts() {
+    return sum(rejectedCounters);
+  }
+
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  /**
+   * Get the total depth of the queues of all workers at present.
+   */
+  public long getQueueDepth() {
+    List<Collection<?>> queues;
+    synchronized (sQueues) {
+      queues = new ArrayList<>(sQueues);
+    }
+    long depth = 0;
+    for (Collection<?> queue : queues) {
+      depth += queue.size();
+    }
+    return depth;
+  }
+
+  public long getPeakQueueDepth() {
+    return peakQueueDepth.get();
+  }
+
+  public long getDroppedCount() {
+    return droppedCounter.sum();
+  }
+
+  public long getRotationCount() {
+    return rotationCounter.sum();
+  }
+
+  public long getCleanupCount() {
+    return cleanupCounter.sum();
+  }
+
+  public long getFlushCount() {
+    return flushCounter.sum();
+  }
+
+  public long getFlushNanos() {
+    return flushNanos.sum();
+  }
+
+  public long getMaxFlushNanos() {
+    return maxFlushNanos.get();
+  }
+
+  private static StripedCounter getOrCreate(ConcurrentMap<String, StripedCounter> counters,
+                                            String key) {
+    StripedCounter counter = counters.get(key);
+    if (counter == null) {
+      counter = new StripedCounter();
+      StripedCounter existing = counters.putIfAbsent(key, counter);
+      if (existing != null) {
+        counter = existing;
+      }
+    }
+    return counter;
+  }
+
+  private static Map<String, Long> sum(Map<String, StripedCounter> counters) {
+    Map<String, Long> counts = new HashMap<>();
+    for (Map.Entry<String, StripedCounter> entry : counters.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().sum());
+    }
+    return counts;
+  }
+
+  private static void updateMax(AtomicLong max, long value) {
+    long current;
+    while (value > (current = max.get())) {
+      if (max.compareAndSet(current, value)) {
+        return;
+      }
+    }
+  }
+}
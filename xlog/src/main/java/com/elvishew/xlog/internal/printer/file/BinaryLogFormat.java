@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.printer.file;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The binary log format written by {@link com.elvishew.xlog.printer.file.writer.BinaryWriter}.
+ * <p>
+ * A file starts with the {@link #MAGIC} and a {@link #VERSION} byte, followed by entries, each
+ * starting with a type byte:
+ * <br>- {@link #TYPE_SYNC}: reset the decoding state, that is, the tag dictionary is cleared and
+ * the previous time is 0, so that decoding can start right at this entry.
+ * <br>- {@link #TYPE_TAG}: define a tag, with the varint id and the length-prefixed UTF-8 tag.
+ * <br>- {@link #TYPE_RAW}: a line of raw text, with the zigzag varint time delta and the
+ * length-prefixed UTF-8 text.
+ * <br>- {@link #TYPE_EXTENDED_LEVEL}: a log, with the zigzag varint level, then the same as a log
+ * below.
+ * <br>- Others: a log with the type as the level, with the zigzag varint time delta from the
+ * previous log or raw text, the varint tag id, and the length-prefixed UTF-8 message.
+ */
+public class BinaryLogFormat {
+
+  public static final byte[] MAGIC = {'X', 'L', 'G', 'B'};
+
+  public static final int VERSION = 1;
+
+  public static final int TYPE_SYNC = 0x00;
+
+  public static final int TYPE_TAG = 0x01;
+
+  public static final int TYPE_EXTENDED_LEVEL = 0x7E;
+
+  public static final int TYPE_RAW = 0x7F;
+
+  /**
+   * The max level that can be written as the type byte.
+   */
+  public static final int MAX_INLINE_LEVEL = 0x7D;
+
+  /**
+   * The min level that can be written as the type byte.
+   */
+  public static final int MIN_INLINE_LEVEL = 0x02;
+
+  /**
+   * Write a varint into a buffer.
+   *
+   * @return the position after the varint
+   */
+  public static int writeVarint(byte[] buffer, int position, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  /**
+   * Encode a signed value so that small negative values also take few bytes as a varint.
+   */
+  public static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  public static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Read a varint.
+   *
+   * @throws EOFException if the stream ends in the middle
+   */
+  public static long readVarint(InputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.read();
+      if (b == -1) {
+        throw new EOFException();
+      }
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+
+  /**
+   * Get the length of a string encoded in UTF-8.
+   */
+  public static int utf8Length(String s) {
+    int length = s.length();
+    int bytes = length;
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          bytes += 1;
+        } else if (!isSurrogate(c)) {
+          bytes += 2;
+        } else if (Character.isHighSurrogate(c) && i + 1 < length
+            && Character.isLowSurrogate(s.charAt(i + 1))) {
+          // 4 bytes for 2 chars.
+          bytes += 2;
+          i++;
+        }
+        // 1 byte for an unpaired surrogate, written as '?'.
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Encode a string in UTF-8 into a buffer, the buffer should have enough room, see
+   * {@link #utf8Length(String)}. Unpaired surrogates are encoded as '?', like
+   * {@link String#getBytes(String)} does.
+   *
+   * @return the position after the encoded string
+   */
+  public static int writeUtf8(byte[] buffer, int position, String s) {
+    int length = s.length();
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xC0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      } else if (isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i + 1 < length
+            && Character.isLowSurrogate(s.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, s.charAt(++i));
+          buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+          buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+          buffer[position++] = '?';
+        }
+      } else {
+        buffer[position++] = (byte) (0xE0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return position;
+  }
+
+  private static boolean isSurrogate(char c) {
+    return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.printer.file;
+
+import com.elvishew.xlog.internal.Platform;
+import com.elvishew.xlog.printer.file.reader.TimeIndex;
+import com.elvishew.xlog.printer.file.writer.BinaryWriter;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Maintain the {@link TimeIndex} of the opened log file, as logs are appended.
+ * <p>
+ * Used in worker thread.
+ */
+public class TimeIndexWriter {
+
+  private final int intervalBytes;
+
+  private File logFile;
+
+  private DataOutputStream out;
+
+  /**
+   * The offset of last index entry, or -1 if no entry yet.
+   */
+  private long lastIndexedOffset;
+
+  /**
+   * The estimated bytes of text logs appended since the length of log file was checked.
+   */
+  private long uncheckedBytes;
+
+  /**
+   * Constructor.
+   *
+   * @param intervalBytes the min bytes of logs between two index entries
+   */
+  public TimeIndexWriter(int intervalBytes) {
+    this.intervalBytes = intervalBytes;
+  }
+
+  /**
+   * Open the index of a log file, called after the log file is opened.
+   *
+   * @param logFile the opened log file
+   */
+  public void open(File logFile) {
+    close();
+    this.logFile = logFile;
+    File indexFile = TimeIndex.indexFileOf(logFile);
+    lastIndexedOffset = -1;
+    uncheckedBytes = 0;
+    try {
+      long logLength = logFile.length();
+      if (logLength > 0) {
+        lastIndexedOffset = readLastOffset(indexFile);
+      }
+      // Drop the index of a log file created again, or any partially written entry.
+      long indexLength = lastIndexedOffset < 0 ? 0
+          : indexFile.length() / TimeIndex.ENTRY_SIZE * TimeIndex.ENTRY_SIZE;
+      RandomAccessFile file = new RandomAccessFile(indexFile, "rw");
+      try {
+        file.setLength(indexLength);
+      } finally {
+        file.close();
+      }
+      out = new DataOutputStream(new FileOutputStream(indexFile, true));
+    } catch (IOException e) {
+      Platform.get().warn("Failed to open time index of " + logFile + ": " + e.getMessage());
+      close();
+    }
+  }
+
+  private static long readLastOffset(File indexFile) throws IOException {
+    long entries = indexFile.length() / TimeIndex.ENTRY_SIZE;
+    if (entries == 0) {
+      return -1;
+    }
+    RandomAccessFile file = new RandomAccessFile(indexFile, "r");
+    try {
+      file.seek((entries - 1) * TimeIndex.ENTRY_SIZE + 8);
+      return file.readLong();
+    } finally {
+      file.close();
+    }
+  }
+
+  /**
+   * Called before a text log is appended to the log file.
+   *
+   * @param timeMillis the time of log
+   * @param logLength  the length of flattened log
+   */
+  public void beforeAppendText(long timeMillis, int logLength) {
+    if (out == null) {
+      return;
+    }
+    // The length in chars is never more than that in bytes, so the length of log file, which
+    // costs a system call, is checked only when the interval may have been reached.
+    if (lastIndexedOffset < 0 || uncheckedBytes >= intervalBytes) {
+      long offset = logFile.length();
+      if (lastIndexedOffset < 0 || offset - lastIndexedOffset >= intervalBytes) {
+        addEntry(timeMillis, offset);
+        uncheckedBytes = 0;
+      } else {
+        uncheckedBytes = offset - lastIndexedOffset;
+      }
+    }
+    // Plus a line separator.
+    uncheckedBytes += logLength + 1;
+  }
+
+  /**
+   * Called before a log is appended to the log file via a {@link BinaryWriter}, a sync point is
+   * started when an index entry is added.
+   *
+   * @param timeMillis the time of log
+   * @param writer     the binary writer
+   */
+  public void beforeAppendBinary(long timeMillis, BinaryWriter writer) {
+    if (out == null) {
+      return;
+    }
+    if (lastIndexedOffset < 0
+        || writer.getOpenedFileLength() - lastIndexedOffset >= intervalBytes) {
+      writer.startSyncPoint();
+      addEntry(timeMillis, writer.getLastSyncPosition());
+    }
+  }
+
+  private void addEntry(long timeMillis, long offset) {
+    try {
+      out.writeLong(timeMillis);
+      out.writeLong(offset);
+      out.flush();
+      lastIndexedOffset = offset;
+    } catch (IOException e) {
+      Platform.get().warn("Failed to write time index of " + logFile + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Close the index, called before the log file is closed.
+   */
+  public void close() {
+    if (out != null) {
+      try {
+        out.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+    out = null;
+    logFile = null;
+  }
+}
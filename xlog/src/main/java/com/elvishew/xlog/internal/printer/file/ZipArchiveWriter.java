@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.printer.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Write a zip file whose entries are prepared beforehand, so that the entries can be compressed in
+ * parallel by {@link #prepare(File, String, int, File)}, and written one by one by a single thread.
+ * <p>
+ * Small files are compressed into memory, larger ones into temporary files, so the memory used by
+ * a prepared entry is bounded.
+ * <p>
+ * Files already compressed, like gzip or zip files, are stored as is. Zip64 is not supported, so
+ * the zip file is limited to 4GB and 65535 entries, see {@link #fits(int, long)}.
+ */
+public class ZipArchiveWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Files larger than this are compressed into temporary files rather than memory.
+   */
+  private static final long MAX_IN_MEMORY_SIZE = 256 * 1024;
+
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+  private static final int END_SIGNATURE = 0x06054b50;
+
+  private static final int METHOD_STORED = 0;
+
+  private static final int METHOD_DEFLATED = 8;
+
+  /**
+   * The flag indicating the entry name is encoded in UTF-8.
+   */
+  private static final int FLAG_UTF8 = 0x0800;
+
+  private static final long MAX_SIZE = 0xFFFFFFFFL;
+
+  private static final int MAX_ENTRIES = 0xFFFF;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * The leading bytes of compressed formats: gzip, zip, bzip2, xz and zstd.
+   */
+  private static final byte[][] COMPRESSED_MAGICS = {
+      {0x1f, (byte) 0x8b},
+      {'P', 'K', 3, 4},
+      {'B', 'Z', 'h'},
+      {(byte) 0xfd, '7', 'z', 'X', 'Z', 0},
+      {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}
+  };
+
+  private final OutputStream out;
+
+  private final byte[] header = new byte[46];
+
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  private final List<Entry> writtenEntries = new ArrayList<>();
+
+  private final List<Long> offsets = new ArrayList<>();
+
+  private long offset;
+
+  /**
+   * Constructor.
+   *
+   * @param out the output stream of zip file, better buffered
+   */
+  public ZipArchiveWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  /**
+   * Whether files can be archived by this writer without zip64.
+   *
+   * @param count       the number of files
+   * @param totalLength the total length of files
+   * @return true if the files can be archived
+   */
+  public static boolean fits(int count, long totalLength) {
+    // Leave room for headers and the expansion of incompressible data.
+    return count <= MAX_ENTRIES && totalLength + totalLength / 64 + count * 1024L <= MAX_SIZE;
+  }
+
+  /**
+   * Prepare an entry of the zip file, the file is compressed into memory, or into a temporary
+   * file if large, unless already compressed. Thread safe.
+   * <p>
+   * A prepared entry should be either written or {@link Entry#discard() discarded}.
+   *
+   * @param file        the file to prepare
+   * @param entryName   the name of entry
+   * @param level       the compression level, see {@link Deflater}
+   * @param spillFolder the folder of temporary files
+   * @return the prepared entry
+   * @throws IOException if failed to read the file, or to write the temporary file
+   */
+  public static Entry prepare(File file, String entryName, int level, File spillFolder)
+      throws IOException {
+    Entry entry = new Entry(entryName, file, file.lastModified());
+    byte[] buffer = new byte[BUFFER_SIZE];
+    CRC32 crc = new CRC32();
+    InputStream in = new FileInputStream(file);
+    Deflater deflater = null;
+    OutputStream data = null;
+    boolean prepared = false;
+    try {
+      int count = readFully(in, buffer);
+      if (isCompressed(buffer, count)) {
+        // Only the CRC is needed, the file will be copied when writing.
+        entry.method = METHOD_STORED;
+        long size = 0;
+        while (count > 0) {
+          crc.update(buffer, 0, count);
+          size += count;
+          count = in.read(buffer);
+        }
+        entry.size = size;
+        entry.compressedSize = size;
+      } else {
+        entry.method = METHOD_DEFLATED;
+        deflater = new Deflater(level, true);
+        if (file.length() > MAX_IN_MEMORY_SIZE) {
+          entry.dataFile = File.createTempFile("xlog", ".deflated", spillFolder);
+          data = new BufferedOutputStream(new FileOutputStream(entry.dataFile), BUFFER_SIZE);
+        } else {
+          entry.data = new ByteArrayOutputStream((int) file.length() / 4 + 64);
+          data = entry.data;
+        }
+        byte[] deflated = new byte[BUFFER_SIZE];
+        long size = 0;
+        long compressedSize = 0;
+        while (count > 0) {
+          crc.update(buffer, 0, count);
+          size += count;
+          deflater.setInput(buffer, 0, count);
+          while (!deflater.needsInput()) {
+            int n = deflater.deflate(deflated);
+            data.write(deflated, 0, n);
+            compressedSize += n;
+          }
+          count = in.read(buffer);
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+          int n = deflater.deflate(deflated);
+          data.write(deflated, 0, n);
+          compressedSize += n;
+        }
+        entry.size = size;
+        entry.compressedSize = compressedSize;
+      }
+      prepared = true;
+    } finally {
+      if (deflater != null) {
+        deflater.end();
+      }
+      in.close();
+      if (data != null) {
+        data.close();
+      }
+      if (!prepared) {
+        entry.discard();
+      }
+    }
+    entry.crc = crc.getValue();
+    if (entry.compressedSize > MAX_SIZE || entry.size > MAX_SIZE) {
+      entry.discard();
+      throw new IOException("File " + file.getPath() + " is too large to archive");
+    }
+    return entry;
+  }
+
+  private static int readFully(InputStream in, byte[] buffer) throws IOException {
+    int count = 0;
+    int n;
+    while (count < buffer.length && (n = in.read(buffer, count, buffer.length - count)) != -1) {
+      count += n;
+    }
+    return count;
+  }
+
+  private static boolean isCompressed(byte[] data, int length) {
+    for (byte[] magic : COMPRESSED_MAGICS) {
+      if (length < magic.length) {
+        continue;
+      }
+      boolean matched = true;
+      for (int i = 0; i < magic.length; i++) {
+        if (data[i] != magic[i]) {
+          matched = false;
+          break;
+        }
+      }
+      if (matched) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Write a prepared entry.
+   *
+   * @param entry the prepared entry
+   * @throws IOException if failed to write, or the zip file is too large
+   */
+  public void write(Entry entry) throws IOException {
+    if (writtenEntries.size() >= MAX_ENTRIES || offset > MAX_SIZE) {
+      throw new IOException("Too many files to archive");
+    }
+    byte[] name = entry.name.getBytes(UTF_8);
+    int position = putInt(header, 0, LOCAL_HEADER_SIGNATURE);
+    position = putEntryFields(header, position, entry, name.length);
+    putShort(header, position, 0); // extra field length
+    offsets.add(offset);
+    writeBytes(header, 30);
+    writeBytes(name, name.length);
+
+    try {
+      if (entry.data != null) {
+        entry.data.writeTo(out);
+        offset += entry.compressedSize;
+      } else if (entry.dataFile != null) {
+        copy(entry.dataFile, entry.compressedSize);
+      } else {
+        // Stored as is, the file should not be changed since prepared.
+        copy(entry.file, entry.size);
+      }
+    } finally {
+      // Release the memory or the temporary file as soon as possible.
+      entry.discard();
+    }
+    writtenEntries.add(entry);
+  }
+
+  /**
+   * Copy a specific length of a file.
+   */
+  private void copy(File file, long length) throws IOException {
+    InputStream in = new FileInputStream(file);
+    try {
+      long remaining = length;
+      while (remaining > 0) {
+        int count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (count == -1) {
+          throw new IOException("File " + file.getPath() + " changed while archiving");
+        }
+        out.write(buffer, 0, count);
+        remaining -= count;
+      }
+    } finally {
+      in.close();
+    }
+    offset += length;
+  }
+
+  /**
+   * Write the central directory, and close the output stream.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      long centralOffset = offset;
+      if (centralOffset > MAX_SIZE) {
+        throw new IOException("Too many files to archive");
+      }
+      for (int i = 0; i < writtenEntries.size(); i++) {
+        Entry entry = writtenEntries.get(i);
+        byte[] name = entry.name.getBytes(UTF_8);
+        int position = putInt(header, 0, CENTRAL_HEADER_SIGNATURE);
+        position = putShort(header, position, 20); // version made by
+        position = putEntryFields(header, position, entry, name.length);
+        position = putShort(header, position, 0); // extra field length
+        position = putShort(header, position, 0); // comment length
+        position = putShort(header, position, 0); // disk number
+        position = putShort(header, position, 0); // internal attributes
+        position = putInt(header, position, 0); // external attributes
+        putInt(header, position, offsets.get(i).intValue());
+        writeBytes(header, 46);
+        writeBytes(name, name.length);
+      }
+      int position = putInt(header, 0, END_SIGNATURE);
+      position = putShort(header, position, 0); // disk number
+      position = putShort(header, position, 0); // disk of central directory
+      position = putShort(header, position, writtenEntries.size());
+      position = putShort(header, position, writtenEntries.size());
+      position = putInt(header, position, (int) (offset - centralOffset));
+      position = putInt(header, position, (int) centralOffset);
+      putShort(header, position, 0); // comment length
+      writeBytes(header, 22);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Put the fields shared by local header and central header, from "version needed to extract"
+   * to "file name length".
+   */
+  private static int putEntryFields(byte[] header, int position, Entry entry, int nameLength) {
+    position = putShort(header, position, entry.method == METHOD_DEFLATED ? 20 : 10);
+    position = putShort(header, position, FLAG_UTF8);
+    position = putShort(header, position, entry.method);
+    position = putInt(header, position, toDosTime(entry.lastModified));
+    position = putInt(header, position, (int) entry.crc);
+    position = putInt(header, position, (int) entry.compressedSize);
+    position = putInt(header, position, (int) entry.size);
+    return putShort(header, position, nameLength);
+  }
+
+  /**
+   * Convert time to MS-DOS date and time, the date in the high 16 bits.
+   */
+  private static int toDosTime(long timeMillis) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTimeInMillis(timeMillis);
+    int year = calendar.get(Calendar.YEAR);
+    if (year < 1980) {
+      return (1 << 21) | (1 << 16);
+    }
+    return (year - 1980) << 25
+        | (calendar.get(Calendar.MONTH) + 1) << 21
+        | calendar.get(Calendar.DAY_OF_MONTH) << 16
+        | calendar.get(Calendar.HOUR_OF_DAY) << 11
+        | calendar.get(Calendar.MINUTE) << 5
+        | calendar.get(Calendar.SECOND) >> 1;
+  }
+
+  private void writeBytes(byte[] bytes, int length) throws IOException {
+    out.write(bytes, 0, length);
+    offset += length;
+  }
+
+  private static int putShort(byte[] bytes, int position, int value) {
+    bytes[position] = (byte) value;
+    bytes[position + 1] = (byte) (value >>> 8);
+    return position + 2;
+  }
+
+  private static int putInt(byte[] bytes, int position, int value) {
+    bytes[position] = (byte) value;
+    bytes[position + 1] = (byte) (value >>> 8);
+    bytes[position + 2] = (byte) (value >>> 16);
+    bytes[position + 3] = (byte) (value >>> 24);
+    return position + 4;
+  }
+
+  /**
+   * An entry prepared to be written.
+   */
+  public static class Entry {
+
+    final String name;
+
+    final File file;
+
+    final long lastModified;
+
+    int method;
+
+    long crc;
+
+    long size;
+
+    long compressedSize;
+
+    /**
+     * The compressed data in memory, null if the file is stored as is or compressed into a
+     * temporary file.
+     */
+    ByteArrayOutputStream data;
+
+    /**
+     * The temporary file of compressed data, null if the file is stored as is or compressed into
+     * memory.
+     */
+    File dataFile;
+
+    Entry(String name, File file, long lastModified) {
+      this.name = name;
+      this.file = file;
+      this.lastModified = lastModified;
+    }
+
+    /**
+     * Release the compressed data of an entry not going to be written. Thread safe.
+     */
+    public synchronized void discard() {
+      data = null;
+      if (dataFile != null) {
+        dataFile.delete();
+        dataFile = null;
+      }
+    }
+  }
+}
@@ -29,6 +29,19 @@ public class BackupUtil {
    * @param backupStrategy the strategy should be use when backing up
    */
   public static void backup(File loggingFile, BackupStrategy2 backupStrategy) {
+    backup(loggingFile, backupStrategy, null);
+  }
+
+  /**
+   * Shift existed backups if needed, and backup the logging file, along with its sidecar file,
+   * which is named after the file with a suffix.
+   *
+   * @param loggingFile    the logging file
+   * @param backupStrategy the strategy should be use when backing up
+   * @param sidecarSuffix  the suffix of sidecar file name, or null if no sidecar file
+   */
+  public static void backup(File loggingFile, BackupStrategy2 backupStrategy,
+                            String sidecarSuffix) {
     String loggingFileName = loggingFile.getName();
     String path = loggingFile.getParent();
     File backupFile;
@@ -37,22 +50,22 @@ public class BackupUtil {
     if (maxBackupIndex > 0) {
       backupFile = new File(path, backupStrategy.getBackupFileName(loggingFileName, maxBackupIndex));
       if (backupFile.exists()) {
-        backupFile.delete();
+        delete(backupFile, sidecarSuffix);
       }
       for (int i = maxBackupIndex - 1; i > 0; i--) {
         backupFile = new File(path, backupStrategy.getBackupFileName(loggingFileName, i));
         if (backupFile.exists()) {
           nextBackupFile = new File(path, backupStrategy.getBackupFileName(loggingFileName, i + 1));
-          backupFile.renameTo(nextBackupFile);
+          rename(backupFile, nextBackupFile, sidecarSuffix);
         }
       }
       nextBackupFile = new File(path, backupStrategy.getBackupFileName(loggingFileName, 1));
-      loggingFile.renameTo(nextBackupFile);
+      rename(loggingFile, nextBackupFile, sidecarSuffix);
     } else if (maxBackupIndex == BackupStrategy2.NO_LIMIT) {
       for (int i = 1; i < Integer.MAX_VALUE; i++) {
         nextBackupFile = new File(path, backupStrategy.getBackupFileName(loggingFileName, i));
         if (!nextBackupFile.exists()) {
-          loggingFile.renameTo(nextBackupFile);
+          rename(loggingFile, nextBackupFile, sidecarSuffix);
           break;
         }
       }
@@ -61,6 +74,27 @@ public class BackupUtil {
     }
   }
 
+  private static void delete(File file, String sidecarSuffix) {
+    file.delete();
+    if (sidecarSuffix != null) {
+      new File(file.getPath() + sidecarSuffix).delete();
+    }
+  }
+
+  private static void rename(File file, File newFile, String sidecarSuffix) {
+    file.renameTo(newFile);
+    if (sidecarSuffix != null) {
+      File sidecar = new File(file.getPath() + sidecarSuffix);
+      File newSidecar = new File(newFile.getPath() + sidecarSuffix);
+      if (sidecar.exists()) {
+        sidecar.renameTo(newSidecar);
+      } else {
+        // Do not leave a stale sidecar for the backup.
+        newSidecar.delete();
+      }
+    }
+  }
+
   /**
    * Check if a {@link BackupStrategy2} is valid, will throw a exception if invalid.
    *
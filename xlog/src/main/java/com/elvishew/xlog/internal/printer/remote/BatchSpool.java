@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.printer.remote;
+
+import com.elvishew.xlog.internal.Platform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * A bounded FIFO queue of log batches waiting to be sent, kept in a folder if specified so that
+ * they survive a restart of the process, or in memory otherwise.
+ * <p>
+ * When the total size of batches exceeds the limit, the oldest batches are dropped, but the newest
+ * one is always kept. Used in a single worker thread.
+ */
+public class BatchSpool {
+
+  private static final String COMPRESSED_SUFFIX = ".gz";
+
+  private static final String PLAIN_SUFFIX = ".log";
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final File folder;
+
+  private final long maxBytes;
+
+  private final Deque<Entry> entries = new ArrayDeque<>();
+
+  private long totalBytes;
+
+  private long nextSequence;
+
+  private long droppedBatches;
+
+  /**
+   * Constructor.
+   *
+   * @param folder   the folder to keep batches in, or null to keep them in memory, batches left in
+   *                 the folder by last process are loaded
+   * @param maxBytes the max total size of batches
+   */
+  public BatchSpool(File folder, long maxBytes) {
+    this.folder = folder;
+    this.maxBytes = maxBytes;
+    if (folder != null) {
+      load();
+    }
+  }
+
+  private void load() {
+    if (!folder.exists() && !folder.mkdirs()) {
+      Platform.get().error("Failed to create spool folder " + folder);
+      return;
+    }
+    File[] files = folder.listFiles();
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files);
+    for (File file : files) {
+      String name = file.getName();
+      boolean compressed = name.endsWith(COMPRESSED_SUFFIX);
+      if (!compressed && !name.endsWith(PLAIN_SUFFIX)) {
+        if (name.endsWith(TEMP_SUFFIX)) {
+          // Left by an interrupted write.
+          file.delete();
+        }
+        continue;
+      }
+      long sequence;
+      try {
+        sequence = Long.parseLong(name.substring(0, name.lastIndexOf('.')));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      entries.addLast(new Entry(file, null, file.length(), compressed));
+      totalBytes += file.length();
+      nextSequence = Math.max(nextSequence, sequence + 1);
+    }
+    evictIfNecessary();
+  }
+
+  /**
+   * Whether there is no batch.
+   */
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * Add a batch to the end of the queue.
+   *
+   * @param batch      the batch
+   * @param compressed whether the batch is compressed
+   */
+  public void add(byte[] batch, boolean compressed) {
+    Entry entry;
+    if (folder == null) {
+      entry = new Entry(null, batch, batch.length, compressed);
+    } else {
+      String name = String.format(Locale.US, "%019d", nextSequence++)
+          + (compressed ? COMPRESSED_SUFFIX : PLAIN_SUFFIX);
+      File file = new File(folder, name);
+      File tempFile = new File(folder, name + TEMP_SUFFIX);
+      if (!write(tempFile, batch) || !tempFile.renameTo(file)) {
+        Platform.get().error("Failed to spool log batch to " + file + ", " + batch.length
+            + " bytes lost");
+        tempFile.delete();
+        droppedBatches++;
+        return;
+      }
+      entry = new Entry(file, null, batch.length, compressed);
+    }
+    entries.addLast(entry);
+    totalBytes += entry.size;
+    evictIfNecessary();
+  }
+
+  /**
+   * Get the data of the oldest batch, batches failed to be read are dropped.
+   *
+   * @return the data of the oldest batch, or null if there is no batch
+   */
+  public byte[] peek() {
+    Entry entry;
+    while ((entry = entries.peekFirst()) != null) {
+      if (entry.data != null) {
+        return entry.data;
+      }
+      byte[] data = read(entry.file);
+      if (data != null) {
+        return data;
+      }
+      Platform.get().error("Failed to read spooled log batch " + entry.file + ", dropped");
+      remove();
+      droppedBatches++;
+    }
+    return null;
+  }
+
+  /**
+   * Whether the oldest batch is compressed.
+   */
+  public boolean isPeekCompressed() {
+    Entry entry = entries.peekFirst();
+    return entry != null && entry.compressed;
+  }
+
+  /**
+   * Remove the oldest batch.
+   */
+  public void remove() {
+    Entry entry = entries.pollFirst();
+    if (entry == null) {
+      return;
+    }
+    totalBytes -= entry.size;
+    if (entry.file != null) {
+      entry.file.delete();
+    }
+  }
+
+  /**
+   * Get the number of batches dropped, because of the size limit or any IO error.
+   */
+  public long getDroppedBatchCount() {
+    return droppedBatches;
+  }
+
+  private void evictIfNecessary() {
+    while (totalBytes > maxBytes && entries.size() > 1) {
+      remove();
+      droppedBatches++;
+    }
+  }
+
+  private static boolean write(File file, byte[] data) {
+    OutputStream out = null;
+    try {
+      out = new FileOutputStream(file);
+      out.write(data);
+      return true;
+    } catch (IOException e) {
+      return false;
+    } finally {
+      if (out != null) {
+        try {
+          out.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  private static byte[] read(File file) {
+    InputStream in = null;
+    try {
+      in = new FileInputStream(file);
+      ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length());
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      return null;
+    } finally {
+      if (in != null) {
+        try {
+          in.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /**
+   * A batch, either in a file or in memory.
+   */
+  private static class Entry {
+
+    final File file;
+
+    final byte[] data;
+
+    final long size;
+
+    final boolean compressed;
+
+    Entry(File file, byte[] data, long size, boolean compressed) {
+      this.file = file;
+      this.data = data;
+      this.size = size;
+      this.compressed = compressed;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values, with fixed log-linear buckets: values below 16
+ * have their own buckets, and every power of two above is split into 16 linear buckets, so any
+ * value is reported within 1/16 (6.25%) of its real value.
+ * <p>
+ * Recording a value is a single atomic increment, plus a compare-and-set if it is a new max.
+ */
+public class LogLinearHistogram {
+
+  /**
+   * The number of bits of the linear part of buckets.
+   */
+  private static final int SUB_BUCKET_BITS = 4;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Enough buckets for any positive long.
+   */
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts;
+
+  private final AtomicLong max;
+
+  public LogLinearHistogram() {
+    counts = new AtomicLongArray(BUCKET_COUNT);
+    max = new AtomicLong();
+  }
+
+  private LogLinearHistogram(LogLinearHistogram source) {
+    counts = new AtomicLongArray(BUCKET_COUNT);
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, source.counts.get(i));
+    }
+    max = new AtomicLong(source.max.get());
+  }
+
+  /**
+   * Record a value, negative values are recorded as 0.
+   *
+   * @param value the value to record
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(indexOf(value));
+    long current;
+    while (value > (current = max.get())) {
+      if (max.compareAndSet(current, value)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the number of recorded values.
+   *
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Get the max recorded value.
+   *
+   * @return the max recorded value, 0 if none
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Get the value at a percentile, i.e. the highest value in the bucket where the percentile
+   * falls, but no more than the max recorded value.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the value at the percentile, 0 if no value recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    long total = getCount();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * total);
+    if (rank < 1) {
+      rank = 1;
+    }
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Copy the histogram, values recorded to this histogram later are not seen by the copy.
+   *
+   * @return the copy
+   */
+  public LogLinearHistogram copy() {
+    return new LogLinearHistogram(this);
+  }
+
+  /*package*/ static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+  }
+
+  /*package*/ static long highestValueOf(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,595 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A fast replacement of {@link String#format(String, Object...)} for formatting log messages.
+ * <p>
+ * A format string is parsed only once and cached, and the message is rendered into a reusable
+ * per-thread builder. Only the commonly used subset of the printf syntax is handled here:
+ * {@code %s}, {@code %d}, {@code %x}, {@code %X} and {@code %f}, with flags {@code -}, {@code 0}
+ * and {@code #} (hex only), width and precision, plus {@code %%} and {@code %n}. Everything else,
+ * including arguments of unexpected types, falls back to {@link String#format(String, Object...)},
+ * so the output (and the exception thrown for an illegal format) is always the same as
+ * {@link String#format(String, Object...)}.
+ * <p>
+ * SLF4J-style "{}" placeholders are also supported if enabled, a format string containing at
+ * least one "{}" is then treated as a SLF4J-style pattern, in which "%" has no special meaning,
+ * and "\{}" stands for a literal "{}".
+ */
+public class PlaceholderFormatter {
+
+  /**
+   * Max number of parsed format strings to cache, the cache is cleared when exceeded, so that
+   * dynamically built format strings can not exhaust the memory.
+   */
+  private static final int MAX_CACHED_FORMATS = 256;
+
+  /**
+   * Max capacity of the per-thread builder kept for reusing.
+   */
+  private static final int MAX_REUSED_CAPACITY = 8 * 1024;
+
+  private static final char CONVERSION_STRING = 's';
+  private static final char CONVERSION_DECIMAL = 'd';
+  private static final char CONVERSION_HEX = 'x';
+  private static final char CONVERSION_FLOAT = 'f';
+
+  /**
+   * The conversion of a "{}" placeholder.
+   */
+  private static final char CONVERSION_BRACE = '{';
+
+  private static final int FLAG_LEFT_JUSTIFY = 1;
+  private static final int FLAG_ZERO_PAD = 1 << 1;
+  private static final int FLAG_ALTERNATE = 1 << 2;
+  private static final int FLAG_UPPERCASE = 1 << 3;
+
+  /**
+   * Marks a format string that can only be handled by {@link String#format(String, Object...)}.
+   */
+  private static final ParsedFormat UNSUPPORTED = new ParsedFormat(null, null);
+
+  private static final ConcurrentHashMap<String, ParsedFormat> PRINTF_FORMATS =
+      new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<String, ParsedFormat> BRACE_FORMATS =
+      new ConcurrentHashMap<>();
+
+  private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<Buffer>() {
+    @Override
+    protected Buffer initialValue() {
+      return new Buffer();
+    }
+  };
+
+  private static volatile LocaleSymbols sLocaleSymbols;
+
+  private PlaceholderFormatter() {
+  }
+
+  /**
+   * Format a string with arguments, the same as {@link String#format(String, Object...)}.
+   *
+   * @param format the format string
+   * @param args   the arguments
+   * @return the formatted string
+   */
+  public static String format(String format, Object... args) {
+    return format(format, args, false);
+  }
+
+  /**
+   * Format a string with arguments.
+   *
+   * @param format            the format string
+   * @param args              the arguments
+   * @param bracePlaceholders whether SLF4J-style "{}" placeholders are enabled
+   * @return the formatted string
+   */
+  public static String format(String format, Object[] args, boolean bracePlaceholders) {
+    ParsedFormat parsed = getParsedFormat(format, bracePlaceholders);
+    if (parsed == UNSUPPORTED) {
+      return String.format(format, args);
+    }
+    if (args == null) {
+      args = new Object[]{null};
+    }
+
+    Buffer buffer = BUFFER.get();
+    StringBuilder sb;
+    boolean reusing = !buffer.inUse;
+    if (reusing) {
+      // A toString() of an argument may log again, the nested call must not use the same builder.
+      buffer.inUse = true;
+      sb = buffer.sb;
+      sb.setLength(0);
+    } else {
+      sb = new StringBuilder(format.length() + 16 * args.length);
+    }
+    try {
+      if (!parsed.render(sb, args)) {
+        return String.format(format, args);
+      }
+      return sb.toString();
+    } finally {
+      if (reusing) {
+        if (sb.capacity() > MAX_REUSED_CAPACITY) {
+          buffer.sb = new StringBuilder(256);
+        }
+        buffer.inUse = false;
+      }
+    }
+  }
+
+  private static ParsedFormat getParsedFormat(String format, boolean bracePlaceholders) {
+    if (bracePlaceholders && format.contains("{}")) {
+      ParsedFormat parsed = BRACE_FORMATS.get(format);
+      if (parsed == null) {
+        parsed = parseBrace(format);
+        cache(BRACE_FORMATS, format, parsed);
+      }
+      return parsed;
+    }
+    ParsedFormat parsed = PRINTF_FORMATS.get(format);
+    if (parsed == null) {
+      parsed = parsePrintf(format);
+      cache(PRINTF_FORMATS, format, parsed);
+    }
+    return parsed;
+  }
+
+  private static void cache(ConcurrentHashMap<String, ParsedFormat> cache, String format,
+                            ParsedFormat parsed) {
+    if (cache.size() >= MAX_CACHED_FORMATS) {
+      cache.clear();
+    }
+    cache.put(format, parsed);
+  }
+
+  /**
+   * Parse a printf-style format string.
+   *
+   * @param format the format string
+   * @return the parsed format, or {@link #UNSUPPORTED} if anything can not be handled
+   */
+  /*package*/ static ParsedFormat parsePrintf(String format) {
+    List<String> literals = new ArrayList<>();
+    List<Spec> specs = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int length = format.length();
+    int i = 0;
+    while (i < length) {
+      char c = format.charAt(i++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      if (i >= length) {
+        return UNSUPPORTED;
+      }
+
+      // Flags.
+      int flags = 0;
+      while (i < length) {
+        int flag;
+        switch (format.charAt(i)) {
+          case '-':
+            flag = FLAG_LEFT_JUSTIFY;
+            break;
+          case '0':
+            flag = FLAG_ZERO_PAD;
+            break;
+          case '#':
+            flag = FLAG_ALTERNATE;
+            break;
+          case '+':
+          case ' ':
+          case ',':
+          case '(':
+          case '<':
+            return UNSUPPORTED;
+          default:
+            flag = 0;
+            break;
+        }
+        if (flag == 0) {
+          break;
+        }
+        if ((flags & flag) != 0) {
+          return UNSUPPORTED;
+        }
+        flags |= flag;
+        i++;
+      }
+
+      // Width.
+      int width = -1;
+      int start = i;
+      while (i < length && isDigit(format.charAt(i))) {
+        i++;
+      }
+      if (i > start) {
+        if (i - start > 6) {
+          return UNSUPPORTED;
+        }
+        width = Integer.parseInt(format.substring(start, i));
+      }
+
+      // Precision.
+      int precision = -1;
+      if (i < length && format.charAt(i) == '.') {
+        start = ++i;
+        while (i < length && isDigit(format.charAt(i))) {
+          i++;
+        }
+        if (i == start || i - start > 6) {
+          return UNSUPPORTED;
+        }
+        precision = Integer.parseInt(format.substring(start, i));
+      }
+
+      if (i >= length) {
+        return UNSUPPORTED;
+      }
+      char conversion = format.charAt(i++);
+      switch (conversion) {
+        case '%':
+        case 'n':
+          if (flags != 0 || width != -1 || precision != -1) {
+            return UNSUPPORTED;
+          }
+          literal.append(conversion == '%' ? "%" : System.getProperty("line.separator"));
+          continue;
+        case 's':
+          if ((flags & ~FLAG_LEFT_JUSTIFY) != 0) {
+            return UNSUPPORTED;
+          }
+          break;
+        case 'd':
+          if ((flags & FLAG_ALTERNATE) != 0 || precision != -1) {
+            return UNSUPPORTED;
+          }
+          break;
+        case 'X':
+        case 'x':
+          if (precision != -1) {
+            return UNSUPPORTED;
+          }
+          if (conversion == 'X') {
+            flags |= FLAG_UPPERCASE;
+            conversion = CONVERSION_HEX;
+          }
+          break;
+        case 'f':
+          if ((flags & FLAG_ALTERNATE) != 0) {
+            return UNSUPPORTED;
+          }
+          break;
+        default:
+          // Including "%1$s" which is parsed as a width followed by an unknown conversion '$'.
+          return UNSUPPORTED;
+      }
+      boolean leftJustify = (flags & FLAG_LEFT_JUSTIFY) != 0;
+      boolean zeroPad = (flags & FLAG_ZERO_PAD) != 0;
+      if ((leftJustify || zeroPad) && (width == -1 || (leftJustify && zeroPad))) {
+        // Justifying without width, or both left-justified and zero-padded.
+        return UNSUPPORTED;
+      }
+
+      literals.add(literal.toString());
+      literal.setLength(0);
+      specs.add(new Spec(conversion, flags, width, precision));
+    }
+    literals.add(literal.toString());
+    return new ParsedFormat(literals.toArray(new String[literals.size()]),
+        specs.toArray(new Spec[specs.size()]));
+  }
+
+  /**
+   * Parse a SLF4J-style format string.
+   *
+   * @param format the format string
+   * @return the parsed format
+   */
+  /*package*/ static ParsedFormat parseBrace(String format) {
+    List<String> literals = new ArrayList<>();
+    List<Spec> specs = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int length = format.length();
+    int i = 0;
+    while (i < length) {
+      char c = format.charAt(i);
+      if (c == '\\' && format.startsWith("{}", i + 1)) {
+        literal.append("{}");
+        i += 3;
+      } else if (c == '{' && i + 1 < length && format.charAt(i + 1) == '}') {
+        literals.add(literal.toString());
+        literal.setLength(0);
+        specs.add(new Spec(CONVERSION_BRACE, 0, -1, -1));
+        i += 2;
+      } else {
+        literal.append(c);
+        i++;
+      }
+    }
+    literals.add(literal.toString());
+    return new ParsedFormat(literals.toArray(new String[literals.size()]),
+        specs.toArray(new Spec[specs.size()]));
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static LocaleSymbols localeSymbols() {
+    Locale locale = Locale.getDefault();
+    LocaleSymbols symbols = sLocaleSymbols;
+    if (symbols == null || symbols.locale != locale) {
+      symbols = new LocaleSymbols(locale);
+      sLocaleSymbols = symbols;
+    }
+    return symbols;
+  }
+
+  /**
+   * A parsed format, literals and specifiers interleaved, always one more literal than specifiers.
+   */
+  /*package*/ static class ParsedFormat {
+
+    final String[] literals;
+
+    final Spec[] specs;
+
+    ParsedFormat(String[] literals, Spec[] specs) {
+      this.literals = literals;
+      this.specs = specs;
+    }
+
+    /**
+     * Render the arguments.
+     *
+     * @param sb   the builder to render into
+     * @param args the arguments
+     * @return false if the arguments can not be handled, and {@link String#format} should be used
+     */
+    boolean render(StringBuilder sb, Object[] args) {
+      int count = specs.length;
+      for (int i = 0; i < count; i++) {
+        sb.append(literals[i]);
+        Spec spec = specs[i];
+        if (i >= args.length) {
+          if (spec.conversion != CONVERSION_BRACE) {
+            // Missing argument, let String.format() throw the exception.
+            return false;
+          }
+          // Like SLF4J, a placeholder without argument is kept as is.
+          sb.append("{}");
+        } else if (!spec.render(sb, args[i])) {
+          return false;
+        }
+      }
+      sb.append(literals[count]);
+      return true;
+    }
+  }
+
+  /**
+   * A format specifier.
+   */
+  /*package*/ static class Spec {
+
+    final char conversion;
+
+    final int flags;
+
+    final int width;
+
+    final int precision;
+
+    Spec(char conversion, int flags, int width, int precision) {
+      this.conversion = conversion;
+      this.flags = flags;
+      this.width = width;
+      this.precision = precision;
+    }
+
+    boolean render(StringBuilder sb, Object arg) {
+      switch (conversion) {
+        case CONVERSION_STRING:
+          return renderString(sb, arg);
+        case CONVERSION_DECIMAL:
+          return renderDecimal(sb, arg);
+        case CONVERSION_HEX:
+          return renderHex(sb, arg);
+        case CONVERSION_FLOAT:
+          return renderFloat(sb, arg);
+        case CONVERSION_BRACE:
+          sb.append(arg);
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private boolean renderString(StringBuilder sb, Object arg) {
+      if (arg instanceof Formattable) {
+        return false;
+      }
+      String s = String.valueOf(arg);
+      if (precision != -1 && precision < s.length()) {
+        s = s.substring(0, precision);
+      }
+      justify(sb, s);
+      return true;
+    }
+
+    private boolean renderDecimal(StringBuilder sb, Object arg) {
+      long value;
+      if (arg instanceof Integer || arg instanceof Long
+          || arg instanceof Short || arg instanceof Byte) {
+        value = ((Number) arg).longValue();
+      } else {
+        return false;
+      }
+      String magnitude = Long.toString(value);
+      boolean negative = value < 0;
+      if (negative) {
+        magnitude = magnitude.substring(1);
+      }
+      appendNumber(sb, negative, magnitude);
+      return true;
+    }
+
+    private boolean renderHex(StringBuilder sb, Object arg) {
+      String hex;
+      if (arg instanceof Integer) {
+        hex = Integer.toHexString((Integer) arg);
+      } else if (arg instanceof Long) {
+        hex = Long.toHexString((Long) arg);
+      } else if (arg instanceof Short) {
+        hex = Integer.toHexString(((Short) arg) & 0xffff);
+      } else if (arg instanceof Byte) {
+        hex = Integer.toHexString(((Byte) arg) & 0xff);
+      } else {
+        return false;
+      }
+      boolean uppercase = (flags & FLAG_UPPERCASE) != 0;
+      String prefix = (flags & FLAG_ALTERNATE) != 0 ? (uppercase ? "0X" : "0x") : "";
+      if (uppercase) {
+        hex = hex.toUpperCase(Locale.US);
+      }
+      if ((flags & FLAG_ZERO_PAD) != 0) {
+        sb.append(prefix);
+        for (int i = prefix.length() + hex.length(); i < width; i++) {
+          sb.append('0');
+        }
+        sb.append(hex);
+      } else {
+        justify(sb, prefix.isEmpty() ? hex : prefix + hex);
+      }
+      return true;
+    }
+
+    private boolean renderFloat(StringBuilder sb, Object arg) {
+      double value;
+      if (arg instanceof Double || arg instanceof Float) {
+        value = ((Number) arg).doubleValue();
+      } else {
+        return false;
+      }
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        return false;
+      }
+      // The same as the Formatter of JDK, round the shortest decimal representation half-up.
+      boolean negative = Double.compare(value, 0.0) < 0;
+      String magnitude = new BigDecimal(Double.toString(Math.abs(value)))
+          .setScale(precision == -1 ? 6 : precision, RoundingMode.HALF_UP)
+          .toPlainString();
+      appendNumber(sb, negative, magnitude);
+      return true;
+    }
+
+    /**
+     * Append a decimal number with localized digits and decimal separator, padded to the width.
+     */
+    private void appendNumber(StringBuilder sb, boolean negative, String magnitude) {
+      LocaleSymbols symbols = localeSymbols();
+      int length = magnitude.length() + (negative ? 1 : 0);
+      boolean zeroPad = (flags & FLAG_ZERO_PAD) != 0;
+      boolean leftJustify = (flags & FLAG_LEFT_JUSTIFY) != 0;
+      if (!zeroPad && !leftJustify) {
+        appendSpaces(sb, width - length);
+      }
+      if (negative) {
+        sb.append('-');
+      }
+      if (zeroPad) {
+        for (int i = length; i < width; i++) {
+          sb.append(symbols.zeroDigit);
+        }
+      }
+      int offset = symbols.zeroDigit - '0';
+      for (int i = 0, n = magnitude.length(); i < n; i++) {
+        char c = magnitude.charAt(i);
+        if (c == '.') {
+          sb.append(symbols.decimalSeparator);
+        } else {
+          sb.append((char) (c + offset));
+        }
+      }
+      if (leftJustify) {
+        appendSpaces(sb, width - length);
+      }
+    }
+
+    private void justify(StringBuilder sb, String s) {
+      boolean leftJustify = (flags & FLAG_LEFT_JUSTIFY) != 0;
+      if (!leftJustify) {
+        appendSpaces(sb, width - s.length());
+      }
+      sb.append(s);
+      if (leftJustify) {
+        appendSpaces(sb, width - s.length());
+      }
+    }
+
+    private static void appendSpaces(StringBuilder sb, int count) {
+      for (int i = 0; i < count; i++) {
+        sb.append(' ');
+      }
+    }
+  }
+
+  /**
+   * Digits and decimal separator of a locale, used when formatting numbers.
+   */
+  private static class LocaleSymbols {
+
+    final Locale locale;
+
+    final char zeroDigit;
+
+    final char decimalSeparator;
+
+    LocaleSymbols(Locale locale) {
+      this.locale = locale;
+      DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+      zeroDigit = symbols.getZeroDigit();
+      decimalSeparator = symbols.getDecimalSeparator();
+    }
+  }
+
+  /**
+   * The reusable builder of a thread.
+   */
+  private static class Buffer {
+
+    StringBuilder sb = new StringBuilder(256);
+
+    boolean inUse;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spread over several cells, threads update different cells so that concurrent
+ * counting does not contend on a single atomic variable.
+ * <p>
+ * Reading the value sums up all cells, so it is cheap to update and relatively expensive to read.
+ */
+public class StripedCounter {
+
+  /**
+   * Number of cells, must be a power of 2.
+   */
+  private static final int STRIPES = 16;
+
+  /**
+   * Distance between two used cells, keep each cell in its own cache line (8 * 8 bytes).
+   */
+  private static final int PADDING = 8;
+
+  private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+  /**
+   * Increase the counter by 1.
+   */
+  public void increment() {
+    cells.incrementAndGet(index());
+  }
+
+  /**
+   * Increase the counter by 1, and get the new value of the cell used by current thread.
+   * <p>
+   * The returned value is not the total count, but it grows one by one for a single thread, it is
+   * useful for deciding something like 'one in every N' without contention.
+   *
+   * @return the new value of the cell used by current thread
+   */
+  public long incrementAndGetCell() {
+    return cells.incrementAndGet(index());
+  }
+
+  /**
+   * Increase the counter by a specific delta.
+   *
+   * @param delta the delta to add
+   */
+  public void add(long delta) {
+    cells.addAndGet(index(), delta);
+  }
+
+  /**
+   * Get the current total count.
+   *
+   * @return the current total count
+   */
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  /**
+   * Reset the counter to 0.
+   */
+  public void reset() {
+    for (int i = 0; i < STRIPES; i++) {
+      cells.set(i * PADDING, 0);
+    }
+  }
+
+  private static int index() {
+    long id = Thread.currentThread().getId();
+    return ((int) (id ^ (id >>> 32)) & (STRIPES - 1)) * PADDING;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.metrics;
+
+import com.elvishew.xlog.internal.util.LogLinearHistogram;
+
+/**
+ * An immutable snapshot of the sampled latency of a {@link LatencyStage}, see
+ * {@link LogMetrics#latencySnapshot(int)}.
+ * <p>
+ * Latencies are bucketed, a reported percentile is within 6.25% above the real one.
+ *
+ * @since 1.12.0
+ */
+public class LatencySnapshot {
+
+  private final int stage;
+
+  private final LogLinearHistogram histogram;
+
+  /*package*/ LatencySnapshot(int stage, LogLinearHistogram histogram) {
+    this.stage = stage;
+    this.histogram = histogram.copy();
+  }
+
+  /**
+   * Get the stage of this snapshot.
+   *
+   * @return the stage, see {@link LatencyStage}
+   */
+  public int getStage() {
+    return stage;
+  }
+
+  /**
+   * Get the number of sampled logging calls that entered the stage.
+   *
+   * @return the number of samples
+   */
+  public long getCount() {
+    return histogram.getCount();
+  }
+
+  /**
+   * Get the latency at a percentile.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the latency in nanoseconds, 0 if no sample
+   */
+  public long getPercentileNanos(double percentile) {
+    return histogram.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * Get the median latency.
+   *
+   * @return the latency in nanoseconds
+   */
+  public long getP50Nanos() {
+    return histogram.getValueAtPercentile(50);
+  }
+
+  /**
+   * Get the 99th percentile latency.
+   *
+   * @return the latency in nanoseconds
+   */
+  public long getP99Nanos() {
+    return histogram.getValueAtPercentile(99);
+  }
+
+  /**
+   * Get the 99.9th percentile latency.
+   *
+   * @return the latency in nanoseconds
+   */
+  public long getP999Nanos() {
+    return histogram.getValueAtPercentile(99.9);
+  }
+
+  /**
+   * Get the max latency.
+   *
+   * @return the latency in nanoseconds
+   */
+  public long getMaxNanos() {
+    return histogram.getMax();
+  }
+
+  @Override
+  public String toString() {
+    return LatencyStage.getName(stage)
+        + "(n=" + getCount()
+        + " p50=" + getP50Nanos()
+        + " p99=" + getP99Nanos()
+        + " p999=" + getP999Nanos()
+        + " max=" + getMaxNanos() + "ns)";
+  }
+}
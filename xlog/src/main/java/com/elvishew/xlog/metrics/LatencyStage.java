@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.metrics;
+
+/**
+ * The stages of a logging call on the calling thread, whose latency can be sampled, see
+ * {@link LogMetrics#enableLatencySampling(int)}.
+ *
+ * @since 1.12.0
+ */
+public class LatencyStage {
+
+  /**
+   * Checking whether the level of log is loggable.
+   */
+  public static final int LEVEL_CHECK = 0;
+
+  /**
+   * Formatting the message, thread info, stack trace and border of log.
+   */
+  public static final int FORMAT = 1;
+
+  /**
+   * Running the interceptors.
+   */
+  public static final int INTERCEPT = 2;
+
+  /**
+   * Handing the log off to the printer, e.g. putting it into the queue of a file printer.
+   */
+  public static final int HAND_OFF = 3;
+
+  /**
+   * The whole logging call.
+   */
+  public static final int TOTAL = 4;
+
+  /**
+   * The number of stages.
+   */
+  public static final int COUNT = 5;
+
+  private LatencyStage() {
+  }
+
+  /**
+   * Get the name of a stage.
+   *
+   * @param stage the stage
+   * @return the name of the stage
+   */
+  public static String getName(int stage) {
+    switch (stage) {
+      case LEVEL_CHECK:
+        return "levelCheck";
+      case FORMAT:
+        return "format";
+      case INTERCEPT:
+        return "intercept";
+      case HAND_OFF:
+        return "handOff";
+      case TOTAL:
+        return "total";
+      default:
+        throw new IllegalArgumentException("Unknown stage: " + stage);
+    }
+  }
+}
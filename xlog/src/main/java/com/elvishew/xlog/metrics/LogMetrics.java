@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.metrics;
+
+import com.elvishew.xlog.Logger;
+import com.elvishew.xlog.internal.LatencySampler;
+import com.elvishew.xlog.internal.Metrics;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * The built-in metrics of logging, disabled by default.
+ * <p>
+ * Once enabled, the logging pipeline counts the logs printed (per level and tag), rejected (per
+ * interceptor) and dropped, the bytes written to log files, the depth of the file printer queues,
+ * the rotations and cleanups of log files, and the time of flushing. Read them with
+ * {@link #snapshot()}, or let them be logged periodically with
+ * {@link #startSelfLogging(Logger, long)}.
+ * <p>
+ * Counters are striped across threads, so the overhead of an enabled metrics is a few
+ * uncontended atomic additions per log.
+ * <p>
+ * Separately, the latency of logging calls on the calling thread can be sampled, see
+ * {@link #enableLatencySampling(int)}.
+ *
+ * @since 1.12.0
+ */
+public class LogMetrics {
+
+  private static final Object LOCK = new Object();
+
+  private static Timer sSelfLoggingTimer;
+
+  private LogMetrics() {
+  }
+
+  /**
+   * Enable the metrics, do nothing if already enabled.
+   */
+  public static void enable() {
+    synchronized (LOCK) {
+      if (Metrics.current() == null) {
+        Metrics.setCurrent(new Metrics());
+      }
+    }
+  }
+
+  /**
+   * Disable the metrics, and drop all counters. Self-logging and latency sampling are stopped as
+   * well.
+   */
+  public static void disable() {
+    synchronized (LOCK) {
+      stopSelfLogging();
+      Metrics.setCurrent(null);
+      LatencySampler.setCurrent(null);
+    }
+  }
+
+  /**
+   * Whether the metrics is enabled.
+   *
+   * @return true if enabled
+   */
+  public static boolean isEnabled() {
+    return Metrics.current() != null;
+  }
+
+  /**
+   * Reset all counters and latency samples to zero, do nothing if not enabled.
+   */
+  public static void reset() {
+    synchronized (LOCK) {
+      if (Metrics.current() != null) {
+        Metrics.setCurrent(new Metrics());
+      }
+      LatencySampler sampler = LatencySampler.current();
+      if (sampler != null) {
+        LatencySampler.setCurrent(new LatencySampler(sampler.getSampleRate()));
+      }
+    }
+  }
+
+  /**
+   * Take a snapshot of the metrics.
+   *
+   * @return the snapshot, or null if the metrics is not enabled
+   */
+  public static MetricsSnapshot snapshot() {
+    Metrics metrics = Metrics.current();
+    return metrics == null ? null : new MetricsSnapshot(metrics);
+  }
+
+  /**
+   * Enable latency sampling, one in every {@code sampleRate} logging calls is sampled, and the
+   * time it spends in each {@link LatencyStage} on the calling thread is recorded. Previous
+   * samples are dropped.
+   * <p>
+   * A sampled call reads the clock once per stage, other calls only pay for a striped counter.
+   * This is independent of {@link #enable()}.
+   *
+   * @param sampleRate sample one in every {@code sampleRate} logging calls, 1 to sample all
+   */
+  public static void enableLatencySampling(int sampleRate) {
+    if (sampleRate <= 0) {
+      throw new IllegalArgumentException("Sample rate should be greater than 0: " + sampleRate);
+    }
+    synchronized (LOCK) {
+      LatencySampler.setCurrent(new LatencySampler(sampleRate));
+    }
+  }
+
+  /**
+   * Disable latency sampling, and drop all samples.
+   */
+  public static void disableLatencySampling() {
+    synchronized (LOCK) {
+      LatencySampler.setCurrent(null);
+    }
+  }
+
+  /**
+   * Take a snapshot of the sampled latency of a stage.
+   *
+   * @param stage the stage, see {@link LatencyStage}
+   * @return the snapshot, or null if latency sampling is not enabled
+   */
+  public static LatencySnapshot latencySnapshot(int stage) {
+    if (stage < 0 || stage >= LatencyStage.COUNT) {
+      throw new IllegalArgumentException("Unknown stage: " + stage);
+    }
+    LatencySampler sampler = LatencySampler.current();
+    return sampler == null ? null : new LatencySnapshot(stage, sampler.getHistogram(stage));
+  }
+
+  /**
+   * Log the snapshot of metrics periodically at {@link com.elvishew.xlog.LogLevel#INFO}, in a
+   * background thread. The metrics is enabled if not yet, and the previous self-logging, if any,
+   * is stopped.
+   * <p>
+   * The sampled latency of each stage is logged as well if latency sampling is enabled. Note that
+   * the logs of metrics are counted in the metrics as well.
+   *
+   * @param logger       the logger to log the metrics with
+   * @param periodMillis the period of logging, in milliseconds
+   */
+  public static void startSelfLogging(final Logger logger, long periodMillis) {
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger should not be null");
+    }
+    if (periodMillis <= 0) {
+      throw new IllegalArgumentException("Period should be greater than 0: " + periodMillis);
+    }
+    synchronized (LOCK) {
+      enable();
+      stopSelfLogging();
+      sSelfLoggingTimer = new Timer("xlog-metrics", true);
+      sSelfLoggingTimer.schedule(new TimerTask() {
+        @Override
+        public void run() {
+          MetricsSnapshot snapshot = snapshot();
+          if (snapshot == null) {
+            return;
+          }
+          StringBuilder sb = new StringBuilder("XLog metrics: ").append(snapshot);
+          if (LatencySampler.current() != null) {
+            sb.append(", latency:");
+            for (int stage = 0; stage < LatencyStage.COUNT; stage++) {
+              LatencySnapshot latency = latencySnapshot(stage);
+              if (latency != null) {
+                sb.append(' ').append(latency);
+              }
+            }
+          }
+          logger.i(sb.toString());
+        }
+      }, periodMillis, periodMillis);
+    }
+  }
+
+  /**
+   * Stop logging the metrics periodically, the metrics is kept enabled.
+   */
+  public static void stopSelfLogging() {
+    synchronized (LOCK) {
+      if (sSelfLoggingTimer != null) {
+        sSelfLoggingTimer.cancel();
+        sSelfLoggingTimer = null;
+      }
+    }
+  }
+}
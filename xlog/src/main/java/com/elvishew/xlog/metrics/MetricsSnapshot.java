@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.metrics;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.Metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the metrics of logging, see {@link LogMetrics#snapshot()}.
+ * <p>
+ * Counters are read one by one while logging goes on, so they may be slightly inconsistent with
+ * each other, e.g. the bytes written may include a log not counted as printed yet.
+ *
+ * @since 1.12.0
+ */
+public class MetricsSnapshot {
+
+  private static final int[] LEVELS = {
+      LogLevel.VERBOSE, LogLevel.DEBUG, LogLevel.INFO, LogLevel.WARN, LogLevel.ERROR
+  };
+
+  private final long timeMillis;
+
+  private final long[] levelCounts = new long[LEVELS.length];
+
+  private final long printedCount;
+
+  private final Map<String, Long> tagCounts;
+
+  private final long otherTagsCount;
+
+  private final Map<String, Long> rejectedCounts;
+
+  private final long bytesWritten;
+
+  private final long queueDepth;
+
+  private final long peakQueueDepth;
+
+  private final long droppedCount;
+
+  private final long rotationCount;
+
+  private final long cleanupCount;
+
+  private final long flushCount;
+
+  private final long totalFlushNanos;
+
+  private final long maxFlushNanos;
+
+  /*package*/ MetricsSnapshot(Metrics metrics) {
+    timeMillis = System.currentTimeMillis();
+    long printed = 0;
+    for (int i = 0; i < LEVELS.length; i++) {
+      levelCounts[i] = metrics.getLevelCount(LEVELS[i]);
+    }
+    for (int level = 0; level < 8; level++) {
+      printed += metrics.getLevelCount(level);
+    }
+    printedCount = printed;
+    tagCounts = Collections.unmodifiableMap(metrics.getTagCounts());
+    otherTagsCount = metrics.getOtherTagsCount();
+    rejectedCounts = Collections.unmodifiableMap(metrics.getRejectedCounts());
+    bytesWritten = metrics.getBytesWritten();
+    queueDepth = metrics.getQueueDepth();
+    peakQueueDepth = metrics.getPeakQueueDepth();
+    droppedCount = metrics.getDroppedCount();
+    rotationCount = metrics.getRotationCount();
+    cleanupCount = metrics.getCleanupCount();
+    flushCount = metrics.getFlushCount();
+    totalFlushNanos = metrics.getFlushNanos();
+    maxFlushNanos = metrics.getMaxFlushNanos();
+  }
+
+  /**
+   * Get the time when this snapshot was taken.
+   *
+   * @return the time in milliseconds
+   */
+  public long getTimeMillis() {
+    return timeMillis;
+  }
+
+  /**
+   * Get the number of logs of a level handed off to the printer.
+   *
+   * @param logLevel one of {@link LogLevel#VERBOSE}, {@link LogLevel#DEBUG},
+   *                 {@link LogLevel#INFO}, {@link LogLevel#WARN} and {@link LogLevel#ERROR}
+   * @return the number of logs
+   */
+  public long getLevelCount(int logLevel) {
+    for (int i = 0; i < LEVELS.length; i++) {
+      if (LEVELS[i] == logLevel) {
+        return levelCounts[i];
+      }
+    }
+    throw new IllegalArgumentException("Unsupported log level: " + logLevel);
+  }
+
+  /**
+   * Get the number of logs of all levels handed off to the printer.
+   *
+   * @return the number of logs
+   */
+  public long getPrintedCount() {
+    return printedCount;
+  }
+
+  /**
+   * Get the number of logs of each tag handed off to the printer. Only the first 32 tags are
+   * counted separately, see {@link #getOtherTagsCount()}.
+   *
+   * @return the number of logs of each tag
+   */
+  public Map<String, Long> getTagCounts() {
+    return tagCounts;
+  }
+
+  /**
+   * Get the number of logs of the tags not counted separately.
+   *
+   * @return the number of logs
+   */
+  public long getOtherTagsCount() {
+    return otherTagsCount;
+  }
+
+  /**
+   * Get the number of logs rejected by each interceptor, keyed by the class name of interceptor.
+   *
+   * @return the number of logs rejected by each interceptor
+   */
+  public Map<String, Long> getRejectedCounts() {
+    return rejectedCounts;
+  }
+
+  /**
+   * Get the number of bytes written to log files.
+   *
+   * @return the number of bytes written
+   */
+  public long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Get the number of logs waiting in the queues of file printers when this snapshot was taken.
+   *
+   * @return the number of logs waiting
+   */
+  public long getQueueDepth() {
+    return queueDepth;
+  }
+
+  /**
+   * Get the max number of logs once waiting in the queue of a file printer.
+   *
+   * @return the max number of logs waiting
+   */
+  public long getPeakQueueDepth() {
+    return peakQueueDepth;
+  }
+
+  /**
+   * Get the number of logs dropped by printers, e.g. because the queue was full or the log file
+   * could not be opened.
+   *
+   * @return the number of dropped logs
+   */
+  public long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Get the number of log files backed up.
+   *
+   * @return the number of backups
+   */
+  public long getRotationCount() {
+    return rotationCount;
+  }
+
+  /**
+   * Get the number of log files deleted by the clean strategy.
+   *
+   * @return the number of deleted files
+   */
+  public long getCleanupCount() {
+    return cleanupCount;
+  }
+
+  /**
+   * Get the number of flushes of log files.
+   *
+   * @return the number of flushes
+   */
+  public long getFlushCount() {
+    return flushCount;
+  }
+
+  /**
+   * Get the average time of flushing log files.
+   *
+   * @return the average time in nanoseconds, 0 if never flushed
+   */
+  public long getAverageFlushNanos() {
+    return flushCount == 0 ? 0 : totalFlushNanos / flushCount;
+  }
+
+  /**
+   * Get the max time of flushing log files.
+   *
+   * @return the max time in nanoseconds
+   */
+  public long getMaxFlushNanos() {
+    return maxFlushNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("printed=").append(printedCount).append(" (");
+    for (int i = 0; i < LEVELS.length; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(LogLevel.getShortLevelName(LEVELS[i])).append('=').append(levelCounts[i]);
+    }
+    sb.append(')');
+    if (!rejectedCounts.isEmpty()) {
+      sb.append(", rejected=").append(rejectedCounts);
+    }
+    return sb.append(", bytes=").append(bytesWritten)
+        .append(", queue=").append(queueDepth)
+        .append(", peakQueue=").append(peakQueueDepth)
+        .append(", dropped=").append(droppedCount)
+        .append(", rotations=").append(rotationCount)
+        .append(", cleanups=").append(cleanupCount)
+        .append(", flushes=").append(flushCount)
+        .append(", avgFlushUs=").append(getAverageFlushNanos() / 1000)
+        .append(", maxFlushUs=").append(maxFlushNanos / 1000)
+        .toString();
+  }
+}
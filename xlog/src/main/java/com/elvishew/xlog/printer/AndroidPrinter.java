@@ -22,7 +22,7 @@ package com.elvishew.xlog.printer;
 public class AndroidPrinter implements Printer {
 
   /**
-   * Generally, android has a default length limit of 4096 for single log, but
+   * Generally, android has a default length limit of 4096 bytes for single log, but
    * some device(like HUAWEI) has its own shorter limit, so we just use 4000
    * and wish it could run well in all devices.
    */
@@ -39,8 +39,8 @@ public class AndroidPrinter implements Printer {
    * Constructor.
    * <p>
    * If single message is too long, it will be separated to several chunks automatically, the max
-   * size of each chunk default to be {@value #DEFAULT_MAX_CHUNK_SIZE}, you can specify the
-   * maxChunkSize using {@link #AndroidPrinter(int)}.
+   * size of each chunk default to be {@value #DEFAULT_MAX_CHUNK_SIZE} bytes in modified UTF-8, you
+   * can specify the maxChunkSize using {@link #AndroidPrinter(int)}.
    */
   public AndroidPrinter() {
     this(false, DEFAULT_MAX_CHUNK_SIZE);
@@ -62,8 +62,8 @@ public class AndroidPrinter implements Printer {
   /**
    * Constructor.
    *
-   * @param maxChunkSize the max size of each chunk. If the message is too long, it will be
-   *                     separated to several chunks automatically
+   * @param maxChunkSize the max size of each chunk, in bytes of modified UTF-8 encoding. If the
+   *                     message is too long, it will be separated to several chunks automatically
    * @since 1.4.1
    */
   public AndroidPrinter(int maxChunkSize) {
@@ -77,8 +77,8 @@ public class AndroidPrinter implements Printer {
    *                     Imaging there is a message "line1\nline2\nline3", and each line has chars
    *                     less than max-chunk-size, then the message would be separated to 3 lines
    *                     automatically
-   * @param maxChunkSize the max size of each chunk. If the message is too long, it will be
-   *                     separated to several chunks automatically
+   * @param maxChunkSize the max size of each chunk, in bytes of modified UTF-8 encoding. If the
+   *                     message is too long, it will be separated to several chunks automatically
    * @since 1.7.1
    */
   public AndroidPrinter(boolean autoSeparate, int maxChunkSize) {
@@ -96,13 +96,7 @@ public class AndroidPrinter implements Printer {
         start++;
         continue;
       }
-      end = Math.min(start + maxChunkSize, msgLength);
-      if (autoSeparate) {
-        int newLine = msg.indexOf('\n', start);
-        end = newLine != -1 ? Math.min(end,newLine) : end;
-      } else {
-        end = adjustEnd(msg, start, end);
-      }
+      end = chunkEnd(msg, start, maxChunkSize, autoSeparate);
       printChunk(logLevel, tag, msg.substring(start, end));
 
       start = end;
@@ -110,26 +104,72 @@ public class AndroidPrinter implements Printer {
   }
 
   /**
-   * Move the end to the nearest line separator('\n') (if exist).
+   * Find the end of the chunk beginning at a specific index, so that the chunk takes no more
+   * than the max bytes when encoded in modified UTF-8, which is how the message is passed to
+   * logcat, that is, a surrogate pair takes 6 bytes and '\0' takes 2 bytes.
+   * <p>
+   * The chunk ends at a line separator('\n') if there is one, or just before the character that
+   * would exceed the max bytes, but never within a surrogate pair. A chunk contains at least
+   * one character, even if that is longer than the max bytes.
+   *
+   * @param msg          the message
+   * @param start        the start index of the chunk, should not be a line separator
+   * @param maxBytes     the max bytes of a chunk
+   * @param autoSeparate whether to end the chunk at the first line separator
+   * @return the end index of the chunk, exclusive
    */
-  static int adjustEnd(String msg, int start, int originEnd) {
-    if (originEnd == msg.length()) {
-      // Already end of message.
-      return originEnd;
-    }
-    if (msg.charAt(originEnd) == '\n') {
-      // Already prior to '\n'.
-      return originEnd;
+  static int chunkEnd(String msg, int start, int maxBytes, boolean autoSeparate) {
+    int msgLength = msg.length();
+    if ((msgLength - start) * 3 <= maxBytes) {
+      // The rest fits anyway, a character takes 3 bytes at most, or 6 bytes for a pair.
+      if (autoSeparate) {
+        int newLine = msg.indexOf('\n', start);
+        return newLine != -1 ? newLine : msgLength;
+      }
+      return msgLength;
     }
-    // Search back for '\n'.
-    int last = originEnd - 1;
-    while (start < last) {
-      if (msg.charAt(last) == '\n') {
-        return last;
+
+    int lastNewLine = -1;
+    int bytes = 0;
+    int end = start;
+    while (end < msgLength) {
+      char c = msg.charAt(end);
+      int charCount = 1;
+      int charBytes;
+      if (c == 0) {
+        charBytes = 2;
+      } else if (c < 0x80) {
+        if (c == '\n') {
+          if (autoSeparate) {
+            return end;
+          }
+          if (end > start && msg.charAt(end - 1) != '\n') {
+            // The first one of successive line separators.
+            lastNewLine = end;
+          }
+        }
+        charBytes = 1;
+      } else if (c < 0x800) {
+        charBytes = 2;
+      } else if (Character.isHighSurrogate(c) && end + 1 < msgLength
+          && Character.isLowSurrogate(msg.charAt(end + 1))) {
+        // Each of the pair is encoded on its own, in 3 bytes.
+        charCount = 2;
+        charBytes = 6;
+      } else {
+        charBytes = 3;
+      }
+      if (bytes + charBytes > maxBytes && end > start) {
+        // Prefer to end at the last line separator, the one at the end is skipped later.
+        if (c != '\n' && lastNewLine > start) {
+          return lastNewLine;
+        }
+        return end;
       }
-      last--;
+      bytes += charBytes;
+      end += charCount;
     }
-    return originEnd;
+    return msgLength;
   }
 
   /**
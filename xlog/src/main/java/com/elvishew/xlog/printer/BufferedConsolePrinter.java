@@ -0,0 +1,462 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer;
+
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.internal.DefaultsFactory;
+import com.elvishew.xlog.internal.Platform;
+import com.elvishew.xlog.internal.SystemCompat;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Log {@link Printer} writing to the standard output in batches, for server or other plain JVM
+ * deployments where many threads log at the same time.
+ * <p>
+ * Unlike {@link ConsolePrinter}, which calls {@code System.out.println(String)} and flushes on
+ * every log, this printer encodes logs into a byte buffer in UTF-8, and a background thread
+ * writes the buffered logs to the channel of the standard output in one go, at most
+ * {@link Builder#flushLatencyMillis(long)} after a log is printed. When the buffer is full, the
+ * logging threads wait until the background thread takes it away.
+ * <p>
+ * Logs still buffered are written when the JVM shuts down normally, or when {@link #flush()} is
+ * called. Use {@link Builder#synchronous()} to write every log before
+ * {@link #println(int, String, String)} returns, e.g. in tests.
+ * <p>
+ * Note that logs printed via {@code System.out} by other code are not ordered with the logs of
+ * this printer.
+ * <p>
+ * Use the {@link Builder} to construct a {@link BufferedConsolePrinter} object.
+ *
+ * @since 1.12.0
+ */
+public class BufferedConsolePrinter implements Printer {
+
+  /**
+   * The default size of buffer, in bytes.
+   */
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The min size of buffer, in bytes.
+   */
+  private static final int MIN_BUFFER_SIZE = 64;
+
+  /**
+   * The default max time a log stays in the buffer, in milliseconds.
+   */
+  private static final long DEFAULT_FLUSH_LATENCY_MILLIS = 20;
+
+  private final Flattener2 flattener;
+
+  private final WritableByteChannel channel;
+
+  private final boolean synchronous;
+
+  private final long flushLatencyMillis;
+
+  private final byte[] lineSeparator =
+      SystemCompat.lineSeparator.getBytes(Charset.forName("UTF-8"));
+
+  /**
+   * The position of buffer, after which the flusher is woken up without waiting for the latency.
+   */
+  private final int highWaterMark;
+
+  /**
+   * Held by a logging thread during the whole append of a log, so that a log is never mixed with
+   * others, even when the logging thread waits for the buffer to be taken away in the middle.
+   */
+  private final Object appendLock = new Object();
+
+  /**
+   * Guards all fields below, logging threads wait on it for the buffer to be taken away, and the
+   * flusher waits on it for logs.
+   */
+  private final Object lock = new Object();
+
+  private final CharsetEncoder encoder = Charset.forName("UTF-8").newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  /**
+   * The buffer logs are encoded into.
+   */
+  private ByteBuffer buffer;
+
+  /**
+   * Whether the buffer should be written as soon as possible.
+   */
+  private boolean urgent;
+
+  /**
+   * How many buffers have been taken away by the flusher.
+   */
+  private long takenBuffers;
+
+  /**
+   * How many buffers have been written by the flusher.
+   */
+  private long writtenBuffers;
+
+  private Thread flusher;
+
+  /*package*/ BufferedConsolePrinter(Builder builder) {
+    flattener = builder.flattener;
+    channel = builder.channel;
+    synchronous = builder.synchronous;
+    flushLatencyMillis = builder.flushLatencyMillis;
+    buffer = ByteBuffer.allocate(builder.bufferSize);
+    highWaterMark = builder.bufferSize / 2;
+  }
+
+  @Override
+  public void println(int logLevel, String tag, String msg) {
+    CharSequence flattenedLog = flattener.flatten(System.currentTimeMillis(), logLevel, tag, msg);
+    synchronized (appendLock) {
+      synchronized (lock) {
+        if (!synchronous && flusher == null) {
+          startFlusherLocked();
+        }
+        boolean wasEmpty = buffer.position() == 0;
+        appendLocked(flattenedLog);
+        if (synchronous) {
+          drainLocked();
+        } else if (wasEmpty || (!urgent && buffer.position() >= highWaterMark)) {
+          if (buffer.position() >= highWaterMark) {
+            urgent = true;
+          }
+          lock.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Write all logs printed so far, and wait until they are written.
+   */
+  public void flush() {
+    synchronized (lock) {
+      if (synchronous || flusher == null) {
+        return;
+      }
+      long target = buffer.position() > 0 ? takenBuffers + 1 : takenBuffers;
+      if (writtenBuffers >= target) {
+        return;
+      }
+      urgent = true;
+      lock.notifyAll();
+      boolean interrupted = false;
+      while (writtenBuffers < target) {
+        try {
+          lock.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Encode a log and a line separator into the buffer, draining the buffer whenever it is full.
+   */
+  private void appendLocked(CharSequence log) {
+    CharBuffer in = CharBuffer.wrap(log);
+    encoder.reset();
+    while (encoder.encode(in, buffer, true).isOverflow()) {
+      drainLocked();
+    }
+    while (encoder.flush(buffer).isOverflow()) {
+      drainLocked();
+    }
+    if (buffer.remaining() < lineSeparator.length) {
+      drainLocked();
+    }
+    buffer.put(lineSeparator);
+  }
+
+  /**
+   * Make the buffer empty, by writing it directly in synchronous mode, or by waiting for the
+   * flusher to take it away.
+   */
+  private void drainLocked() {
+    if (synchronous) {
+      writeFully(buffer);
+      return;
+    }
+    long taken = takenBuffers;
+    urgent = true;
+    lock.notifyAll();
+    boolean interrupted = false;
+    while (takenBuffers == taken) {
+      try {
+        lock.wait();
+      } catch (InterruptedException e) {
+        // Go on waiting, or part of the log would be lost.
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Write and clear a buffer.
+   * <p>
+   * The interrupt status of current thread is cleared while writing, otherwise an interruptible
+   * channel would be closed by the write, and so would the standard output behind it.
+   */
+  private void writeFully(ByteBuffer buffer) {
+    buffer.flip();
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      Platform.get().error("Failed to write logs to console, " + buffer.remaining()
+          + " bytes lost: " + e);
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    buffer.clear();
+  }
+
+  private void startFlusherLocked() {
+    flusher = new Thread(new Flusher(), "xlog-console-flusher");
+    flusher.setDaemon(true);
+    flusher.start();
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override
+      public void run() {
+        flush();
+      }
+    });
+  }
+
+  /**
+   * Take the buffer away when there are logs in it, and write it to the channel.
+   */
+  private class Flusher implements Runnable {
+
+    /**
+     * The buffer being written, swapped with the one being filled each time.
+     */
+    private ByteBuffer spare = ByteBuffer.allocate(buffer.capacity());
+
+    @Override
+    public void run() {
+      while (true) {
+        ByteBuffer logs;
+        synchronized (lock) {
+          try {
+            while (buffer.position() == 0) {
+              lock.wait();
+            }
+            long deadline = System.currentTimeMillis() + flushLatencyMillis;
+            long remaining;
+            while (!urgent && (remaining = deadline - System.currentTimeMillis()) > 0) {
+              lock.wait(remaining);
+            }
+          } catch (InterruptedException e) {
+            // Write the logs and go on.
+          }
+          logs = buffer;
+          buffer = spare;
+          urgent = false;
+          takenBuffers++;
+          lock.notifyAll();
+        }
+
+        writeFully(logs);
+        spare = logs;
+
+        synchronized (lock) {
+          writtenBuffers++;
+          lock.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link BufferedConsolePrinter}.
+   */
+  public static class Builder {
+
+    /**
+     * The flattener when print a log.
+     */
+    Flattener2 flattener;
+
+    /**
+     * The channel to write logs to.
+     */
+    WritableByteChannel channel;
+
+    /**
+     * The size of buffer, in bytes.
+     */
+    int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * The max time a log stays in the buffer, in milliseconds.
+     */
+    long flushLatencyMillis = DEFAULT_FLUSH_LATENCY_MILLIS;
+
+    /**
+     * Whether to write every log before returning.
+     */
+    boolean synchronous;
+
+    /**
+     * Set the flattener when print a log.
+     *
+     * @param flattener the flattener when print a log
+     * @return the builder
+     */
+    public Builder flattener(Flattener2 flattener) {
+      this.flattener = flattener;
+      return this;
+    }
+
+    /**
+     * Set the channel to write logs to, default to the channel of the standard output.
+     *
+     * @param channel the channel to write logs to
+     * @return the builder
+     */
+    public Builder channel(WritableByteChannel channel) {
+      this.channel = channel;
+      return this;
+    }
+
+    /**
+     * Set the size of buffer, default to {@value #DEFAULT_BUFFER_SIZE} bytes.
+     * <p>
+     * Two buffers of this size are used, one being filled while the other being written.
+     *
+     * @param bufferSize the size of buffer, in bytes, at least {@value #MIN_BUFFER_SIZE}
+     * @return the builder
+     */
+    public Builder bufferSize(int bufferSize) {
+      if (bufferSize < MIN_BUFFER_SIZE) {
+        throw new IllegalArgumentException("Buffer size should be at least " + MIN_BUFFER_SIZE
+            + ": " + bufferSize);
+      }
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Set the max time a log stays in the buffer before being written, default to
+     * {@value #DEFAULT_FLUSH_LATENCY_MILLIS} milliseconds.
+     * <p>
+     * A longer latency makes bigger batches, a full buffer is written without waiting anyway.
+     *
+     * @param flushLatencyMillis the flush latency in milliseconds, 0 to write as soon as possible
+     * @return the builder
+     */
+    public Builder flushLatencyMillis(long flushLatencyMillis) {
+      if (flushLatencyMillis < 0) {
+        throw new IllegalArgumentException("Flush latency should not be negative: "
+            + flushLatencyMillis);
+      }
+      this.flushLatencyMillis = flushLatencyMillis;
+      return this;
+    }
+
+    /**
+     * Write every log in the logging thread before returning, no background thread is used.
+     *
+     * @return the builder
+     */
+    public Builder synchronous() {
+      this.synchronous = true;
+      return this;
+    }
+
+    /**
+     * Build configured {@link BufferedConsolePrinter} object.
+     *
+     * @return the built configured {@link BufferedConsolePrinter} object
+     */
+    public BufferedConsolePrinter build() {
+      if (flattener == null) {
+        flattener = DefaultsFactory.createFlattener2();
+      }
+      if (channel == null) {
+        channel = new OutputStreamChannel(new FileOutputStream(FileDescriptor.out));
+      }
+      return new BufferedConsolePrinter(this);
+    }
+  }
+
+  /**
+   * A channel writing to an output stream directly.
+   * <p>
+   * Unlike {@link java.nio.channels.FileChannel} and the channels of
+   * {@link java.nio.channels.Channels}, it is not interruptible, so an interrupted logging thread
+   * never closes the standard output of the whole process.
+   */
+  private static class OutputStreamChannel implements WritableByteChannel {
+
+    private final OutputStream outputStream;
+
+    private boolean open = true;
+
+    OutputStreamChannel(OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      // Buffers of the printer are always backed by arrays.
+      int length = src.remaining();
+      outputStream.write(src.array(), src.arrayOffset() + src.position(), length);
+      src.position(src.limit());
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+      open = false;
+      outputStream.close();
+    }
+  }
+}
@@ -16,13 +16,47 @@
 
 package com.elvishew.xlog.printer;
 
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.Metrics;
+import com.elvishew.xlog.internal.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Represents a group of Printers that should used to print logs in the same time, each printer
  * may probably print the log to different place.
+ * <p>
+ * A {@link PrinterSet} constructed with {@link #PrinterSet(Printer...)} calls the printers one by
+ * one in the logging thread. Use the {@link Builder} for more control:
+ * <br>- A minimum log level for each printer, see {@link Builder#addPrinter(Printer, int)}.
+ * <br>- Failures of a printer are contained, so that the other printers are not affected, and
+ * counted, see {@link #getFailureCount(Printer)}.
+ * <br>- In parallel mode, see {@link Builder#parallel()}, each printer has its own queue and
+ * thread, so that a slow printer does not delay the logging thread or the other printers.
  */
 public class PrinterSet implements Printer {
 
-  private Printer[] printers;
+  /**
+   * The default capacity of the queue of each printer, in parallel mode.
+   */
+  private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final Member[] members;
+
+  /**
+   * Whether to print logs in the thread of each printer.
+   */
+  private final boolean parallel;
+
+  /**
+   * Whether to catch and count the failures of printers.
+   */
+  private final boolean containFailures;
 
   /**
    * Constructor, pass printers in and will use all these printers to print the same logs.
@@ -30,13 +64,253 @@ public class PrinterSet implements Printer {
    * @param printers the printers used to print the same logs
    */
   public PrinterSet(Printer... printers) {
-    this.printers = printers;
+    members = new Member[printers.length];
+    for (int i = 0; i < printers.length; i++) {
+      members[i] = new Member(printers[i], LogLevel.ALL, null);
+    }
+    parallel = false;
+    containFailures = false;
+  }
+
+  /*package*/ PrinterSet(Builder builder) {
+    // New members for every set, so that sets built by the same builder share nothing.
+    int size = builder.printers.size();
+    members = new Member[size];
+    for (int i = 0; i < size; i++) {
+      members[i] = new Member(builder.printers.get(i), builder.minLevels.get(i),
+          builder.parallel ? new ArrayBlockingQueue<LogItem>(builder.queueCapacity) : null);
+    }
+    parallel = builder.parallel;
+    containFailures = true;
   }
 
   @Override
   public void println(int logLevel, String tag, String msg) {
-    for (Printer printer : printers) {
-      printer.println(logLevel, tag, msg);
+    for (Member member : members) {
+      if (logLevel < member.minLevel) {
+        continue;
+      }
+      if (parallel) {
+        member.enqueue(new LogItem(logLevel, tag, msg));
+      } else if (containFailures) {
+        member.printSafely(logLevel, tag, msg);
+      } else {
+        member.printer.println(logLevel, tag, msg);
+      }
+    }
+  }
+
+  /**
+   * Get the number of logs failed to be printed by a printer, that is, the printer threw an
+   * exception or error.
+   *
+   * @param printer the printer in this set
+   * @return the number of failed logs, always 0 if this set is not built with a {@link Builder}
+   * @since 1.12.0
+   */
+  public long getFailureCount(Printer printer) {
+    return findMember(printer).failures.get();
+  }
+
+  /**
+   * Get the number of logs dropped because the queue of a printer was full, in parallel mode.
+   *
+   * @param printer the printer in this set
+   * @return the number of dropped logs
+   * @since 1.12.0
+   */
+  public long getDroppedCount(Printer printer) {
+    return findMember(printer).drops.get();
+  }
+
+  private Member findMember(Printer printer) {
+    for (Member member : members) {
+      if (member.printer == printer) {
+        return member;
+      }
+    }
+    throw new IllegalArgumentException("Printer not in this set: " + printer);
+  }
+
+  /**
+   * A printer in the set, with its level filter, its counters, and its queue in parallel mode.
+   */
+  private static class Member implements Runnable {
+
+    final Printer printer;
+
+    final int minLevel;
+
+    final AtomicLong failures = new AtomicLong();
+
+    final AtomicLong drops = new AtomicLong();
+
+    /**
+     * The logs waiting to be printed, null if not in parallel mode.
+     */
+    final BlockingQueue<LogItem> queue;
+
+    private volatile boolean started;
+
+    Member(Printer printer, int minLevel, BlockingQueue<LogItem> queue) {
+      this.printer = printer;
+      this.minLevel = minLevel;
+      this.queue = queue;
+    }
+
+    /**
+     * Print a log, catching and counting the failure if any.
+     */
+    void printSafely(int logLevel, String tag, String msg) {
+      try {
+        printer.println(logLevel, tag, msg);
+      } catch (Throwable t) {
+        // Errors are contained as well, so that the other printers still print.
+        onFailure(t);
+      }
+    }
+
+    private void onFailure(Throwable t) {
+      if (failures.getAndIncrement() == 0) {
+        Platform.get().error("Printer " + printer + " failed, later failures are only counted: "
+            + t);
+      }
+    }
+
+    /**
+     * Enqueue a log, the log is dropped if the queue is full.
+     */
+    void enqueue(LogItem log) {
+      if (!started) {
+        start();
+      }
+      if (!queue.offer(log)) {
+        drops.incrementAndGet();
+        Metrics metrics = Metrics.current();
+        if (metrics != null) {
+          metrics.onDropped();
+        }
+      }
+    }
+
+    private void start() {
+      synchronized (this) {
+        if (started) {
+          return;
+        }
+        Thread thread = new Thread(this, "xlog-printer-" + printer.getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+        started = true;
+      }
+    }
+
+    @Override
+    public void run() {
+      LogItem log;
+      try {
+        while ((log = queue.take()) != null) {
+          try {
+            printer.println(log.level, log.tag, log.msg);
+          } catch (Throwable t) {
+            // Errors are contained as well, a dead thread would silently drop all later logs.
+            onFailure(t);
+          }
+        }
+      } catch (InterruptedException e) {
+        e.printStackTrace();
+      } finally {
+        // Let the next log start a new thread.
+        synchronized (this) {
+          started = false;
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link PrinterSet}.
+   *
+   * @since 1.12.0
+   */
+  public static class Builder {
+
+    List<Printer> printers = new ArrayList<>();
+
+    List<Integer> minLevels = new ArrayList<>();
+
+    boolean parallel;
+
+    int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * Add a printer to print all logs.
+     *
+     * @param printer the printer
+     * @return the builder
+     */
+    public Builder addPrinter(Printer printer) {
+      return addPrinter(printer, LogLevel.ALL);
+    }
+
+    /**
+     * Add a printer to print logs of a specific level and above, logs below the level are
+     * filtered out before reaching the printer, or its queue in parallel mode.
+     *
+     * @param printer  the printer
+     * @param minLevel the min level of logs to print
+     * @return the builder
+     */
+    public Builder addPrinter(Printer printer, int minLevel) {
+      if (printer == null) {
+        throw new IllegalArgumentException("Printer should not be null");
+      }
+      printers.add(printer);
+      minLevels.add(minLevel);
+      return this;
+    }
+
+    /**
+     * Print logs in parallel, each printer has its own queue and thread, so that a slow printer
+     * does not delay the logging thread or the other printers.
+     * <p>
+     * Logs of each printer are still printed in order, but when a printer falls behind and its
+     * queue is full, further logs for that printer are dropped and counted, see
+     * {@link PrinterSet#getDroppedCount(Printer)}.
+     * <p>
+     * Note that printers are called later in their own threads, so a printer getting the time or
+     * the thread by itself, rather than from the log, gets those of the printing.
+     *
+     * @return the builder
+     */
+    public Builder parallel() {
+      this.parallel = true;
+      return this;
+    }
+
+    /**
+     * Set the capacity of the queue of each printer in parallel mode, default to
+     * {@value #DEFAULT_QUEUE_CAPACITY}.
+     *
+     * @param queueCapacity the capacity of the queue of each printer
+     * @return the builder
+     */
+    public Builder queueCapacity(int queueCapacity) {
+      if (queueCapacity <= 0) {
+        throw new IllegalArgumentException("Queue capacity should be greater than 0: "
+            + queueCapacity);
+      }
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Build configured {@link PrinterSet} object.
+     *
+     * @return the built configured {@link PrinterSet} object
+     */
+    public PrinterSet build() {
+      return new PrinterSet(this);
     }
   }
 }
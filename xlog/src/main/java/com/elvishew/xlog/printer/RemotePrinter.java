@@ -16,17 +16,614 @@
 
 package com.elvishew.xlog.printer;
 
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.internal.DefaultsFactory;
+import com.elvishew.xlog.internal.Metrics;
+import com.elvishew.xlog.internal.Platform;
+import com.elvishew.xlog.internal.printer.remote.BatchSpool;
+import com.elvishew.xlog.printer.remote.HttpTransport;
+import com.elvishew.xlog.printer.remote.TcpTransport;
+import com.elvishew.xlog.printer.remote.Transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
 /**
- * Log {@link Printer} which should print the log to remote server.
+ * Log {@link Printer} which prints the log to remote server.
+ * <p>
+ * Logs are flattened and collected into batches in a worker thread, a batch is closed when it
+ * reaches the max count of logs, the max bytes, or the max delay since its first log. Each batch
+ * is compressed in GZIP format if specified, and sent via a {@link Transport}, such as
+ * {@link HttpTransport} or {@link TcpTransport}.
  * <p>
- * This is just a empty implementation telling you that you can do
- * such thing, you can override {@link #println(int, String, String)} )} and sending the log by your
- * implementation.
+ * When a batch fails to be sent, it is put into a spool, in a folder if specified, or in memory
+ * otherwise, and sent again after a backoff time, doubled after each failure. Later batches go to
+ * the spool too until it is drained, so the order of batches is kept. The spool is limited in
+ * size, the oldest batches are dropped when it is full.
+ * <p>
+ * The logging thread never waits for the network, it only puts the log into a bounded queue,
+ * the log is dropped if the queue is full, see {@link #getDroppedLogCount()}.
+ * <p>
+ * Use the {@link Builder} to construct a {@link RemotePrinter} object. The public constructor is
+ * kept for subclasses sending logs by their own implementation of
+ * {@link #println(int, String, String)}.
  */
 public class RemotePrinter implements Printer {
 
+  /**
+   * The default max count of logs in a batch.
+   */
+  private static final int DEFAULT_MAX_BATCH_COUNT = 100;
+
+  /**
+   * The default max bytes of logs in a batch, before compressed.
+   */
+  private static final int DEFAULT_MAX_BATCH_BYTES = 64 * 1024;
+
+  /**
+   * The default max time a batch waits for more logs, in milliseconds.
+   */
+  private static final long DEFAULT_MAX_BATCH_DELAY_MILLIS = 10 * 1000;
+
+  /**
+   * The default max bytes of batches in the spool.
+   */
+  private static final long DEFAULT_MAX_SPOOL_BYTES = 4 * 1024 * 1024;
+
+  /**
+   * The default backoff time after the first failure, in milliseconds.
+   */
+  private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+
+  /**
+   * The default max backoff time, in milliseconds.
+   */
+  private static final long DEFAULT_MAX_BACKOFF_MILLIS = 5 * 60 * 1000;
+
+  /**
+   * The default capacity of the queue of logs waiting to be batched.
+   */
+  private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+  private final Worker worker;
+
+  private final AtomicLong droppedLogs = new AtomicLong();
+
+  /**
+   * Constructor for subclasses, which should override {@link #println(int, String, String)} and
+   * send the log by their own implementation. Use the {@link Builder} otherwise.
+   */
+  public RemotePrinter() {
+    worker = null;
+  }
+
+  /*package*/ RemotePrinter(Builder builder) {
+    worker = new Worker(builder, droppedLogs);
+  }
+
   @Override
   public void println(int logLevel, String tag, String msg) {
-    // TODO: Send the log to your server.
+    if (worker == null) {
+      return;
+    }
+    if (!worker.isStarted()) {
+      worker.start();
+    }
+    if (!worker.logs.offer(new LogItem(System.currentTimeMillis(), logLevel, tag, msg))) {
+      droppedLogs.incrementAndGet();
+      Metrics metrics = Metrics.current();
+      if (metrics != null) {
+        metrics.onDropped();
+      }
+    }
+  }
+
+  /**
+   * Get the number of logs dropped because the queue was full, that is, logs came faster than
+   * they could be batched, or because they failed to be flattened or batched.
+   *
+   * @return the number of dropped logs
+   * @since 1.12.0
+   */
+  public long getDroppedLogCount() {
+    return droppedLogs.get();
+  }
+
+  /**
+   * Builder for {@link RemotePrinter}.
+   *
+   * @since 1.12.0
+   */
+  public static class Builder {
+
+    /**
+     * The transport to send batches.
+     */
+    Transport transport;
+
+    /**
+     * The flattener when print a log.
+     */
+    Flattener2 flattener;
+
+    int maxBatchCount = DEFAULT_MAX_BATCH_COUNT;
+
+    int maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+
+    long maxBatchDelayMillis = DEFAULT_MAX_BATCH_DELAY_MILLIS;
+
+    boolean compress = true;
+
+    /**
+     * The folder to spool batches in, null to spool in memory.
+     */
+    String spoolFolderPath;
+
+    long maxSpoolBytes = DEFAULT_MAX_SPOOL_BYTES;
+
+    long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+    long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+    int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * Construct a builder.
+     *
+     * @param transport the transport to send batches of logs
+     */
+    public Builder(Transport transport) {
+      if (transport == null) {
+        throw new IllegalArgumentException("Transport should not be null");
+      }
+      this.transport = transport;
+    }
+
+    /**
+     * Set the flattener when print a log.
+     *
+     * @param flattener the flattener when print a log
+     * @return the builder
+     */
+    public Builder flattener(Flattener2 flattener) {
+      this.flattener = flattener;
+      return this;
+    }
+
+    /**
+     * Set the max count of logs in a batch, default to {@value #DEFAULT_MAX_BATCH_COUNT}.
+     *
+     * @param maxBatchCount the max count of logs in a batch
+     * @return the builder
+     */
+    public Builder maxBatchCount(int maxBatchCount) {
+      if (maxBatchCount <= 0) {
+        throw new IllegalArgumentException("Max batch count should be greater than 0: "
+            + maxBatchCount);
+      }
+      this.maxBatchCount = maxBatchCount;
+      return this;
+    }
+
+    /**
+     * Set the max bytes of logs in a batch before compressed, default to
+     * {@value #DEFAULT_MAX_BATCH_BYTES}. A single log longer than that makes a batch by itself.
+     *
+     * @param maxBatchBytes the max bytes of logs in a batch
+     * @return the builder
+     */
+    public Builder maxBatchBytes(int maxBatchBytes) {
+      if (maxBatchBytes <= 0) {
+        throw new IllegalArgumentException("Max batch bytes should be greater than 0: "
+            + maxBatchBytes);
+      }
+      this.maxBatchBytes = maxBatchBytes;
+      return this;
+    }
+
+    /**
+     * Set the max time a batch waits for more logs since its first log, default to
+     * {@value #DEFAULT_MAX_BATCH_DELAY_MILLIS} milliseconds.
+     *
+     * @param maxBatchDelayMillis the max delay of a batch, in milliseconds
+     * @return the builder
+     */
+    public Builder maxBatchDelayMillis(long maxBatchDelayMillis) {
+      if (maxBatchDelayMillis < 0) {
+        throw new IllegalArgumentException("Max batch delay should not be negative: "
+            + maxBatchDelayMillis);
+      }
+      this.maxBatchDelayMillis = maxBatchDelayMillis;
+      return this;
+    }
+
+    /**
+     * Set whether to compress batches in GZIP format, default to true.
+     *
+     * @param compress whether to compress batches
+     * @return the builder
+     */
+    public Builder compress(boolean compress) {
+      this.compress = compress;
+      return this;
+    }
+
+    /**
+     * Set the folder to spool batches that failed to be sent, so that they survive a restart of
+     * the process. If not set, such batches are kept in memory.
+     * <p>
+     * The folder should be used by this printer only.
+     *
+     * @param spoolFolderPath the folder path to spool batches in
+     * @return the builder
+     */
+    public Builder spoolFolder(String spoolFolderPath) {
+      this.spoolFolderPath = spoolFolderPath;
+      return this;
+    }
+
+    /**
+     * Set the max bytes of batches in the spool, default to {@value #DEFAULT_MAX_SPOOL_BYTES},
+     * the oldest batches are dropped when exceeded.
+     *
+     * @param maxSpoolBytes the max bytes of batches in the spool
+     * @return the builder
+     */
+    public Builder maxSpoolBytes(long maxSpoolBytes) {
+      if (maxSpoolBytes <= 0) {
+        throw new IllegalArgumentException("Max spool bytes should be greater than 0: "
+            + maxSpoolBytes);
+      }
+      this.maxSpoolBytes = maxSpoolBytes;
+      return this;
+    }
+
+    /**
+     * Set the backoff time before sending again after a failure, doubled after each successive
+     * failure up to the max, default to {@value #DEFAULT_INITIAL_BACKOFF_MILLIS} and
+     * {@value #DEFAULT_MAX_BACKOFF_MILLIS} milliseconds.
+     *
+     * @param initialBackoffMillis the backoff time after the first failure, in milliseconds
+     * @param maxBackoffMillis     the max backoff time, in milliseconds
+     * @return the builder
+     */
+    public Builder retryBackoff(long initialBackoffMillis, long maxBackoffMillis) {
+      if (initialBackoffMillis <= 0 || maxBackoffMillis < initialBackoffMillis) {
+        throw new IllegalArgumentException("Illegal backoff: " + initialBackoffMillis + ", "
+            + maxBackoffMillis);
+      }
+      this.initialBackoffMillis = initialBackoffMillis;
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the capacity of the queue of logs waiting to be batched, default to
+     * {@value #DEFAULT_QUEUE_CAPACITY}.
+     *
+     * @param queueCapacity the capacity of the queue
+     * @return the builder
+     */
+    public Builder queueCapacity(int queueCapacity) {
+      if (queueCapacity <= 0) {
+        throw new IllegalArgumentException("Queue capacity should be greater than 0: "
+            + queueCapacity);
+      }
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Build configured {@link RemotePrinter} object.
+     *
+     * @return the built configured {@link RemotePrinter} object
+     */
+    public RemotePrinter build() {
+      if (flattener == null) {
+        flattener = DefaultsFactory.createFlattener2();
+      }
+      return new RemotePrinter(this);
+    }
+  }
+
+  private static class LogItem {
+
+    long timeMillis;
+    int level;
+    String tag;
+    String msg;
+
+    LogItem(long timeMillis, int level, String tag, String msg) {
+      this.timeMillis = timeMillis;
+      this.level = level;
+      this.tag = tag;
+      this.msg = msg;
+    }
+  }
+
+  /**
+   * Work in background, collect logs into batches, and send them or spool them.
+   */
+  private static class Worker implements Runnable {
+
+    private final BlockingQueue<LogItem> logs;
+
+    private final Transport transport;
+
+    private final Flattener2 flattener;
+
+    private final int maxBatchCount;
+
+    private final int maxBatchBytes;
+
+    private final long maxBatchDelayMillis;
+
+    private final boolean compress;
+
+    private final String spoolFolderPath;
+
+    private final long maxSpoolBytes;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Random random = new Random();
+
+    private final AtomicLong droppedLogs;
+
+    /**
+     * Created in worker thread, as it may load batches from the disk.
+     */
+    private BatchSpool spool;
+
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+
+    private int batchCount;
+
+    private long batchStartMillis;
+
+    private long backoffMillis;
+
+    private long nextAttemptMillis;
+
+    private int failures;
+
+    private volatile boolean started;
+
+    Worker(Builder builder, AtomicLong droppedLogs) {
+      this.droppedLogs = droppedLogs;
+      logs = new LinkedBlockingQueue<>(builder.queueCapacity);
+      transport = builder.transport;
+      flattener = builder.flattener;
+      maxBatchCount = builder.maxBatchCount;
+      maxBatchBytes = builder.maxBatchBytes;
+      maxBatchDelayMillis = builder.maxBatchDelayMillis;
+      compress = builder.compress;
+      spoolFolderPath = builder.spoolFolderPath;
+      maxSpoolBytes = builder.maxSpoolBytes;
+      initialBackoffMillis = builder.initialBackoffMillis;
+      maxBackoffMillis = builder.maxBackoffMillis;
+    }
+
+    /**
+     * Whether the worker is started.
+     *
+     * @return true if started, false otherwise
+     */
+    boolean isStarted() {
+      synchronized (this) {
+        return started;
+      }
+    }
+
+    /**
+     * Start the worker.
+     */
+    void start() {
+      synchronized (this) {
+        if (started) {
+          return;
+        }
+        Thread thread = new Thread(this, "xlog-remote-printer");
+        thread.setDaemon(true);
+        thread.start();
+        started = true;
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        spool = new BatchSpool(spoolFolderPath == null ? null : new File(spoolFolderPath),
+            maxSpoolBytes);
+        while (true) {
+          LogItem log = logs.poll(pollTimeoutMillis(), TimeUnit.MILLISECONDS);
+          if (log != null) {
+            append(log);
+          }
+          long now = System.currentTimeMillis();
+          if (batchCount > 0 && (batchCount >= maxBatchCount || batch.size() >= maxBatchBytes
+              || now - batchStartMillis >= maxBatchDelayMillis)) {
+            deliverBatch();
+          }
+          if (!spool.isEmpty() && now >= nextAttemptMillis) {
+            try {
+              sendSpooled();
+            } catch (Throwable t) {
+              onFailure(t, 0);
+              backOff();
+            }
+          }
+        }
+      } catch (InterruptedException e) {
+        Platform.get().warn("Remote printer interrupted, " + logs.size() + " logs left: " + e);
+      } finally {
+        // Let the next log start a new thread.
+        synchronized (this) {
+          started = false;
+        }
+      }
+    }
+
+    /**
+     * How long to wait for next log, until the current batch should be closed or the spooled
+     * batches should be sent again.
+     */
+    private long pollTimeoutMillis() {
+      long now = System.currentTimeMillis();
+      long timeout = Long.MAX_VALUE;
+      if (batchCount > 0) {
+        timeout = batchStartMillis + maxBatchDelayMillis - now;
+      }
+      if (!spool.isEmpty()) {
+        timeout = Math.min(timeout, nextAttemptMillis - now);
+      }
+      return Math.max(timeout, 0);
+    }
+
+    private void append(LogItem log) {
+      byte[] bytes;
+      try {
+        bytes = flattener.flatten(log.timeMillis, log.level, log.tag, log.msg).toString()
+            .getBytes("UTF-8");
+      } catch (Throwable t) {
+        // Errors of the flattener are contained as well, a dead thread would drop all later logs.
+        onFailure(t, 1);
+        return;
+      }
+      if (batchCount > 0 && batch.size() + bytes.length + 1 > maxBatchBytes) {
+        deliverBatch();
+      }
+      if (batchCount == 0) {
+        batchStartMillis = System.currentTimeMillis();
+      }
+      batch.write(bytes, 0, bytes.length);
+      batch.write('\n');
+      batchCount++;
+    }
+
+    /**
+     * Close the current batch, compress it if specified.
+     *
+     * @return the data of the batch
+     */
+    private byte[] closeBatch() {
+      byte[] data;
+      if (compress) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(batch.size() / 4 + 64);
+        try {
+          GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+          batch.writeTo(gzip);
+          gzip.close();
+        } catch (IOException e) {
+          // Not possible for a byte array output stream.
+          throw new AssertionError(e);
+        }
+        data = compressed.toByteArray();
+      } else {
+        data = batch.toByteArray();
+      }
+      batch.reset();
+      batchCount = 0;
+      return data;
+    }
+
+    /**
+     * Close and deliver the current batch, the logs of the batch are dropped if failed.
+     */
+    private void deliverBatch() {
+      int count = batchCount;
+      try {
+        deliver(closeBatch());
+      } catch (Throwable t) {
+        batch.reset();
+        batchCount = 0;
+        onFailure(t, count);
+      }
+    }
+
+    /**
+     * Warn the first failure, later failures are only counted, as well as the dropped logs.
+     */
+    private void onFailure(Throwable t, int droppedCount) {
+      if (failures++ == 0) {
+        Platform.get().warn("Remote printer failed, later failures are only counted: " + t);
+      }
+      if (droppedCount > 0) {
+        droppedLogs.addAndGet(droppedCount);
+        Metrics metrics = Metrics.current();
+        if (metrics != null) {
+          for (int i = 0; i < droppedCount; i++) {
+            metrics.onDropped();
+          }
+        }
+      }
+    }
+
+    /**
+     * Send a new batch, or spool it if the transport is unavailable or there are batches before.
+     */
+    private void deliver(byte[] data) {
+      if (spool.isEmpty() && System.currentTimeMillis() >= nextAttemptMillis) {
+        if (trySend(data, compress)) {
+          return;
+        }
+      }
+      spool.add(data, compress);
+    }
+
+    /**
+     * Send the spooled batches in order, until all sent or one failed.
+     */
+    private void sendSpooled() {
+      byte[] data;
+      while ((data = spool.peek()) != null) {
+        if (!trySend(data, spool.isPeekCompressed())) {
+          return;
+        }
+        spool.remove();
+      }
+    }
+
+    /**
+     * Send a batch, and update the backoff.
+     *
+     * @return true if sent, false otherwise
+     */
+    private boolean trySend(byte[] data, boolean compressed) {
+      try {
+        transport.send(data, compressed);
+        backoffMillis = 0;
+        return true;
+      } catch (IOException | RuntimeException e) {
+        if (backoffMillis == 0) {
+          Platform.get().warn("Failed to send logs, will retry later: " + e);
+        }
+        backOff();
+        return false;
+      }
+    }
+
+    /**
+     * Delay the next attempt to send, doubling the delay on each failure in a row.
+     */
+    private void backOff() {
+      if (backoffMillis == 0) {
+        backoffMillis = initialBackoffMillis;
+      } else {
+        backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+      }
+      // Up to 25% of jitter, so that clients do not retry at the same time.
+      long jitter = (long) (random.nextDouble() * backoffMillis / 4);
+      nextAttemptMillis = System.currentTimeMillis() + backoffMillis + jitter;
+    }
   }
 }
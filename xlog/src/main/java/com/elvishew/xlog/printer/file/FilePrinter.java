@@ -19,7 +19,9 @@ package com.elvishew.xlog.printer.file;
 import com.elvishew.xlog.flattener.Flattener;
 import com.elvishew.xlog.flattener.Flattener2;
 import com.elvishew.xlog.internal.DefaultsFactory;
+import com.elvishew.xlog.internal.Metrics;
 import com.elvishew.xlog.internal.Platform;
+import com.elvishew.xlog.internal.printer.file.TimeIndexWriter;
 import com.elvishew.xlog.internal.printer.file.backup.BackupStrategyWrapper;
 import com.elvishew.xlog.internal.printer.file.backup.BackupUtil;
 import com.elvishew.xlog.printer.Printer;
@@ -27,10 +29,13 @@ import com.elvishew.xlog.printer.file.backup.BackupStrategy;
 import com.elvishew.xlog.printer.file.backup.BackupStrategy2;
 import com.elvishew.xlog.printer.file.clean.CleanStrategy;
 import com.elvishew.xlog.printer.file.naming.FileNameGenerator;
+import com.elvishew.xlog.printer.file.reader.TimeIndex;
+import com.elvishew.xlog.printer.file.writer.BinaryWriter;
 import com.elvishew.xlog.printer.file.writer.Writer;
 
 import java.io.File;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 
 /**
@@ -75,6 +80,11 @@ public class FilePrinter implements Printer {
    */
   private Writer writer;
 
+  /**
+   * Maintain the time index of log file, null if disabled.
+   */
+  private final TimeIndexWriter timeIndexWriter;
+
   private volatile Worker worker;
 
   /*package*/ FilePrinter(Builder builder) {
@@ -84,6 +94,8 @@ public class FilePrinter implements Printer {
     cleanStrategy = builder.cleanStrategy;
     flattener = builder.flattener;
     writer = builder.writer;
+    timeIndexWriter = builder.timeIndexIntervalBytes > 0
+        ? new TimeIndexWriter(builder.timeIndexIntervalBytes) : null;
 
     if (USE_WORKER) {
       worker = new Worker();
@@ -115,6 +127,40 @@ public class FilePrinter implements Printer {
     }
   }
 
+  /**
+   * Run a task on the caller thread while no log is being written, e.g. to take a consistent
+   * snapshot of the log files. Logs printed meanwhile are queued, and written after the task
+   * finishes, so the task should not print logs to this printer and wait for them.
+   * <p>
+   * Logs printed before this call are all written before the task runs.
+   *
+   * @param task the task to run
+   * @since 1.12.0
+   */
+  public void runPaused(Runnable task) {
+    if (!USE_WORKER) {
+      task.run();
+      return;
+    }
+    if (!worker.isStarted()) {
+      worker.start();
+    }
+    PauseItem pause = new PauseItem();
+    worker.enqueue(pause);
+    try {
+      pause.paused.await();
+    } catch (InterruptedException e) {
+      pause.resumed.countDown();
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      task.run();
+    } finally {
+      pause.resumed.countDown();
+    }
+  }
+
   /**
    * Do the real job of writing log to file.
    */
@@ -125,12 +171,14 @@ public class FilePrinter implements Printer {
       String newFileName = fileNameGenerator.generateFileName(logLevel, System.currentTimeMillis());
       if (newFileName == null || newFileName.trim().length() == 0) {
         Platform.get().error("File name should not be empty, ignore log: " + msg);
+        onDropped();
         return;
       }
       if (!newFileName.equals(lastFileName) || isWriterClosed) {
-        writer.close();
+        closeWriter();
         cleanLogFilesIfNecessary();
-        if (!writer.open(new File(folderPath, newFileName))) {
+        if (!openWriter(new File(folderPath, newFileName))) {
+          onDropped();
           return;
         }
         lastFileName = newFileName;
@@ -140,16 +188,57 @@ public class FilePrinter implements Printer {
     File lastFile = writer.getOpenedFile();
     if (backupStrategy.shouldBackup(lastFile)) {
       // Backup the log file, and create a new log file.
-      writer.close();
-      BackupUtil.backup(lastFile, backupStrategy);
-      if (!writer.open(new File(folderPath, lastFileName))) {
+      closeWriter();
+      BackupUtil.backup(lastFile, backupStrategy,
+          timeIndexWriter != null ? TimeIndex.FILE_SUFFIX : null);
+      Metrics metrics = Metrics.current();
+      if (metrics != null) {
+        metrics.onRotated();
+      }
+      if (!openWriter(new File(folderPath, lastFileName))) {
+        onDropped();
         return;
       }
     }
+    if (writer instanceof BinaryWriter) {
+      // No need to flatten.
+      BinaryWriter binaryWriter = (BinaryWriter) writer;
+      if (timeIndexWriter != null) {
+        timeIndexWriter.beforeAppendBinary(timeMillis, binaryWriter);
+      }
+      binaryWriter.appendLog(timeMillis, logLevel, tag, msg);
+      return;
+    }
     String flattenedLog = flattener.flatten(timeMillis, logLevel, tag, msg).toString();
+    if (timeIndexWriter != null) {
+      timeIndexWriter.beforeAppendText(timeMillis, flattenedLog.length());
+    }
     writer.appendLog(flattenedLog);
   }
 
+  /**
+   * Open the writer, and the time index if enabled.
+   */
+  private boolean openWriter(File file) {
+    if (!writer.open(file)) {
+      return false;
+    }
+    if (timeIndexWriter != null) {
+      timeIndexWriter.open(file);
+    }
+    return true;
+  }
+
+  /**
+   * Close the writer, and the time index if enabled.
+   */
+  private void closeWriter() {
+    if (timeIndexWriter != null) {
+      timeIndexWriter.close();
+    }
+    writer.close();
+  }
+
   /**
    * Clean log files if should clean follow strategy
    */
@@ -159,13 +248,26 @@ public class FilePrinter implements Printer {
     if (files == null) {
       return;
     }
+    Metrics metrics = Metrics.current();
     for (File file : files) {
       if (cleanStrategy.shouldClean(file)) {
-          file.delete();
+        if (file.delete() && metrics != null) {
+          metrics.onCleaned();
+        }
       }
     }
   }
 
+  /**
+   * Count a log that is not written, if metrics is enabled.
+   */
+  private static void onDropped() {
+    Metrics metrics = Metrics.current();
+    if (metrics != null) {
+      metrics.onDropped();
+    }
+  }
+
   /**
    * Builder for {@link FilePrinter}.
    */
@@ -201,6 +303,11 @@ public class FilePrinter implements Printer {
      */
     Writer writer;
 
+    /**
+     * The min bytes of logs between two time index entries, 0 if time index disabled.
+     */
+    int timeIndexIntervalBytes;
+
     /**
      * Construct a builder.
      *
@@ -281,6 +388,8 @@ public class FilePrinter implements Printer {
 
     /**
      * Set the writer to write log into log file.
+     * <p>
+     * With a {@link BinaryWriter}, logs are written in binary format without being flattened.
      *
      * @param writer the writer to write log into log file
      * @return the builder
@@ -291,6 +400,23 @@ public class FilePrinter implements Printer {
       return this;
     }
 
+    /**
+     * Maintain a sparse time index for each log file, so that logs around a specific time can be
+     * found without reading the log files from the beginning, see {@link TimeIndex}.
+     *
+     * @param intervalBytes the min bytes of logs between two index entries, e.g. 32 * 1024
+     * @return the builder
+     * @since 1.12.0
+     */
+    public Builder timeIndex(int intervalBytes) {
+      if (intervalBytes <= 0) {
+        throw new IllegalArgumentException("Time index interval should be greater than 0: "
+            + intervalBytes);
+      }
+      this.timeIndexIntervalBytes = intervalBytes;
+      return this;
+    }
+
     /**
      * Build configured {@link FilePrinter} object.
      *
@@ -335,6 +461,21 @@ public class FilePrinter implements Printer {
     }
   }
 
+  /**
+   * A mark in the log queue, the worker stops there until the task of
+   * {@link #runPaused(Runnable)} finishes.
+   */
+  private static class PauseItem extends LogItem {
+
+    final CountDownLatch paused = new CountDownLatch(1);
+
+    final CountDownLatch resumed = new CountDownLatch(1);
+
+    PauseItem() {
+      super(0, 0, null, null);
+    }
+  }
+
   /**
    * Work in background, we can enqueue the logs, and the worker will dispatch them.
    */
@@ -354,6 +495,12 @@ public class FilePrinter implements Printer {
         logs.put(log);
       } catch (InterruptedException e) {
         e.printStackTrace();
+        onDropped();
+        return;
+      }
+      Metrics metrics = Metrics.current();
+      if (metrics != null) {
+        metrics.onEnqueued(logs.size());
       }
     }
 
@@ -378,6 +525,7 @@ public class FilePrinter implements Printer {
         }
         new Thread(this).start();
         started = true;
+        Metrics.registerQueue(logs);
       }
     }
 
@@ -386,6 +534,12 @@ public class FilePrinter implements Printer {
       LogItem log;
       try {
         while ((log = logs.take()) != null) {
+          if (log instanceof PauseItem) {
+            PauseItem pause = (PauseItem) log;
+            pause.paused.countDown();
+            pause.resumed.await();
+            continue;
+          }
           doPrintln(log.timeMillis, log.level, log.tag, log.msg);
         }
       } catch (InterruptedException e) {
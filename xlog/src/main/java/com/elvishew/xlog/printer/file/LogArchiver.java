@@ -0,0 +1,445 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file;
+
+import com.elvishew.xlog.internal.printer.file.ZipArchiveWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Archive the log files under a folder into a zip file.
+ * <p>
+ * Compared to {@link com.elvishew.xlog.LogUtils#compress(String, String)}, it can:
+ * <br>- Take a consistent snapshot of the log files, by pausing the writing of a
+ * {@link FilePrinter} while archiving, see {@link Builder#filePrinter(FilePrinter)}.
+ * <br>- Only archive the files changed since last archive, see {@link Builder#manifest(File)}.
+ * <br>- Compress files in parallel, and store files already compressed as is.
+ * <p>
+ * Files are compressed into memory, or into temporary files next to the zip file if large. When
+ * there are too many or too large files for a zip file without zip64, files are compressed one by
+ * one with a {@link ZipOutputStream} instead.
+ * <p>
+ * Should be used in background thread.
+ * <p>
+ * Use the {@link Builder} to construct a {@link LogArchiver} object.
+ *
+ * @since 1.12.0
+ */
+public class LogArchiver {
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  /**
+   * The max number of compressed files waiting to be written, for each thread.
+   */
+  private static final int MAX_PENDING_FILES_PER_THREAD = 2;
+
+  private final File folder;
+
+  private final FilePrinter filePrinter;
+
+  private final File manifestFile;
+
+  private final int parallelism;
+
+  private final int compressionLevel;
+
+  /*package*/ LogArchiver(Builder builder) {
+    folder = new File(builder.folderPath);
+    filePrinter = builder.filePrinter;
+    manifestFile = builder.manifestFile;
+    parallelism = builder.parallelism;
+    compressionLevel = builder.compressionLevel;
+  }
+
+  /**
+   * Archive the log files into a zip file, the zip file is replaced if already exists.
+   * <p>
+   * If a manifest is specified, only the files changed since last archive are archived, and the
+   * manifest is updated after the zip file is written, so the zip file may have no entry.
+   *
+   * @param zipFilePath the zip file path
+   * @return the number of archived files
+   * @throws IOException if any error occurs
+   */
+  public int archive(String zipFilePath) throws IOException {
+    if (!folder.exists() || !folder.isDirectory()) {
+      throw new IOException("Folder " + folder.getPath() + " does't exist or isn't a directory");
+    }
+    final File zipFile = new File(zipFilePath);
+    File zipFolder = zipFile.getAbsoluteFile().getParentFile();
+    if (!zipFolder.exists() && !zipFolder.mkdirs()) {
+      throw new IOException("Zip folder " + zipFolder.getAbsolutePath() + " not created");
+    }
+    if (filePrinter == null) {
+      return doArchive(zipFile);
+    }
+
+    final int[] archived = new int[1];
+    final IOException[] error = new IOException[1];
+    filePrinter.runPaused(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          archived[0] = doArchive(zipFile);
+        } catch (IOException e) {
+          error[0] = e;
+        }
+      }
+    });
+    if (error[0] != null) {
+      throw error[0];
+    }
+    return archived[0];
+  }
+
+  private int doArchive(File zipFile) throws IOException {
+    Set<String> archivedIds = manifestFile != null
+        ? readManifest(manifestFile) : new HashSet<String>();
+    Map<String, String> currentIds = new LinkedHashMap<>();
+    List<File> files = new ArrayList<>();
+    long totalLength = 0;
+    String[] fileNames = folder.list();
+    if (fileNames != null) {
+      Arrays.sort(fileNames);
+      for (String fileName : fileNames) {
+        File file = new File(folder, fileName);
+        if (!file.isFile() || isArchiveFile(file, zipFile)) {
+          continue;
+        }
+        // Backups are renamed, so a file is identified by its size and modified time.
+        String id = file.length() + ":" + file.lastModified();
+        currentIds.put(id, fileName);
+        if (!archivedIds.contains(id)) {
+          files.add(file);
+          totalLength += file.length();
+        }
+      }
+    }
+
+    File tempZipFile = new File(zipFile.getPath() + TEMP_SUFFIX);
+    try {
+      if (ZipArchiveWriter.fits(files.size(), totalLength)) {
+        writeZip(tempZipFile, files);
+      } else {
+        writeZipSequentially(tempZipFile, files);
+      }
+      replace(tempZipFile, zipFile);
+    } finally {
+      tempZipFile.delete();
+    }
+
+    if (manifestFile != null) {
+      writeManifest(manifestFile, currentIds);
+    }
+    return files.size();
+  }
+
+  /**
+   * Whether the file is created by archiving, rather than a log file.
+   */
+  private boolean isArchiveFile(File file, File zipFile) {
+    String path = file.getAbsolutePath();
+    String zipPath = zipFile.getAbsolutePath();
+    if (path.equals(zipPath) || path.equals(zipPath + TEMP_SUFFIX)) {
+      return true;
+    }
+    if (manifestFile != null) {
+      String manifestPath = manifestFile.getAbsolutePath();
+      return path.equals(manifestPath) || path.equals(manifestPath + TEMP_SUFFIX);
+    }
+    return false;
+  }
+
+  /**
+   * Compress the files in parallel, and write them to the zip file in order.
+   */
+  private void writeZip(File zipFile, List<File> files) throws IOException {
+    final File spillFolder = zipFile.getAbsoluteFile().getParentFile();
+    // Entries prepared but not written yet are discarded when failed, even if prepared later.
+    final List<ZipArchiveWriter.Entry> preparedEntries = new ArrayList<>();
+    final boolean[] aborted = new boolean[1];
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread thread = new Thread(r, "LogArchiver");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    List<Future<ZipArchiveWriter.Entry>> futures = new ArrayList<>();
+    ZipArchiveWriter zipWriter = new ZipArchiveWriter(
+        new BufferedOutputStream(new FileOutputStream(zipFile), 64 * 1024));
+    try {
+      int maxPendingFiles = parallelism * MAX_PENDING_FILES_PER_THREAD;
+      for (int i = 0; i < files.size(); i++) {
+        while (futures.size() < files.size() && futures.size() - i < maxPendingFiles) {
+          final File file = files.get(futures.size());
+          futures.add(executor.submit(new Callable<ZipArchiveWriter.Entry>() {
+            @Override
+            public ZipArchiveWriter.Entry call() throws IOException {
+              ZipArchiveWriter.Entry entry = ZipArchiveWriter.prepare(file, file.getName(),
+                  compressionLevel, spillFolder);
+              synchronized (preparedEntries) {
+                if (aborted[0]) {
+                  entry.discard();
+                } else {
+                  preparedEntries.add(entry);
+                }
+              }
+              return entry;
+            }
+          }));
+        }
+        zipWriter.write(getEntry(futures.get(i)));
+        futures.set(i, null);
+      }
+    } finally {
+      executor.shutdownNow();
+      synchronized (preparedEntries) {
+        aborted[0] = true;
+        for (ZipArchiveWriter.Entry entry : preparedEntries) {
+          entry.discard();
+        }
+      }
+      zipWriter.close();
+    }
+  }
+
+  /**
+   * Compress the files one by one, with zip64 if needed and supported by the platform.
+   */
+  private void writeZipSequentially(File zipFile, List<File> files) throws IOException {
+    ZipOutputStream zos = new ZipOutputStream(
+        new BufferedOutputStream(new FileOutputStream(zipFile), 64 * 1024));
+    try {
+      zos.setLevel(compressionLevel);
+      byte[] buffer = new byte[8 * 1024];
+      for (File file : files) {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), buffer.length);
+        try {
+          ZipEntry entry = new ZipEntry(file.getName());
+          entry.setTime(file.lastModified());
+          zos.putNextEntry(entry);
+          int count;
+          while ((count = in.read(buffer)) != -1) {
+            zos.write(buffer, 0, count);
+          }
+          zos.closeEntry();
+        } finally {
+          in.close();
+        }
+      }
+    } finally {
+      zos.close();
+    }
+  }
+
+  private static ZipArchiveWriter.Entry getEntry(Future<ZipArchiveWriter.Entry> future)
+      throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while archiving");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof FileNotFoundException) {
+        throw new IOException("File deleted while archiving", cause);
+      }
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private static Set<String> readManifest(File manifestFile) throws IOException {
+    Set<String> ids = new HashSet<>();
+    if (!manifestFile.exists()) {
+      return ids;
+    }
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(new FileInputStream(manifestFile), "UTF-8"));
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        // Each line is "<size>:<modified time> <file name>", the name is only for reference.
+        int index = line.indexOf(' ');
+        if (index > 0) {
+          ids.add(line.substring(0, index));
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return ids;
+  }
+
+  /**
+   * Write the manifest, only the files still existing are recorded.
+   */
+  private static void writeManifest(File manifestFile, Map<String, String> ids)
+      throws IOException {
+    File tempFile = new File(manifestFile.getPath() + TEMP_SUFFIX);
+    Writer writer = new OutputStreamWriter(new FileOutputStream(tempFile), "UTF-8");
+    try {
+      for (Map.Entry<String, String> id : ids.entrySet()) {
+        writer.write(id.getKey() + " " + id.getValue() + "\n");
+      }
+    } finally {
+      writer.close();
+    }
+    replace(tempFile, manifestFile);
+  }
+
+  private static void replace(File from, File to) throws IOException {
+    if (!from.renameTo(to)) {
+      // Some platforms can't rename to an existing file.
+      to.delete();
+      if (!from.renameTo(to)) {
+        throw new IOException("Failed to rename " + from.getPath() + " to " + to.getPath());
+      }
+    }
+  }
+
+  /**
+   * Builder for {@link LogArchiver}.
+   */
+  public static class Builder {
+
+    /**
+     * The folder path of log files.
+     */
+    String folderPath;
+
+    FilePrinter filePrinter;
+
+    File manifestFile;
+
+    int parallelism;
+
+    int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Construct a builder.
+     *
+     * @param folderPath the folder path of log files
+     */
+    public Builder(String folderPath) {
+      this.folderPath = folderPath;
+    }
+
+    /**
+     * Set the file printer writing logs to the folder, its writing is paused while archiving, so
+     * no file is archived in the middle of writing or backup.
+     * <p>
+     * Logs printed while archiving are kept in memory, and written after archiving.
+     *
+     * @param filePrinter the file printer writing logs to the folder
+     * @return the builder
+     */
+    public Builder filePrinter(FilePrinter filePrinter) {
+      this.filePrinter = filePrinter;
+      return this;
+    }
+
+    /**
+     * Set the manifest file to record the archived files, then only the files changed since last
+     * archive are archived. Delete the manifest file to archive all files again.
+     * <p>
+     * A file is recognized by its size and modified time, so a backup renamed after archived is
+     * not archived again.
+     *
+     * @param manifestFile the manifest file
+     * @return the builder
+     */
+    public Builder manifest(File manifestFile) {
+      this.manifestFile = manifestFile;
+      return this;
+    }
+
+    /**
+     * Set the number of threads compressing files, default to the number of processors.
+     *
+     * @param parallelism the number of threads
+     * @return the builder
+     */
+    public Builder parallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException("Parallelism should be greater than 0: "
+            + parallelism);
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Set the compression level, from 0 to 9, default to {@link Deflater#DEFAULT_COMPRESSION}.
+     *
+     * @param compressionLevel the compression level
+     * @return the builder
+     */
+    public Builder compressionLevel(int compressionLevel) {
+      if ((compressionLevel < 0 || compressionLevel > 9)
+          && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+        throw new IllegalArgumentException("Illegal compression level: " + compressionLevel);
+      }
+      this.compressionLevel = compressionLevel;
+      return this;
+    }
+
+    /**
+     * Build configured {@link LogArchiver} object.
+     *
+     * @return the built configured {@link LogArchiver} object
+     */
+    public LogArchiver build() {
+      if (parallelism == 0) {
+        parallelism = Runtime.getRuntime().availableProcessors();
+      }
+      return new LogArchiver(this);
+    }
+  }
+}
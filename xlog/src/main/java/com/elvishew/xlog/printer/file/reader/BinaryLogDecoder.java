@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.internal.SystemCompat;
+import com.elvishew.xlog.internal.printer.file.BinaryLogFormat;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decode logs written by {@link com.elvishew.xlog.printer.file.writer.BinaryWriter}, one record at
+ * a time, without loading the whole file.
+ * <p>
+ * A log file may end with a partially written log if the process was killed while writing, the
+ * decoding simply ends before that log.
+ *
+ * @since 1.12.0
+ */
+public class BinaryLogDecoder implements Closeable {
+
+  private final InputStream in;
+
+  private final List<String> tags = new ArrayList<>();
+
+  private long lastTimeMillis;
+
+  /**
+   * Reused to read strings.
+   */
+  private byte[] buffer = new byte[1024];
+
+  /**
+   * Constructor, decode from the beginning of a log file, the header is checked.
+   *
+   * @param in the input stream of log file
+   * @throws IOException if failed to read, or the stream is not a binary log file
+   */
+  public BinaryLogDecoder(InputStream in) throws IOException {
+    this(in, true);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param in          the input stream of log file
+   * @param checkHeader true if the stream is at the beginning of log file, false if it is at a
+   *                    sync point, see
+   *                    {@link com.elvishew.xlog.printer.file.writer.BinaryWriter#getLastSyncPosition()}
+   * @throws IOException if failed to read, or the stream is not a binary log file
+   */
+  public BinaryLogDecoder(InputStream in, boolean checkHeader) throws IOException {
+    this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    if (checkHeader && !readHeader(this.in)) {
+      throw new IOException("Not a binary log file");
+    }
+  }
+
+  /**
+   * Whether a file is a binary log file, by checking its header.
+   *
+   * @param file the file
+   * @return true if the file is a binary log file
+   */
+  public static boolean isBinaryLogFile(File file) {
+    InputStream in = null;
+    try {
+      in = new FileInputStream(file);
+      return readHeader(in);
+    } catch (IOException e) {
+      return false;
+    } finally {
+      if (in != null) {
+        try {
+          in.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  private static boolean readHeader(InputStream in) throws IOException {
+    for (byte b : BinaryLogFormat.MAGIC) {
+      if (in.read() != b) {
+        return false;
+      }
+    }
+    return in.read() == BinaryLogFormat.VERSION;
+  }
+
+  /**
+   * Read next log.
+   *
+   * @return the next log, or null if no more logs
+   * @throws IOException if failed to read, or the data is malformed
+   */
+  public LogRecord next() throws IOException {
+    try {
+      while (true) {
+        int type = in.read();
+        if (type == -1) {
+          return null;
+        }
+        switch (type) {
+          case BinaryLogFormat.TYPE_SYNC:
+            tags.clear();
+            lastTimeMillis = 0;
+            break;
+          case BinaryLogFormat.TYPE_TAG:
+            int tagId = (int) BinaryLogFormat.readVarint(in);
+            if (tagId != tags.size()) {
+              throw new IOException("Malformed tag id " + tagId + ", expected " + tags.size());
+            }
+            tags.add(readString());
+            break;
+          case BinaryLogFormat.TYPE_RAW:
+            lastTimeMillis += BinaryLogFormat.unzigzag(BinaryLogFormat.readVarint(in));
+            return new LogRecord(lastTimeMillis, LogRecord.LEVEL_RAW, "", readString());
+          default:
+            int level = type;
+            if (type == BinaryLogFormat.TYPE_EXTENDED_LEVEL) {
+              level = (int) BinaryLogFormat.unzigzag(BinaryLogFormat.readVarint(in));
+            }
+            lastTimeMillis += BinaryLogFormat.unzigzag(BinaryLogFormat.readVarint(in));
+            int id = (int) BinaryLogFormat.readVarint(in);
+            if (id < 0 || id >= tags.size()) {
+              throw new IOException("Undefined tag id " + id);
+            }
+            return new LogRecord(lastTimeMillis, level, tags.get(id), readString());
+        }
+      }
+    } catch (EOFException e) {
+      // The last log was partially written.
+      return null;
+    }
+  }
+
+  private String readString() throws IOException {
+    long length = BinaryLogFormat.readVarint(in);
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new IOException("Malformed length " + length);
+    }
+    if (buffer.length < length) {
+      buffer = new byte[(int) length];
+    }
+    int read = 0;
+    while (read < length) {
+      int count = in.read(buffer, read, (int) length - read);
+      if (count == -1) {
+        throw new EOFException();
+      }
+      read += count;
+    }
+    return new String(buffer, 0, (int) length, "UTF-8");
+  }
+
+  /**
+   * Decode all remaining logs into text, each followed by a line separator, the same as they are
+   * written as text by a {@link com.elvishew.xlog.printer.file.FilePrinter} with the flattener.
+   *
+   * @param flattener the flattener, e.g. the one used before switching to binary format
+   * @param out       the output of text
+   * @return the number of decoded logs
+   * @throws IOException if failed to read or write
+   */
+  public int decodeTo(Flattener2 flattener, Appendable out) throws IOException {
+    int count = 0;
+    LogRecord record;
+    while ((record = next()) != null) {
+      if (record.level == LogRecord.LEVEL_RAW) {
+        out.append(record.msg);
+      } else {
+        out.append(flattener.flatten(record.timeMillis, record.level, record.tag, record.msg));
+      }
+      out.append(SystemCompat.lineSeparator);
+      count++;
+    }
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import com.elvishew.xlog.LogLevel;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parse the first line of a text log flattened by a
+ * {@link com.elvishew.xlog.flattener.PatternFlattener} with a specific pattern, or by a
+ * {@link com.elvishew.xlog.flattener.DefaultFlattener}.
+ */
+class LineParser {
+
+  private static final Pattern PARAM_REGEX = Pattern.compile("\\{([^{}]*)\\}");
+
+  private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+  private static final String SHORT_LEVEL_REGEX = "(V|D|I|W|E|V-\\d+|E\\+\\d+)";
+
+  private static final String LONG_LEVEL_REGEX =
+      "(VERBOSE|DEBUG|INFO|WARN|ERROR|VERBOSE-\\d+|ERROR\\+\\d+)";
+
+  private static final int FIELD_DATE = 0;
+  private static final int FIELD_MILLIS = 1;
+  private static final int FIELD_LEVEL = 2;
+  private static final int FIELD_TAG = 3;
+  private static final int FIELD_MESSAGE = 4;
+
+  private final Pattern regex;
+
+  /**
+   * The field of each group of the regex.
+   */
+  private final int[] fields;
+
+  /**
+   * The date format, null if no date in the pattern.
+   */
+  private final SimpleDateFormat dateFormat;
+
+  private LineParser(Pattern regex, int[] fields, SimpleDateFormat dateFormat) {
+    this.regex = regex;
+    this.fields = fields;
+    this.dateFormat = dateFormat;
+  }
+
+  /**
+   * Create a parser for logs flattened by a {@link com.elvishew.xlog.flattener.DefaultFlattener}.
+   */
+  static LineParser forDefaultFlattener() {
+    return new LineParser(Pattern.compile("^(\\d+)\\|" + SHORT_LEVEL_REGEX + "\\|(.*?)\\|(.*)$"),
+        new int[]{FIELD_MILLIS, FIELD_LEVEL, FIELD_TAG, FIELD_MESSAGE}, null);
+  }
+
+  /**
+   * Create a parser for logs flattened by a {@link com.elvishew.xlog.flattener.PatternFlattener}.
+   *
+   * @param pattern the pattern of flattener
+   */
+  static LineParser forPattern(String pattern) {
+    StringBuilder regex = new StringBuilder("^");
+    List<Integer> fields = new ArrayList<>();
+    SimpleDateFormat dateFormat = null;
+    Matcher matcher = PARAM_REGEX.matcher(pattern);
+    int literalStart = 0;
+    while (matcher.find()) {
+      String parameter = matcher.group(1).trim();
+      String group;
+      int field;
+      if (parameter.equals("d") || parameter.startsWith("d ")) {
+        String format = parameter.length() > 2 ? parameter.substring(2) : DEFAULT_DATE_FORMAT;
+        if (dateFormat == null) {
+          dateFormat = new SimpleDateFormat(format, Locale.US);
+          dateFormat.setLenient(false);
+        }
+        group = "(.+?)";
+        field = FIELD_DATE;
+      } else if (parameter.equals("l")) {
+        group = SHORT_LEVEL_REGEX;
+        field = FIELD_LEVEL;
+      } else if (parameter.equals("L")) {
+        group = LONG_LEVEL_REGEX;
+        field = FIELD_LEVEL;
+      } else if (parameter.equals("t")) {
+        group = "(.*?)";
+        field = FIELD_TAG;
+      } else if (parameter.equals("m")) {
+        group = "(.*)";
+        field = FIELD_MESSAGE;
+      } else {
+        // Not a parameter, kept as is by the flattener.
+        continue;
+      }
+      regex.append(Pattern.quote(pattern.substring(literalStart, matcher.start())))
+          .append(group);
+      fields.add(field);
+      literalStart = matcher.end();
+    }
+    regex.append(Pattern.quote(pattern.substring(literalStart))).append('$');
+
+    int[] fieldArray = new int[fields.size()];
+    for (int i = 0; i < fieldArray.length; i++) {
+      fieldArray[i] = fields.get(i);
+    }
+    return new LineParser(Pattern.compile(regex.toString()), fieldArray, dateFormat);
+  }
+
+  /**
+   * Parse a line.
+   *
+   * @param line the line
+   * @return the log, or null if the line is not the first line of a log
+   */
+  LogRecord parse(String line) {
+    Matcher matcher = regex.matcher(line);
+    if (!matcher.matches()) {
+      return null;
+    }
+    long timeMillis = 0;
+    int level = LogLevel.VERBOSE;
+    String tag = "";
+    String msg = "";
+    for (int i = 0; i < fields.length; i++) {
+      String value = matcher.group(i + 1);
+      switch (fields[i]) {
+        case FIELD_DATE:
+          ParsePosition position = new ParsePosition(0);
+          Date date = dateFormat.parse(value, position);
+          if (date == null || position.getIndex() != value.length()) {
+            return null;
+          }
+          timeMillis = date.getTime();
+          break;
+        case FIELD_MILLIS:
+          try {
+            timeMillis = Long.parseLong(value);
+          } catch (NumberFormatException e) {
+            return null;
+          }
+          break;
+        case FIELD_LEVEL:
+          level = parseLevel(value);
+          break;
+        case FIELD_TAG:
+          tag = value;
+          break;
+        case FIELD_MESSAGE:
+          msg = value;
+          break;
+        default:
+          break;
+      }
+    }
+    return new LogRecord(timeMillis, level, tag, msg);
+  }
+
+  /**
+   * Parse a level name, the reverse of {@link LogLevel#getLevelName(int)} and
+   * {@link LogLevel#getShortLevelName(int)}.
+   */
+  static int parseLevel(String name) {
+    int offset = name.indexOf('-');
+    if (offset != -1) {
+      return LogLevel.VERBOSE - Integer.parseInt(name.substring(offset + 1));
+    }
+    offset = name.indexOf('+');
+    if (offset != -1) {
+      return LogLevel.ERROR + Integer.parseInt(name.substring(offset + 1));
+    }
+    switch (name.charAt(0)) {
+      case 'V':
+        return LogLevel.VERBOSE;
+      case 'D':
+        return LogLevel.DEBUG;
+      case 'I':
+        return LogLevel.INFO;
+      case 'W':
+        return LogLevel.WARN;
+      default:
+        return LogLevel.ERROR;
+    }
+  }
+}
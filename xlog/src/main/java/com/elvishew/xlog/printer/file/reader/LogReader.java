@@ -0,0 +1,437 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.DefaultsFactory;
+import com.elvishew.xlog.internal.printer.file.backup.BackupStrategyWrapper;
+import com.elvishew.xlog.printer.file.backup.BackupStrategy;
+import com.elvishew.xlog.printer.file.backup.BackupStrategy2;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read logs back from a log file written by {@link com.elvishew.xlog.printer.file.FilePrinter},
+ * and its backups, from the oldest to the newest.
+ * <p>
+ * Logs are read one at a time with buffered reads, so a huge log file is never loaded as a whole.
+ * Text logs are parsed according to the flattener used when writing, see
+ * {@link Builder#pattern(String)}, and a line not recognized as the beginning of a log is taken
+ * as a continued line of the message of previous log. Binary logs written by a
+ * {@link com.elvishew.xlog.printer.file.writer.BinaryWriter} are recognized automatically.
+ * <p>
+ * When a time range is specified, files and parts of files before the range are skipped with the
+ * help of the {@link TimeIndex} if available, and reading stops at the first log after the range,
+ * so logs are assumed to be written in time order.
+ * <p>
+ * Note that backups made while reading may be skipped or read twice.
+ * <p>
+ * Use the {@link Builder} to construct a {@link LogReader} object.
+ *
+ * @since 1.12.0
+ */
+public class LogReader implements Closeable {
+
+  /**
+   * The size of buffer when reading text logs.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The log file and its backups, from the oldest to the newest.
+   */
+  private final List<File> files;
+
+  private final LineParser lineParser;
+
+  private final int minLevel;
+
+  private final Set<String> tags;
+
+  private final long fromMillis;
+
+  private final long toMillis;
+
+  /**
+   * The index of next file to read.
+   */
+  private int nextFileIndex;
+
+  /**
+   * The source of logs of the file being read, null if not reading any file.
+   */
+  private Source source;
+
+  private boolean finished;
+
+  /*package*/ LogReader(Builder builder) {
+    lineParser = builder.pattern != null
+        ? LineParser.forPattern(builder.pattern) : LineParser.forDefaultFlattener();
+    minLevel = builder.minLevel;
+    tags = builder.tags;
+    fromMillis = builder.fromMillis;
+    toMillis = builder.toMillis;
+    files = listFiles(new File(builder.folderPath, builder.fileName), builder.backupStrategy);
+    skipFilesBeforeRange();
+  }
+
+  /**
+   * List the log file and its backups, from the oldest to the newest.
+   */
+  private static List<File> listFiles(File logFile, BackupStrategy2 backupStrategy) {
+    List<File> files = new ArrayList<>();
+    String path = logFile.getParent();
+    String fileName = logFile.getName();
+    int maxBackupIndex = backupStrategy.getMaxBackupIndex();
+    // Without limit, backups are never shifted, so the first backup is the oldest one, otherwise
+    // backups are shifted on every backup, so the first backup is the newest one.
+    boolean oldestFirst = maxBackupIndex == BackupStrategy2.NO_LIMIT;
+    if (oldestFirst) {
+      maxBackupIndex = Integer.MAX_VALUE - 1;
+    }
+    for (int i = 1; i <= maxBackupIndex; i++) {
+      File backupFile = new File(path, backupStrategy.getBackupFileName(fileName, i));
+      if (!backupFile.exists()) {
+        // Backups are always numbered one by one, so there is no more.
+        break;
+      }
+      files.add(oldestFirst ? files.size() : 0, backupFile);
+    }
+    if (logFile.exists()) {
+      files.add(logFile);
+    }
+    return files;
+  }
+
+  /**
+   * Skip the files that end before the time range, that is, the next file starts before it.
+   */
+  private void skipFilesBeforeRange() {
+    if (fromMillis == Long.MIN_VALUE) {
+      return;
+    }
+    for (int i = files.size() - 1; i > 0; i--) {
+      long firstTime = TimeIndex.getFirstTime(files.get(i));
+      if (firstTime != -1 && firstTime <= fromMillis) {
+        nextFileIndex = i;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the files to read, from the oldest to the newest, including the skipped ones.
+   *
+   * @return the files to read
+   */
+  public List<File> getFiles() {
+    return files;
+  }
+
+  /**
+   * Read next log matching the filters.
+   *
+   * @return the next log, or null if no more logs
+   * @throws IOException if failed to read
+   */
+  public LogRecord next() throws IOException {
+    while (!finished) {
+      if (source == null) {
+        if (nextFileIndex >= files.size()) {
+          finished = true;
+          break;
+        }
+        source = openSource(files.get(nextFileIndex++));
+        if (source == null) {
+          continue;
+        }
+      }
+      LogRecord record = source.next();
+      if (record == null) {
+        source.close();
+        source = null;
+        continue;
+      }
+      if (record.timeMillis > toMillis) {
+        finished = true;
+        break;
+      }
+      if (record.level != LogRecord.LEVEL_RAW
+          && record.level >= minLevel
+          && record.timeMillis >= fromMillis
+          && (tags == null || tags.contains(record.tag))) {
+        return record;
+      }
+    }
+    close();
+    return null;
+  }
+
+  /**
+   * Open a log file, skipping the part before the time range if indexed.
+   *
+   * @return the source of logs, or null if the file could not be read
+   */
+  private Source openSource(File file) throws IOException {
+    if (!file.exists()) {
+      return null;
+    }
+    long offset = fromMillis == Long.MIN_VALUE ? 0 : TimeIndex.findOffset(file, fromMillis);
+    InputStream in = new FileInputStream(file);
+    try {
+      if (BinaryLogDecoder.isBinaryLogFile(file)) {
+        if (offset > 0) {
+          skipFully(in, offset);
+          return new BinarySource(new BinaryLogDecoder(in, false));
+        }
+        return new BinarySource(new BinaryLogDecoder(in));
+      }
+      skipFully(in, offset);
+      return new TextSource(
+          new BufferedReader(new InputStreamReader(in, "UTF-8"), BUFFER_SIZE), lineParser);
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  private static void skipFully(InputStream in, long count) throws IOException {
+    while (count > 0) {
+      long skipped = in.skip(count);
+      if (skipped <= 0) {
+        throw new IOException("Failed to skip to the indexed offset");
+      }
+      count -= skipped;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    finished = true;
+    if (source != null) {
+      source.close();
+      source = null;
+    }
+  }
+
+  /**
+   * The source of logs in a single file.
+   */
+  private interface Source extends Closeable {
+
+    /**
+     * @return the next log, or null if no more logs
+     */
+    LogRecord next() throws IOException;
+  }
+
+  private static class BinarySource implements Source {
+
+    private final BinaryLogDecoder decoder;
+
+    BinarySource(BinaryLogDecoder decoder) {
+      this.decoder = decoder;
+    }
+
+    @Override
+    public LogRecord next() throws IOException {
+      return decoder.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      decoder.close();
+    }
+  }
+
+  private static class TextSource implements Source {
+
+    private final BufferedReader reader;
+
+    private final LineParser lineParser;
+
+    /**
+     * The first line of next log, already read when looking for the end of previous log.
+     */
+    private LogRecord pendingRecord;
+
+    TextSource(BufferedReader reader, LineParser lineParser) {
+      this.reader = reader;
+      this.lineParser = lineParser;
+    }
+
+    @Override
+    public LogRecord next() throws IOException {
+      LogRecord record = pendingRecord;
+      pendingRecord = null;
+      String line;
+      while (record == null) {
+        // Lines before the first log, like a file header, are skipped.
+        if ((line = reader.readLine()) == null) {
+          return null;
+        }
+        record = lineParser.parse(line);
+      }
+
+      StringBuilder msg = null;
+      while ((line = reader.readLine()) != null) {
+        LogRecord nextRecord = lineParser.parse(line);
+        if (nextRecord != null) {
+          pendingRecord = nextRecord;
+          break;
+        }
+        if (msg == null) {
+          msg = new StringBuilder(record.msg);
+        }
+        msg.append('\n').append(line);
+      }
+      if (msg != null) {
+        record = new LogRecord(record.timeMillis, record.level, record.tag, msg.toString());
+      }
+      return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+
+  /**
+   * Builder for {@link LogReader}.
+   */
+  public static class Builder {
+
+    String folderPath;
+
+    String fileName;
+
+    BackupStrategy2 backupStrategy;
+
+    String pattern;
+
+    int minLevel = LogLevel.ALL;
+
+    Set<String> tags;
+
+    long fromMillis = Long.MIN_VALUE;
+
+    long toMillis = Long.MAX_VALUE;
+
+    /**
+     * Construct a builder.
+     *
+     * @param folderPath the folder path of log file
+     * @param fileName   the name of log file, not including the backup suffix
+     */
+    public Builder(String folderPath, String fileName) {
+      this.folderPath = folderPath;
+      this.fileName = fileName;
+    }
+
+    /**
+     * Set the backup strategy used when writing, to find the backups of log file, default to the
+     * one used by {@link com.elvishew.xlog.printer.file.FilePrinter} by default.
+     *
+     * @param backupStrategy the backup strategy used when writing
+     * @return the builder
+     */
+    public Builder backupStrategy(BackupStrategy backupStrategy) {
+      if (!(backupStrategy instanceof BackupStrategy2)) {
+        backupStrategy = new BackupStrategyWrapper(backupStrategy);
+      }
+      this.backupStrategy = (BackupStrategy2) backupStrategy;
+      return this;
+    }
+
+    /**
+     * Set the pattern of the {@link com.elvishew.xlog.flattener.PatternFlattener} used when
+     * writing, e.g. "{d} {l}/{t}: {m}" for a {@link com.elvishew.xlog.flattener.ClassicFlattener}.
+     * Default to parse logs flattened by a {@link com.elvishew.xlog.flattener.DefaultFlattener}.
+     * <p>
+     * Note that the date in the pattern should be complete to filter logs by time.
+     *
+     * @param pattern the pattern of flattener
+     * @return the builder
+     */
+    public Builder pattern(String pattern) {
+      this.pattern = pattern;
+      return this;
+    }
+
+    /**
+     * Only read logs of a specific level and above.
+     *
+     * @param minLevel the min level of logs
+     * @return the builder
+     */
+    public Builder minLevel(int minLevel) {
+      this.minLevel = minLevel;
+      return this;
+    }
+
+    /**
+     * Only read logs of specific tags.
+     *
+     * @param tags the tags of logs
+     * @return the builder
+     */
+    public Builder tags(String... tags) {
+      this.tags = new HashSet<>(Arrays.asList(tags));
+      return this;
+    }
+
+    /**
+     * Only read logs within a time range.
+     *
+     * @param fromMillis the start time of the range, inclusive
+     * @param toMillis   the end time of the range, inclusive
+     * @return the builder
+     */
+    public Builder timeRange(long fromMillis, long toMillis) {
+      if (fromMillis > toMillis) {
+        throw new IllegalArgumentException("Illegal time range: " + fromMillis + ", " + toMillis);
+      }
+      this.fromMillis = fromMillis;
+      this.toMillis = toMillis;
+      return this;
+    }
+
+    /**
+     * Build configured {@link LogReader} object.
+     *
+     * @return the built configured {@link LogReader} object
+     */
+    public LogReader build() {
+      if (backupStrategy == null) {
+        backupStrategy = DefaultsFactory.createBackupStrategy();
+      }
+      return new LogReader(this);
+    }
+  }
+}
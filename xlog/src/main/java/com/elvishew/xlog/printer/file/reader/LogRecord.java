@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+/**
+ * A log read back from a log file.
+ *
+ * @since 1.12.0
+ */
+public class LogRecord {
+
+  /**
+   * The level of a record that is a line of raw text rather than a log, such as a file header.
+   */
+  public static final int LEVEL_RAW = 0;
+
+  /**
+   * The time of log, in milliseconds.
+   */
+  public final long timeMillis;
+
+  /**
+   * The level of log, or {@link #LEVEL_RAW} for a line of raw text.
+   */
+  public final int level;
+
+  /**
+   * The tag of log, empty for a line of raw text.
+   */
+  public final String tag;
+
+  /**
+   * The message of log, or the text of a line of raw text.
+   */
+  public final String msg;
+
+  public LogRecord(long timeMillis, int level, String tag, String msg) {
+    this.timeMillis = timeMillis;
+    this.level = level;
+    this.tag = tag;
+    this.msg = msg;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * The sparse time index of a log file, kept in a sidecar file named after the log file with a
+ * suffix {@value #FILE_SUFFIX}, written by {@link com.elvishew.xlog.printer.file.FilePrinter}
+ * when enabled via {@link com.elvishew.xlog.printer.file.FilePrinter.Builder#timeIndex(int)}.
+ * <p>
+ * The index file is a sequence of 16-byte entries, each with the time of a log and the offset of
+ * that log in the log file, both as big-endian longs, added every few kilobytes of logs. For a
+ * binary log file, the offsets are sync points, where decoding can start.
+ * <p>
+ * Logs are assumed to be written in time order, which may not be true when the system time is
+ * changed, the results of searching are a bit off then, but never beyond the log file.
+ *
+ * @since 1.12.0
+ */
+public class TimeIndex {
+
+  /**
+   * The suffix of index file names.
+   */
+  public static final String FILE_SUFFIX = ".idx";
+
+  /**
+   * The size of an entry, in bytes.
+   */
+  public static final int ENTRY_SIZE = 16;
+
+  private TimeIndex() {
+  }
+
+  /**
+   * Get the index file of a log file.
+   *
+   * @param logFile the log file
+   * @return the index file, may not exist
+   */
+  public static File indexFileOf(File logFile) {
+    return new File(logFile.getParentFile(), logFile.getName() + FILE_SUFFIX);
+  }
+
+  /**
+   * Whether a file is an index file, judged by its name.
+   *
+   * @param file the file
+   * @return true if the file is an index file
+   */
+  public static boolean isIndexFile(File file) {
+    return file.getName().endsWith(FILE_SUFFIX);
+  }
+
+  /**
+   * Find the offset in a log file to start reading from, for logs since a specific time.
+   *
+   * @param logFile    the log file
+   * @param timeMillis the time of logs to find
+   * @return the offset of the last indexed log before or at the time, or 0 if not indexed
+   */
+  public static long findOffset(File logFile, long timeMillis) {
+    File indexFile = indexFileOf(logFile);
+    if (!indexFile.exists()) {
+      return 0;
+    }
+    RandomAccessFile index = null;
+    try {
+      index = new RandomAccessFile(indexFile, "r");
+      // A partially written entry at the end is ignored.
+      long low = 0;
+      long high = index.length() / ENTRY_SIZE - 1;
+      long offset = 0;
+      while (low <= high) {
+        long middle = (low + high) >>> 1;
+        index.seek(middle * ENTRY_SIZE);
+        long entryTime = index.readLong();
+        if (entryTime <= timeMillis) {
+          offset = index.readLong();
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+      return Math.min(Math.max(offset, 0), logFile.length());
+    } catch (IOException e) {
+      return 0;
+    } finally {
+      closeQuietly(index);
+    }
+  }
+
+  /**
+   * Get the time of the first indexed log of a log file, that is, roughly when the log file
+   * started.
+   *
+   * @param logFile the log file
+   * @return the time of the first indexed log, or -1 if not indexed
+   */
+  public static long getFirstTime(File logFile) {
+    File indexFile = indexFileOf(logFile);
+    if (indexFile.length() < ENTRY_SIZE) {
+      return -1;
+    }
+    RandomAccessFile index = null;
+    try {
+      index = new RandomAccessFile(indexFile, "r");
+      return index.readLong();
+    } catch (IOException e) {
+      return -1;
+    } finally {
+      closeQuietly(index);
+    }
+  }
+
+  private static void closeQuietly(RandomAccessFile file) {
+    if (file != null) {
+      try {
+        file.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+}
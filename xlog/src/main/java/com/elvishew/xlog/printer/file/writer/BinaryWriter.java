@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.writer;
+
+import com.elvishew.xlog.internal.Metrics;
+import com.elvishew.xlog.internal.Platform;
+import com.elvishew.xlog.internal.printer.file.BinaryLogFormat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link Writer} writing logs in a compact binary format instead of text, with a varint time
+ * delta, a level byte, a tag id from a per-file dictionary, and the length-prefixed UTF-8
+ * message for each log. That is usually several times smaller than the text flattened by a
+ * {@link com.elvishew.xlog.flattener.PatternFlattener}, and cheaper to encode.
+ * <p>
+ * {@link com.elvishew.xlog.printer.file.FilePrinter} writes logs via
+ * {@link #appendLog(long, int, String, String)} to this writer, without flattening them, so the
+ * flattener of the printer is not used. Use
+ * {@link com.elvishew.xlog.printer.file.reader.BinaryLogDecoder} to read the logs back, or to
+ * turn them into text.
+ * <p>
+ * Every {@value #DEFAULT_SYNC_INTERVAL_BYTES} bytes, the writer starts a new sync point, where
+ * the tag dictionary is cleared, so that decoding can start right there.
+ *
+ * @since 1.12.0
+ */
+public class BinaryWriter extends Writer {
+
+  /**
+   * The default interval between sync points, in bytes.
+   */
+  public static final int DEFAULT_SYNC_INTERVAL_BYTES = 64 * 1024;
+
+  private final int syncIntervalBytes;
+
+  /**
+   * The name of opened log file.
+   */
+  private String logFileName;
+
+  /**
+   * The opened log file.
+   */
+  private File logFile;
+
+  private FileOutputStream outputStream;
+
+  /**
+   * The size of opened log file, in bytes.
+   */
+  private long fileLength;
+
+  /**
+   * The position of last sync point in the opened log file.
+   */
+  private long lastSyncPosition;
+
+  /**
+   * The time of previous log since last sync point.
+   */
+  private long lastTimeMillis;
+
+  /**
+   * The tag dictionary since last sync point.
+   */
+  private final Map<String, Integer> tagIds = new HashMap<>();
+
+  /**
+   * Reused to encode entries.
+   */
+  private byte[] buffer = new byte[1024];
+
+  /**
+   * Constructor, with a sync interval of {@value #DEFAULT_SYNC_INTERVAL_BYTES} bytes.
+   */
+  public BinaryWriter() {
+    this(DEFAULT_SYNC_INTERVAL_BYTES);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param syncIntervalBytes the interval between sync points, in bytes, smaller interval makes
+   *                          the tag dictionary written more often
+   */
+  public BinaryWriter(int syncIntervalBytes) {
+    if (syncIntervalBytes <= 0) {
+      throw new IllegalArgumentException("Sync interval should be greater than 0: "
+          + syncIntervalBytes);
+    }
+    this.syncIntervalBytes = syncIntervalBytes;
+  }
+
+  @Override
+  public boolean open(File file) {
+    logFileName = file.getName();
+    logFile = file;
+    try {
+      File parent = logFile.getParentFile();
+      if (parent != null && !parent.exists()) {
+        parent.mkdirs();
+      }
+      boolean isNewFile = !logFile.exists() || logFile.length() == 0;
+      outputStream = new FileOutputStream(logFile, true);
+      fileLength = logFile.length();
+      if (isNewFile) {
+        int position = 0;
+        System.arraycopy(BinaryLogFormat.MAGIC, 0, buffer, 0, BinaryLogFormat.MAGIC.length);
+        position += BinaryLogFormat.MAGIC.length;
+        buffer[position++] = BinaryLogFormat.VERSION;
+        write(position);
+      }
+      // The state at the end of an existing file is unknown, start a sync point anyway.
+      sync();
+    } catch (IOException e) {
+      e.printStackTrace();
+      close();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isOpened() {
+    return outputStream != null && logFile.exists();
+  }
+
+  @Override
+  public File getOpenedFile() {
+    return logFile;
+  }
+
+  @Override
+  public String getOpenedFileName() {
+    return logFileName;
+  }
+
+  /**
+   * Get the length of the opened log file, including all logs appended.
+   *
+   * @return the length of the opened log file, in bytes
+   */
+  public long getOpenedFileLength() {
+    return fileLength;
+  }
+
+  /**
+   * Get the position of last sync point in the opened log file, where decoding can start.
+   *
+   * @return the position of last sync point
+   */
+  public long getLastSyncPosition() {
+    return lastSyncPosition;
+  }
+
+  /**
+   * Start a sync point before next log, unless nothing is written since last sync point.
+   */
+  public void startSyncPoint() {
+    if (outputStream == null || fileLength == lastSyncPosition + 1) {
+      return;
+    }
+    try {
+      sync();
+    } catch (IOException e) {
+      Platform.get().warn("start sync point failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Append a line of raw text, such as a file header, it is decoded as is.
+   *
+   * @param log the text to append
+   */
+  @Override
+  public void appendLog(String log) {
+    try {
+      syncIfNecessary();
+      int textLength = BinaryLogFormat.utf8Length(log);
+      ensureCapacity(1 + 10 + 5 + textLength);
+      long timeMillis = System.currentTimeMillis();
+      int position = 0;
+      buffer[position++] = BinaryLogFormat.TYPE_RAW;
+      position = BinaryLogFormat.writeVarint(buffer, position,
+          BinaryLogFormat.zigzag(timeMillis - lastTimeMillis));
+      position = BinaryLogFormat.writeVarint(buffer, position, textLength);
+      position = BinaryLogFormat.writeUtf8(buffer, position, log);
+      write(position);
+      lastTimeMillis = timeMillis;
+    } catch (Exception e) {
+      Platform.get().warn("append log failed: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Append a log.
+   *
+   * @param timeMillis the time of log
+   * @param logLevel   the level of log
+   * @param tag        the tag of log
+   * @param msg        the message of log
+   */
+  public void appendLog(long timeMillis, int logLevel, String tag, String msg) {
+    try {
+      syncIfNecessary();
+      Integer tagId = tagIds.get(tag);
+      if (tagId == null) {
+        tagId = tagIds.size();
+        defineTag(tagId, tag);
+        tagIds.put(tag, tagId);
+      }
+
+      int msgLength = BinaryLogFormat.utf8Length(msg);
+      ensureCapacity(1 + 10 + 10 + 5 + 5 + msgLength);
+      int position = 0;
+      if (logLevel >= BinaryLogFormat.MIN_INLINE_LEVEL
+          && logLevel <= BinaryLogFormat.MAX_INLINE_LEVEL) {
+        buffer[position++] = (byte) logLevel;
+      } else {
+        buffer[position++] = BinaryLogFormat.TYPE_EXTENDED_LEVEL;
+        position = BinaryLogFormat.writeVarint(buffer, position,
+            BinaryLogFormat.zigzag(logLevel));
+      }
+      position = BinaryLogFormat.writeVarint(buffer, position,
+          BinaryLogFormat.zigzag(timeMillis - lastTimeMillis));
+      position = BinaryLogFormat.writeVarint(buffer, position, tagId);
+      position = BinaryLogFormat.writeVarint(buffer, position, msgLength);
+      position = BinaryLogFormat.writeUtf8(buffer, position, msg);
+      write(position);
+      lastTimeMillis = timeMillis;
+    } catch (Exception e) {
+      Platform.get().warn("append log failed: " + e.getMessage());
+    }
+  }
+
+  private void defineTag(int tagId, String tag) throws IOException {
+    int tagLength = BinaryLogFormat.utf8Length(tag);
+    ensureCapacity(1 + 5 + 5 + tagLength);
+    int position = 0;
+    buffer[position++] = BinaryLogFormat.TYPE_TAG;
+    position = BinaryLogFormat.writeVarint(buffer, position, tagId);
+    position = BinaryLogFormat.writeVarint(buffer, position, tagLength);
+    position = BinaryLogFormat.writeUtf8(buffer, position, tag);
+    write(position);
+  }
+
+  private void syncIfNecessary() throws IOException {
+    if (fileLength - lastSyncPosition >= syncIntervalBytes) {
+      sync();
+    }
+  }
+
+  /**
+   * Start a sync point, where the decoding state is reset.
+   */
+  private void sync() throws IOException {
+    lastSyncPosition = fileLength;
+    lastTimeMillis = 0;
+    tagIds.clear();
+    buffer[0] = BinaryLogFormat.TYPE_SYNC;
+    write(1);
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (buffer.length < capacity) {
+      buffer = new byte[Math.max(capacity, buffer.length * 2)];
+    }
+  }
+
+  /**
+   * Write the encoded entry in the buffer, in a single write.
+   */
+  private void write(int length) throws IOException {
+    outputStream.write(buffer, 0, length);
+    fileLength += length;
+    Metrics metrics = Metrics.current();
+    if (metrics != null) {
+      metrics.onBytesWritten(length);
+    }
+  }
+
+  @Override
+  public boolean close() {
+    if (outputStream != null) {
+      try {
+        outputStream.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+    outputStream = null;
+    logFileName = null;
+    logFile = null;
+    tagIds.clear();
+    return true;
+  }
+}
@@ -16,11 +16,14 @@
 
 package com.elvishew.xlog.printer.file.writer;
 
+import com.elvishew.xlog.internal.Metrics;
 import com.elvishew.xlog.internal.Platform;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
 
 /**
  * A simple implementation of {@link Writer}.
@@ -44,6 +47,11 @@ public class SimpleWriter extends Writer {
 
   private BufferedWriter bufferedWriter;
 
+  /**
+   * The channel of the opened log file, used to count the encoded bytes written.
+   */
+  private FileChannel fileChannel;
+
   @Override
   public boolean open(File file) {
     logFileName = file.getName();
@@ -69,7 +77,9 @@ public class SimpleWriter extends Writer {
 
     // Create buffered writer.
     try {
-      bufferedWriter = new BufferedWriter(new FileWriter(logFile, true));
+      FileOutputStream outputStream = new FileOutputStream(logFile, true);
+      fileChannel = outputStream.getChannel();
+      bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream));
       if (isNewFile) {
         onNewFileCreated(logFile);
       }
@@ -112,11 +122,27 @@ public class SimpleWriter extends Writer {
   @Override
   public void appendLog(String log) {
     try {
-      bufferedWriter.write(log);
-      bufferedWriter.newLine();
-      bufferedWriter.flush();
+      Metrics metrics = Metrics.current();
+      if (metrics == null) {
+        bufferedWriter.write(log);
+        bufferedWriter.newLine();
+        bufferedWriter.flush();
+      } else {
+        // Every log is flushed, so the position of an appending channel is the file length.
+        long position = fileChannel.position();
+        bufferedWriter.write(log);
+        bufferedWriter.newLine();
+        long start = System.nanoTime();
+        bufferedWriter.flush();
+        metrics.onFlushed(System.nanoTime() - start);
+        metrics.onBytesWritten(fileChannel.position() - position);
+      }
     } catch (Exception e) {
       Platform.get().warn("append log failed: " + e.getMessage());
+      Metrics metrics = Metrics.current();
+      if (metrics != null) {
+        metrics.onDropped();
+      }
     }
   }
 
@@ -130,6 +156,7 @@ public class SimpleWriter extends Writer {
       }
     }
     bufferedWriter = null;
+    fileChannel = null;
     logFileName = null;
     logFile = null;
     return true;
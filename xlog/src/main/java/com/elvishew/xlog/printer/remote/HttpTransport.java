@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.remote;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Send each batch of logs in the body of an HTTP POST request.
+ * <p>
+ * The request has a "Content-Type" of "text/plain; charset=utf-8", and a "Content-Encoding" of
+ * "gzip" if the batch is compressed. Any response code other than 2xx is taken as a failure.
+ *
+ * @since 1.12.0
+ */
+public class HttpTransport implements Transport {
+
+  /**
+   * The default timeout of connecting and reading, in milliseconds.
+   */
+  private static final int DEFAULT_TIMEOUT_MILLIS = 15 * 1000;
+
+  private final URL url;
+
+  private final int connectTimeoutMillis;
+
+  private final int readTimeoutMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param url the URL to post logs to
+   */
+  public HttpTransport(URL url) {
+    this(url, DEFAULT_TIMEOUT_MILLIS, DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param url                  the URL to post logs to
+   * @param connectTimeoutMillis the timeout of connecting, in milliseconds
+   * @param readTimeoutMillis    the timeout of reading the response, in milliseconds
+   */
+  public HttpTransport(URL url, int connectTimeoutMillis, int readTimeoutMillis) {
+    this.url = url;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
+  @Override
+  public void send(byte[] batch, boolean compressed) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    boolean drained = false;
+    try {
+      connection.setConnectTimeout(connectTimeoutMillis);
+      connection.setReadTimeout(readTimeoutMillis);
+      connection.setDoOutput(true);
+      connection.setRequestMethod("POST");
+      connection.setFixedLengthStreamingMode(batch.length);
+      connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+      if (compressed) {
+        connection.setRequestProperty("Content-Encoding", "gzip");
+      }
+      OutputStream out = connection.getOutputStream();
+      try {
+        out.write(batch);
+      } finally {
+        out.close();
+      }
+
+      int code = connection.getResponseCode();
+      if (code < 200 || code >= 300) {
+        throw new IOException("Unexpected response code " + code + " from " + url);
+      }
+      // Drain the response so that the connection can be reused by the next batch.
+      InputStream in = connection.getInputStream();
+      try {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) != -1) {
+          // Discard.
+        }
+      } finally {
+        in.close();
+      }
+      drained = true;
+    } finally {
+      if (!drained) {
+        // The connection is in an unknown state, do not let it be reused.
+        connection.disconnect();
+      }
+    }
+  }
+}
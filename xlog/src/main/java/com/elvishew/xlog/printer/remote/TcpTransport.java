@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.remote;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Send batches of logs over a raw TCP connection, the connection is kept open between batches,
+ * and opened again when broken.
+ * <p>
+ * Each batch is sent in a frame: one byte of flags (1 if the batch is compressed, 0 otherwise),
+ * the length of the batch in a 4-byte big-endian integer, then the batch itself. After each frame,
+ * the server should reply one byte as an acknowledgment, so that a batch is never taken as sent
+ * while the server has not received it.
+ *
+ * @since 1.12.0
+ */
+public class TcpTransport implements Transport {
+
+  /**
+   * The flag of a compressed batch.
+   */
+  public static final int FLAG_COMPRESSED = 1;
+
+  /**
+   * The default timeout of connecting and reading, in milliseconds.
+   */
+  private static final int DEFAULT_TIMEOUT_MILLIS = 15 * 1000;
+
+  private final String host;
+
+  private final int port;
+
+  private final int timeoutMillis;
+
+  private Socket socket;
+
+  private DataOutputStream out;
+
+  private InputStream in;
+
+  /**
+   * Constructor.
+   *
+   * @param host the host of server
+   * @param port the port of server
+   */
+  public TcpTransport(String host, int port) {
+    this(host, port, DEFAULT_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param host          the host of server
+   * @param port          the port of server
+   * @param timeoutMillis the timeout of connecting and waiting for the acknowledgment, in
+   *                      milliseconds
+   */
+  public TcpTransport(String host, int port, int timeoutMillis) {
+    this.host = host;
+    this.port = port;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @Override
+  public void send(byte[] batch, boolean compressed) throws IOException {
+    try {
+      if (socket == null) {
+        connect();
+      }
+      out.writeByte(compressed ? FLAG_COMPRESSED : 0);
+      out.writeInt(batch.length);
+      out.write(batch);
+      out.flush();
+      if (in.read() == -1) {
+        throw new IOException("Connection closed by " + host + ":" + port);
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private void connect() throws IOException {
+    Socket socket = new Socket();
+    try {
+      socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+      socket.setSoTimeout(timeoutMillis);
+      out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      in = socket.getInputStream();
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+    this.socket = socket;
+  }
+
+  /**
+   * Close the connection, a new one is opened when sending next batch.
+   */
+  public void close() {
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+      }
+      socket = null;
+      out = null;
+      in = null;
+    }
+  }
+}
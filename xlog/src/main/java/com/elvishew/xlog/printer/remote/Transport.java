@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.remote;
+
+import java.io.IOException;
+
+/**
+ * A transport sends batches of logs to the remote server, for
+ * {@link com.elvishew.xlog.printer.RemotePrinter}.
+ * <p>
+ * A batch is the flattened logs, each followed by a '\n', encoded in UTF-8, and then compressed in
+ * GZIP format if specified.
+ * <p>
+ * Used in worker thread, one batch at a time.
+ *
+ * @since 1.12.0
+ */
+public interface Transport {
+
+  /**
+   * Send a batch of logs, and return only after the server has received it.
+   *
+   * @param batch      the batch of logs
+   * @param compressed whether the batch is compressed in GZIP format
+   * @throws IOException if failed to send the batch, it will be sent again later
+   */
+  void send(byte[] batch, boolean compressed) throws IOException;
+}
@@ -23,15 +23,18 @@ import com.elvishew.xlog.formatter.message.throwable.ThrowableFormatter;
 import com.elvishew.xlog.formatter.message.xml.XmlFormatter;
 import com.elvishew.xlog.formatter.stacktrace.StackTraceFormatter;
 import com.elvishew.xlog.formatter.thread.ThreadFormatter;
+import com.elvishew.xlog.interceptor.BlacklistTagsFilterInterceptor;
 import com.elvishew.xlog.interceptor.Interceptor;
 import com.elvishew.xlog.internal.SystemCompat;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.elvishew.xlog.LogLevel.ALL;
 import static com.elvishew.xlog.LogLevel.DEBUG;
@@ -40,6 +43,7 @@ import static com.elvishew.xlog.LogLevel.INFO;
 import static com.elvishew.xlog.LogLevel.NONE;
 import static com.elvishew.xlog.LogLevel.VERBOSE;
 import static com.elvishew.xlog.LogLevel.WARN;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class XLogTest {
@@ -212,6 +216,42 @@ public class XLogTest {
     assertTrue("Formatted object log not found", result);
   }
 
+  @Test
+  public void testObjectFormatterOfClosestType() {
+    // Formatters are typed on Object, as the class literal of a generic type is raw.
+    Logger logger = XLog.addObjectFormatter(Object.class, new ObjectFormatter<Object>() {
+      @Override
+      public String format(Object data) {
+        return "object";
+      }
+    }).addObjectFormatter(List.class, new ObjectFormatter<Object>() {
+      @Override
+      public String format(Object data) {
+        return "list";
+      }
+    }).addObjectFormatter(AbstractList.class, new ObjectFormatter<Object>() {
+      @Override
+      public String format(Object data) {
+        return "abstract list";
+      }
+    }).build();
+
+    // Superclass before interface.
+    logger.i(new ArrayList<String>());
+    assertLog(INFO, DEFAULT_TAG, "abstract list");
+    logsContainer.clear();
+
+    // Interface before Object, also for the cached lookup.
+    for (int i = 0; i < 2; i++) {
+      logger.i(new CopyOnWriteArrayList<String>());
+      assertLog(INFO, DEFAULT_TAG, "list");
+      logsContainer.clear();
+    }
+
+    logger.i(new StringBuilder());
+    assertLog(INFO, DEFAULT_TAG, "object");
+  }
+
   @Test
   public void testModifyingInterceptor() {
     XLog.addInterceptor(new Interceptor() {
@@ -414,6 +454,130 @@ public class XLogTest {
     assertLog(INFO, DEFAULT_TAG, CUSTOM_PRINTER_MSG_PREFIX + MESSAGE);
   }
 
+  @Test
+  public void testUpdateLogConfiguration() {
+    Logger logger = XLog.tag(CUSTOM_TAG).build();
+
+    XLog.updateLogConfiguration(new LogConfiguration.Builder(XLog.getLogConfiguration())
+        .logLevel(WARN)
+        .build());
+    XLog.i(MESSAGE);
+    logger.i(MESSAGE);
+    AssertUtil.assertNoLog(logsContainer);
+
+    XLog.w(MESSAGE);
+    assertLog(WARN, DEFAULT_TAG, MESSAGE);
+    logsContainer.clear();
+    logger.w(MESSAGE);
+    assertLog(WARN, CUSTOM_TAG, MESSAGE);
+
+    logsContainer.clear();
+    XLog.updateLogConfiguration(new LogConfiguration.Builder(XLog.getLogConfiguration())
+        .logLevel(ALL)
+        .addInterceptor(new Interceptor() {
+          @Override
+          public LogItem intercept(LogItem log) {
+            log.msg = log.msg + "[i1]";
+            return log;
+          }
+        })
+        .build());
+    logger.i(MESSAGE);
+    assertLog(INFO, CUSTOM_TAG, MESSAGE + "[i1]");
+  }
+
+  @Test
+  public void testLazyAndFixedArityLogging() {
+    final boolean[] supplied = new boolean[1];
+    MessageSupplier supplier = new MessageSupplier() {
+      @Override
+      public String get() {
+        supplied[0] = true;
+        return MESSAGE;
+      }
+    };
+
+    XLog.logLevel(INFO).build().d(supplier);
+    assertTrue(!supplied[0]);
+    AssertUtil.assertNoLog(logsContainer);
+
+    XLog.i(supplier);
+    assertTrue(supplied[0]);
+    assertLog(INFO, DEFAULT_TAG, MESSAGE);
+
+    logsContainer.clear();
+    XLog.d("int %d", 1);
+    assertLog(DEBUG, DEFAULT_TAG, "int 1");
+
+    // A char is still logged as a character, not widened to int.
+    logsContainer.clear();
+    XLog.d("char %s", 'x');
+    assertLog(DEBUG, DEFAULT_TAG, "char x");
+
+    logsContainer.clear();
+    XLog.d(null, 'x');
+    assertLog(DEBUG, DEFAULT_TAG, "x");
+
+    // A byte or short keeps its own width, not sign-extended to int.
+    logsContainer.clear();
+    XLog.d("byte %x", (byte) -1);
+    assertLog(DEBUG, DEFAULT_TAG, "byte ff");
+
+    logsContainer.clear();
+    XLog.d("short %x", (short) -1);
+    assertLog(DEBUG, DEFAULT_TAG, "short ffff");
+
+    logsContainer.clear();
+    XLog.w("long %d", 2L);
+    assertLog(WARN, DEFAULT_TAG, "long 2");
+
+    logsContainer.clear();
+    XLog.e("object %s", MESSAGE);
+    assertLog(ERROR, DEFAULT_TAG, "object " + MESSAGE);
+
+    logsContainer.clear();
+    XLog.log(VERBOSE, "objects %s %s", MESSAGE, 3);
+    assertLog(VERBOSE, DEFAULT_TAG, "objects " + MESSAGE + " 3");
+
+    // An array is still expanded as the arguments.
+    logsContainer.clear();
+    XLog.i("array %s %s", new Object[]{MESSAGE, 4});
+    assertLog(INFO, DEFAULT_TAG, "array " + MESSAGE + " 4");
+
+    logsContainer.clear();
+    XLog.i(null, MESSAGE, 5);
+    assertLog(INFO, DEFAULT_TAG, MESSAGE + ", 5");
+  }
+
+  @Test
+  public void testForward() {
+    final int[] formatted = new int[1];
+    Logger logger = XLog.logLevel(INFO)
+        .throwableFormatter(new ThrowableFormatter() {
+          @Override
+          public String format(Throwable data) {
+            formatted[0]++;
+            return "throwable";
+          }
+        })
+        .addInterceptor(new BlacklistTagsFilterInterceptor("blocked"))
+        .build();
+
+    // Rejected before the throwable is formatted.
+    logger.forward(DEBUG, "third_party", MESSAGE, new Throwable());
+    logger.forward(ERROR, "blocked", MESSAGE, new Throwable());
+    assertEquals(0, formatted[0]);
+    AssertUtil.assertNoLog(logsContainer);
+
+    logger.forward(ERROR, "third_party", MESSAGE, new Throwable());
+    assertEquals(1, formatted[0]);
+    assertLog(ERROR, "third_party", MESSAGE + "\n" + "throwable");
+
+    logsContainer.clear();
+    logger.forward(WARN, "third_party", MESSAGE, null);
+    assertLog(WARN, "third_party", MESSAGE);
+  }
+
   private void assertLog(int logLevel, String tag, String msg) {
     AssertUtil.assertHasLog(logsContainer, new LogItem(logLevel, tag, msg));
   }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.border;
+
+import com.elvishew.xlog.internal.SystemCompat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultBorderFormatterTest {
+
+  private static final String SEP = SystemCompat.lineSeparator;
+
+  @Test
+  public void testFormat() {
+    String formatted = new DefaultBorderFormatter().format(
+        new String[]{"Thread: main", null, "line1" + SEP + SEP + "line3" + SEP});
+    String[] lines = formatted.split(SEP);
+    assertEquals(7, lines.length);
+    assertEquals('╔', lines[0].charAt(0));
+    assertEquals("║Thread: main", lines[1]);
+    assertEquals('╟', lines[2].charAt(0));
+    assertEquals("║line1", lines[3]);
+    assertEquals("║", lines[4]);
+    assertEquals("║line3", lines[5]);
+    assertEquals('╚', lines[6].charAt(0));
+
+    assertEquals("", new DefaultBorderFormatter().format(new String[]{null, null}));
+  }
+
+  @Test
+  public void testWrap() {
+    String formatted = new DefaultBorderFormatter(4).format(new String[]{"abcdefghij" + SEP + "k"});
+    String[] lines = formatted.split(SEP);
+    assertEquals(6, lines.length);
+    assertEquals("║abcd", lines[1]);
+    assertEquals("║efgh", lines[2]);
+    assertEquals("║ij", lines[3]);
+    assertEquals("║k", lines[4]);
+
+    // Surrogate pairs are never split.
+    formatted = new DefaultBorderFormatter(2).format(new String[]{"a😀b"});
+    assertEquals("║a", formatted.split(SEP)[1]);
+    assertEquals("║😀", formatted.split(SEP)[2]);
+  }
+
+  @Test
+  public void testFormatTo() throws Exception {
+    StringBuilder sb = new StringBuilder("prefix");
+    DefaultBorderFormatter formatter = new DefaultBorderFormatter();
+    formatter.formatTo(new String[]{"message"}, sb);
+    assertEquals("prefix" + formatter.format(new String[]{"message"}), sb.toString());
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.message.json;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultJsonFormatterTest {
+
+  @Test
+  public void testFormat() {
+    String json = "{\"b\":1, \"a\" : [true,null,{}], \"s\":\"x,{\\\"y\\\"}:\", \"e\":[ ]}";
+    assertEquals("{\n"
+            + "    \"b\": 1,\n"
+            + "    \"a\": [\n"
+            + "        true,\n"
+            + "        null,\n"
+            + "        {}\n"
+            + "    ],\n"
+            + "    \"s\": \"x,{\\\"y\\\"}:\",\n"
+            + "    \"e\": []\n"
+            + "}",
+        new DefaultJsonFormatter().format(json));
+
+    assertEquals("[\n  1,\n  [\n    2\n  ]\n]",
+        new DefaultJsonFormatter.Builder().indent(2).build().format("[1,[2]]"));
+  }
+
+  @Test
+  public void testMalformed() {
+    DefaultJsonFormatter formatter = new DefaultJsonFormatter();
+    assertEquals("not json", formatter.format("not json"));
+    assertEquals("{\n    \"a\": [\n        1\n    ]\n}]",
+        formatter.format("{\"a\":[1]}]"));
+    assertEquals("{\n    \"a\": \"unterminated", formatter.format("{\"a\":\"unterminated"));
+  }
+
+  @Test
+  public void testTruncate() {
+    DefaultJsonFormatter formatter = new DefaultJsonFormatter.Builder()
+        .maxArrayElements(2)
+        .maxStringLength(3)
+        .build();
+    assertEquals("[\n    1,\n    2,\n    \"...3 more\"\n]",
+        formatter.format("[1, 2, [3, 4], {\"a\": \"]\"}, 5]"));
+    assertEquals("[\n    \"abc...2 more\",\n    \"\\u0041\\nc\"\n]",
+        formatter.format("[\"abcde\", \"\\u0041\\nc\"]"));
+
+    formatter = new DefaultJsonFormatter.Builder().maxOutputLength(10).build();
+    assertEquals("[\n    1,\n    \n...6 more", formatter.format("[1,2,3,4]"));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.message.throwable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeduplicatingThrowableFormatterTest {
+
+  @Test
+  public void testDeduplicate() {
+    DeduplicatingThrowableFormatter formatter = new DeduplicatingThrowableFormatter();
+    String[] messages = {"first", "second", "third"};
+    String[] formatted = new String[messages.length];
+    String id = null;
+    for (int i = 0; i < messages.length; i++) {
+      // Same call site, so same stack trace.
+      Throwable tr = newException(messages[i]);
+      id = "#" + Integer.toHexString((int) DeduplicatingThrowableFormatter.fingerprint(tr));
+      formatted[i] = formatter.format(tr);
+    }
+
+    assertTrue(formatted[0],
+        formatted[0].startsWith(id + " java.lang.IllegalStateException: first"));
+    assertTrue(formatted[0], formatted[0].contains("newException"));
+
+    // Message is not a part of the fingerprint.
+    assertEquals("java.lang.IllegalStateException: second (same trace as " + id + ", seen 2x)",
+        formatted[1]);
+    assertEquals("java.lang.IllegalStateException: third (same trace as " + id + ", seen 3x)",
+        formatted[2]);
+
+    // Different trace.
+    assertTrue(formatter.format(newException("other")).startsWith("#"));
+  }
+
+  @Test
+  public void testFingerprint() {
+    long[] fingerprints = new long[2];
+    for (int i = 0; i < 2; i++) {
+      fingerprints[i] = DeduplicatingThrowableFormatter.fingerprint(newException("message" + i));
+    }
+    assertEquals(fingerprints[0], fingerprints[1]);
+    assertNotEquals(fingerprints[0],
+        DeduplicatingThrowableFormatter.fingerprint(newException("message0")));
+  }
+
+  @Test
+  public void testReprint() throws Exception {
+    DeduplicatingThrowableFormatter formatter = new DeduplicatingThrowableFormatter(16, 1);
+    for (int i = 0; i < 2; i++) {
+      assertTrue(formatter.format(newException("a")).startsWith("#"));
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testEviction() {
+    DeduplicatingThrowableFormatter formatter = new DeduplicatingThrowableFormatter(1, 0);
+    String[] formatted = new String[4];
+    for (int i = 0; i < 4; i++) {
+      if (i == 1) {
+        formatter.format(newException("b"));
+      }
+      formatted[i] = formatter.format(newException("a"));
+    }
+    assertTrue(formatted[0].startsWith("#"));
+    assertTrue(formatted[1].startsWith("#"));
+    assertTrue(formatted[2].endsWith("seen 2x)"));
+    assertTrue(formatted[3].endsWith("seen 3x)"));
+  }
+
+  private static Throwable newException(String message) {
+    return new IllegalStateException(message);
+  }
+}
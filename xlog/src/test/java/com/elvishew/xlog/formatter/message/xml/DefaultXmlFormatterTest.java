@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.formatter.message.xml;
+
+import com.elvishew.xlog.internal.SystemCompat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultXmlFormatterTest {
+
+  @Test
+  public void testFormat() {
+    String xml = "<?xml version=\"1.0\"?><root attr=\"a>b\"><!-- comment --><item id='1'>text</item>"
+        + "\n  <empty/><pair></pair><nested><![CDATA[<raw>]]></nested></root>";
+    assertEquals(lines(
+        "<?xml version=\"1.0\"?>",
+        "<root attr=\"a>b\">",
+        "    <!-- comment -->",
+        "    <item id='1'>text</item>",
+        "    <empty/>",
+        "    <pair></pair>",
+        "    <nested>",
+        "        <![CDATA[<raw>]]>",
+        "    </nested>",
+        "</root>"),
+        new DefaultXmlFormatter().format(xml));
+
+    assertEquals(lines("<a>", "  <b>c</b>", "</a>"),
+        new DefaultXmlFormatter.Builder().indent(2).build().format("<a><b> c </b></a>"));
+  }
+
+  @Test
+  public void testMalformed() {
+    DefaultXmlFormatter formatter = new DefaultXmlFormatter();
+    assertEquals("not xml", formatter.format("not xml"));
+    assertEquals(lines("</a>", "<b>", "    <c"), formatter.format("</a><b><c"));
+  }
+
+  @Test
+  public void testMaxOutputLength() {
+    DefaultXmlFormatter formatter = new DefaultXmlFormatter.Builder().maxOutputLength(5).build();
+    assertEquals(lines("<a>", "    <b>", "...12 more"), formatter.format("<a><b><c/></b></a>"));
+  }
+
+  private static String lines(String... lines) {
+    StringBuilder sb = new StringBuilder();
+    for (String line : lines) {
+      if (sb.length() > 0) {
+        sb.append(SystemCompat.lineSeparator);
+      }
+      sb.append(line);
+    }
+    return sb.toString();
+  }
+}
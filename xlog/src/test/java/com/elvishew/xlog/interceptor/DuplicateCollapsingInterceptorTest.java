@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.interceptor;
+
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.SystemCompat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DuplicateCollapsingInterceptorTest {
+
+  @Test
+  public void testCollapseUntilDifferentLog() throws Exception {
+    DuplicateCollapsingInterceptor interceptor = new DuplicateCollapsingInterceptor(60 * 1000);
+
+    assertNotNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+    for (int i = 0; i < 99; i++) {
+      assertNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+    }
+
+    // Different tag is not affected.
+    assertEquals("Message",
+        interceptor.intercept(new LogItem(LogLevel.DEBUG, "other", "Message")).msg);
+
+    // Different level is not a duplicate.
+    assertEquals("Last message repeated 99 times" + SystemCompat.lineSeparator + "Message",
+        interceptor.intercept(new LogItem(LogLevel.INFO, "tag", "Message")).msg);
+    assertEquals("Another message",
+        interceptor.intercept(new LogItem(LogLevel.INFO, "tag", "Another message")).msg);
+  }
+
+  @Test
+  public void testWindowExpired() throws Exception {
+    DuplicateCollapsingInterceptor interceptor = new DuplicateCollapsingInterceptor(50);
+
+    assertNotNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+    assertNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+    assertNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+
+    Thread.sleep(100);
+
+    assertEquals("Last message repeated 2 times" + SystemCompat.lineSeparator + "Message",
+        interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")).msg);
+    assertNull(interceptor.intercept(new LogItem(LogLevel.DEBUG, "tag", "Message")));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.interceptor;
+
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.LogLevel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimitInterceptorTest {
+
+  @Test
+  public void testTagRateLimit() throws Exception {
+    // One log per hour, so no token is refilled during the test.
+    RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+        .tagRateLimit(1.0 / 3600, 3)
+        .build();
+
+    assertEquals(3, passedCount(interceptor, LogLevel.DEBUG, "tag1", 10));
+    assertEquals(3, passedCount(interceptor, LogLevel.DEBUG, "tag2", 10));
+    assertEquals(14, interceptor.getSuppressedCount());
+  }
+
+  @Test
+  public void testLevelRateLimit() throws Exception {
+    RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+        .levelRateLimit(LogLevel.DEBUG, 1.0 / 3600, 2)
+        .build();
+
+    assertEquals(2, passedCount(interceptor, LogLevel.DEBUG, "tag", 10));
+    assertEquals(10, passedCount(interceptor, LogLevel.INFO, "tag", 10));
+    assertEquals(8, interceptor.getSuppressedCount());
+  }
+
+  @Test
+  public void testSampling() throws Exception {
+    RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+        .sampling(10)
+        .build();
+
+    assertEquals(10, passedCount(interceptor, LogLevel.DEBUG, "tag", 100));
+    assertEquals(90, interceptor.getSuppressedCount());
+  }
+
+  @Test
+  public void testAlwaysPassLevel() throws Exception {
+    RateLimitInterceptor interceptor = new RateLimitInterceptor.Builder()
+        .sampling(1000)
+        .tagRateLimit(1.0 / 3600, 1)
+        .build();
+
+    assertEquals(100, passedCount(interceptor, LogLevel.ERROR, "tag", 100));
+    assertEquals(0, interceptor.getSuppressedCount());
+
+    interceptor = new RateLimitInterceptor.Builder()
+        .alwaysPassLevel(LogLevel.NONE)
+        .tagRateLimit(1.0 / 3600, 1)
+        .build();
+    assertEquals(1, passedCount(interceptor, LogLevel.ERROR, "tag", 100));
+  }
+
+  @Test
+  public void testTokenRefill() throws Exception {
+    RateLimitInterceptor.TokenBucket bucket = new RateLimitInterceptor.TokenBucket(1000, 1);
+    long now = System.nanoTime();
+    assertTrue(bucket.tryAcquire(now));
+    assertFalse(bucket.tryAcquire(now));
+    assertTrue(bucket.tryAcquire(now + 1000000));
+  }
+
+  private int passedCount(Interceptor interceptor, int level, String tag, int logCount) {
+    int passed = 0;
+    for (int i = 0; i < logCount; i++) {
+      if (interceptor.intercept(new LogItem(level, tag, "Message")) != null) {
+        passed++;
+      }
+    }
+    return passed;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogLinearHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+      long highest = LogLinearHistogram.highestValueOf(LogLinearHistogram.indexOf(value));
+      assertTrue(value + " in bucket up to " + highest, highest >= value);
+      assertTrue(value + " in bucket up to " + highest, highest - value <= value / 16);
+    }
+    assertEquals(Long.MAX_VALUE,
+        LogLinearHistogram.highestValueOf(LogLinearHistogram.indexOf(Long.MAX_VALUE)));
+  }
+
+  @Test
+  public void testPercentiles() {
+    LogLinearHistogram histogram = new LogLinearHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    for (int i = 1; i <= 100000; i++) {
+      histogram.record(i);
+    }
+    assertEquals(100000, histogram.getCount());
+    assertEquals(100000, histogram.getMax());
+    assertNear(50000, histogram.getValueAtPercentile(50));
+    assertNear(99000, histogram.getValueAtPercentile(99));
+    assertNear(99900, histogram.getValueAtPercentile(99.9));
+    assertEquals(100000, histogram.getValueAtPercentile(100));
+    assertEquals(1, histogram.getValueAtPercentile(0));
+
+    LogLinearHistogram copy = histogram.copy();
+    histogram.record(1000000);
+    assertEquals(100000, copy.getCount());
+    assertEquals(100000, copy.getMax());
+  }
+
+  private static void assertNear(long expected, long actual) {
+    assertTrue("expected " + expected + " but was " + actual,
+        actual >= expected && actual - expected <= expected / 16);
+  }
+}
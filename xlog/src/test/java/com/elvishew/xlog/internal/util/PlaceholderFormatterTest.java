@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.internal.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class PlaceholderFormatterTest {
+
+  @Test
+  public void testSameAsStringFormat() {
+    assertFormat("No placeholder");
+    assertFormat("%s and %s", "a", null);
+    assertFormat("[%5s][%-5s][%.2s][%8.3s]", "abc", "abc", "abc", "abcdef");
+    assertFormat("[%d][%5d][%-5d][%05d][%05d]", 42, -42, 42L, (short) 7, (byte) -7);
+    assertFormat("[%d][%d]", Long.MIN_VALUE, Integer.MAX_VALUE);
+    assertFormat("[%x][%X][%#x][%#X][%08x][%#010x][%-6x]", 255, -1, 255L, (byte) -1,
+        (short) -2, 255, 10);
+    assertFormat("[%f][%.2f][%.0f][%10.3f][%-10.1f][%010.2f]", 3.14159, 2.675, 2.5, -1.0005,
+        0.15f, -3.5);
+    assertFormat("[%f][%.3f][%f]", -0.0, 1e-10, 1e20);
+    assertFormat("100%% done%n");
+    assertFormat("%s", new Object[]{null});
+
+    // Fallbacks.
+    assertFormat("%1$s %1$s", "repeated");
+    assertFormat("%,d %+d %e %b %c", 1234567, 5, 1.5, true, 'c');
+    assertFormat("%d", new BigInteger("123456789012345678901234567890"));
+    assertFormat("%f %f", Double.NaN, Double.NEGATIVE_INFINITY);
+    assertFormat("%S", "upper");
+  }
+
+  @Test
+  public void testRandomNumbers() {
+    Random random = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12) - 4);
+      int precision = random.nextInt(8);
+      assertFormat("%." + precision + "f", d);
+      assertFormat("%." + precision + "f", (float) d);
+      assertFormat("%d %x", random.nextLong(), random.nextInt());
+    }
+  }
+
+  @Test
+  public void testLocale() {
+    Locale defaultLocale = Locale.getDefault();
+    try {
+      Locale.setDefault(Locale.GERMANY);
+      assertFormat("%.2f %08.3f %d", 1234.5678, -3.25, 1000);
+      Locale.setDefault(new Locale("ar", "EG"));
+      assertFormat("%.2f %05d", 1234.5678, -42);
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  public void testIllegalFormat() {
+    String[] formats = {"%", "%d", "%-d", "%-05d", "%q", "%.2d"};
+    for (String format : formats) {
+      try {
+        String.format(format, "arg");
+        fail("Expect exception: " + format);
+      } catch (RuntimeException expected) {
+        try {
+          PlaceholderFormatter.format(format, "arg");
+          fail("Expect exception: " + format);
+        } catch (RuntimeException e) {
+          assertEquals(expected.getClass(), e.getClass());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBracePlaceholders() {
+    assertEquals("User elvis logged in 3 times, 100%",
+        PlaceholderFormatter.format("User {} logged in {} times, 100%",
+            new Object[]{"elvis", 3}, true));
+    assertEquals("Escaped {}, missing {}",
+        PlaceholderFormatter.format("Escaped \\{}, missing {}", new Object[0], true));
+    assertEquals("a=1, b={}",
+        PlaceholderFormatter.format("a={}, b={}", new Object[]{1}, true));
+
+    // Without "{}", printf style is still used.
+    assertEquals("printf 1", PlaceholderFormatter.format("printf %d", new Object[]{1}, true));
+
+    // Not enabled.
+    assertEquals("User {} 1", PlaceholderFormatter.format("User {} %d", new Object[]{1}, false));
+  }
+
+  @Test
+  public void testNestedFormatting() {
+    Object nested = new Object() {
+      @Override
+      public String toString() {
+        return PlaceholderFormatter.format("inner %s %d", "value", 1);
+      }
+    };
+    assertEquals("outer [inner value 1] 2",
+        PlaceholderFormatter.format("outer [%s] %d", nested, 2));
+  }
+
+  @Test
+  public void testUnsupportedFormat() {
+    assertSame(PlaceholderFormatter.parsePrintf("%q"), PlaceholderFormatter.parsePrintf("%1$s"));
+    assertNotSame(PlaceholderFormatter.parsePrintf("%s"),
+        PlaceholderFormatter.parsePrintf("%1$s"));
+  }
+
+  private static void assertFormat(String format, Object... args) {
+    assertEquals(format, String.format(format, args), PlaceholderFormatter.format(format, args));
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.metrics;
+
+import com.elvishew.xlog.ContainerPrinter;
+import com.elvishew.xlog.LogConfiguration;
+import com.elvishew.xlog.LogItem;
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.XLog;
+import com.elvishew.xlog.XLogUtil;
+import com.elvishew.xlog.interceptor.BlacklistTagsFilterInterceptor;
+import com.elvishew.xlog.printer.file.FilePrinter;
+import com.elvishew.xlog.printer.file.backup.FileSizeBackupStrategy2;
+import com.elvishew.xlog.printer.file.clean.CleanStrategy;
+import com.elvishew.xlog.printer.file.naming.ChangelessFileNameGenerator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LogMetricsTest {
+
+  private File logFolder = new File("build/test/metrics");
+
+  private FilePrinter filePrinter;
+
+  @Before
+  public void setup() throws Exception {
+    File[] files = logFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    logFolder.mkdirs();
+    new File(logFolder, "stale").createNewFile();
+
+    filePrinter = new FilePrinter.Builder(logFolder.getPath())
+        .fileNameGenerator(new ChangelessFileNameGenerator("log"))
+        .backupStrategy(new FileSizeBackupStrategy2(1024, 10))
+        .cleanStrategy(new CleanStrategy() {
+          @Override
+          public boolean shouldClean(File file) {
+            return file.getName().equals("stale");
+          }
+        })
+        .build();
+    XLogUtil.beforeTest();
+    XLog.init(new LogConfiguration.Builder()
+            .logLevel(LogLevel.ALL)
+            .tag("app")
+            .addInterceptor(new BlacklistTagsFilterInterceptor("blocked"))
+            .build(),
+        filePrinter);
+  }
+
+  @After
+  public void tearDown() {
+    LogMetrics.disable();
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    assertFalse(LogMetrics.isEnabled());
+    XLog.i("message");
+    assertNull(LogMetrics.snapshot());
+  }
+
+  @Test
+  public void testCount() throws Exception {
+    LogMetrics.enable();
+    for (int i = 0; i < 100; i++) {
+      // Non-ASCII, so that characters and encoded bytes differ.
+      XLog.d("debug message \u00e9\u4e2d " + i);
+    }
+    for (int i = 0; i < 10; i++) {
+      XLog.tag("other").e("error message " + i);
+    }
+    for (int i = 0; i < 5; i++) {
+      XLog.tag("blocked").i("blocked message " + i);
+    }
+    filePrinter.runPaused(new Runnable() {
+      @Override
+      public void run() {
+      }
+    });
+
+    MetricsSnapshot snapshot = LogMetrics.snapshot();
+    assertEquals(100, snapshot.getLevelCount(LogLevel.DEBUG));
+    assertEquals(10, snapshot.getLevelCount(LogLevel.ERROR));
+    assertEquals(0, snapshot.getLevelCount(LogLevel.INFO));
+    assertEquals(110, snapshot.getPrintedCount());
+    assertEquals(Long.valueOf(100), snapshot.getTagCounts().get("app"));
+    assertEquals(Long.valueOf(10), snapshot.getTagCounts().get("other"));
+    assertEquals(Long.valueOf(5), snapshot.getRejectedCounts().get(
+        BlacklistTagsFilterInterceptor.class.getName()));
+
+    long fileBytes = 0;
+    for (File file : logFolder.listFiles()) {
+      fileBytes += file.length();
+    }
+    assertEquals(fileBytes, snapshot.getBytesWritten());
+    assertTrue(snapshot.getRotationCount() > 0);
+    assertEquals(1, snapshot.getCleanupCount());
+    assertFalse(new File(logFolder, "stale").exists());
+    assertEquals(110, snapshot.getFlushCount());
+    assertTrue(snapshot.getPeakQueueDepth() > 0);
+    assertEquals(0, snapshot.getQueueDepth());
+    assertEquals(0, snapshot.getDroppedCount());
+
+    LogMetrics.reset();
+    assertEquals(0, LogMetrics.snapshot().getPrintedCount());
+  }
+
+  @Test
+  public void testLatencySampling() {
+    assertNull(LogMetrics.latencySnapshot(LatencyStage.TOTAL));
+    LogMetrics.enableLatencySampling(10);
+    XLogUtil.beforeTest();
+    XLog.init(new LogConfiguration.Builder()
+            .logLevel(LogLevel.INFO)
+            .addInterceptor(new BlacklistTagsFilterInterceptor("blocked"))
+            .build(),
+        new ContainerPrinter(new ArrayList<LogItem>()));
+
+    // Use a single thread, so exactly one in every 10 calls is sampled.
+    for (int i = 0; i < 1000; i++) {
+      XLog.d("filtered by level");
+    }
+    for (int i = 0; i < 1000; i++) {
+      XLog.tag("blocked").i("filtered by interceptor");
+    }
+    for (int i = 0; i < 1000; i++) {
+      XLog.i("message %d", i);
+    }
+
+    assertEquals(300, LogMetrics.latencySnapshot(LatencyStage.TOTAL).getCount());
+    assertEquals(300, LogMetrics.latencySnapshot(LatencyStage.LEVEL_CHECK).getCount());
+    assertEquals(200, LogMetrics.latencySnapshot(LatencyStage.FORMAT).getCount());
+    assertEquals(200, LogMetrics.latencySnapshot(LatencyStage.INTERCEPT).getCount());
+    assertEquals(100, LogMetrics.latencySnapshot(LatencyStage.HAND_OFF).getCount());
+    LatencySnapshot total = LogMetrics.latencySnapshot(LatencyStage.TOTAL);
+    assertTrue(total.getP50Nanos() <= total.getP99Nanos());
+    assertTrue(total.getP99Nanos() <= total.getP999Nanos());
+    assertTrue(total.getP999Nanos() <= total.getMaxNanos());
+
+    LogMetrics.reset();
+    assertEquals(0, LogMetrics.latencySnapshot(LatencyStage.TOTAL).getCount());
+    LogMetrics.disableLatencySampling();
+    assertNull(LogMetrics.latencySnapshot(LatencyStage.TOTAL));
+  }
+}
@@ -27,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -82,11 +83,66 @@ public class AndroidPrinterTest {
     int start = 0;
     int end = 0;
     for (int i = 0; end < length; i++) {
-      end = AndroidPrinter.adjustEnd(msg, start, Math.min(start + messageChunkLength, length));
+      end = AndroidPrinter.chunkEnd(msg, start, messageChunkLength, false);
       String chunk = msg.substring(start, end);
       AssertUtil.assertHasLog(logContainer, i, chunk);
 
       start = end;
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPrintMultiByteMessage() throws Exception {
+    // 3 bytes each in UTF-8.
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      sb.append('\u4e2d');
+    }
+    String msg = sb.toString();
+    XLog.d(msg);
+    assertEquals(3, logContainer.size());
+    AssertUtil.assertHasLog(logContainer, 0, msg.substring(0, 1333));
+    AssertUtil.assertHasLog(logContainer, 1, msg.substring(1333, 2666));
+    AssertUtil.assertHasLog(logContainer, 2, msg.substring(2666));
+  }
+
+  @Test
+  public void testChunkEnd() throws Exception {
+    // 1 + 2 + 3 + 6 bytes in modified UTF-8.
+    String msg = "a\u00e9\u4e2d\ud83d\ude00";
+    assertEquals(1, AndroidPrinter.chunkEnd(msg, 0, 2, false));
+    assertEquals(2, AndroidPrinter.chunkEnd(msg, 0, 3, false));
+    assertEquals(3, AndroidPrinter.chunkEnd(msg, 0, 9, false));
+    assertEquals(3, AndroidPrinter.chunkEnd(msg, 0, 11, false));
+    assertEquals(5, AndroidPrinter.chunkEnd(msg, 0, 12, false));
+
+    // Never split a surrogate pair, and at least one character.
+    assertEquals(5, AndroidPrinter.chunkEnd(msg, 3, 2, false));
+    assertEquals(3, AndroidPrinter.chunkEnd(msg, 2, 1, false));
+
+    // '\0' takes 2 bytes in modified UTF-8.
+    msg = "a\u0000b";
+    assertEquals(1, AndroidPrinter.chunkEnd(msg, 0, 2, false));
+    assertEquals(2, AndroidPrinter.chunkEnd(msg, 0, 3, false));
+
+    // Prefer to end at a line separator.
+    msg = "aaaa\nbbbbbbbb";
+    assertEquals(4, AndroidPrinter.chunkEnd(msg, 0, 8, false));
+    assertEquals(4, AndroidPrinter.chunkEnd(msg, 0, 4, false));
+    assertEquals(10, AndroidPrinter.chunkEnd(msg, 5, 5, false));
+    assertEquals(4, AndroidPrinter.chunkEnd(msg, 0, 100, true));
+  }
+
+  @Test
+  public void testPrintSeparatedMessage() throws Exception {
+    final List<String> chunks = new ArrayList<>();
+    AndroidPrinter printer = new AndroidPrinter(6) {
+      @Override
+      void printChunk(int logLevel, String tag, String msg) {
+        chunks.add(msg);
+      }
+    };
+    printer.println(LogLevel.DEBUG, "tag", "\nab\ncdefghij\n\n\u4e2d\u4e2d\u4e2d");
+    assertEquals(Arrays.asList("ab", "cdefgh", "ij", "\u4e2d\u4e2d", "\u4e2d"), chunks);
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.internal.SystemCompat;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BufferedConsolePrinterTest {
+
+  private static final Flattener2 MESSAGE_ONLY = new Flattener2() {
+    @Override
+    public CharSequence flatten(long timeMillis, int logLevel, String tag, String message) {
+      return message;
+    }
+  };
+
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  @Test
+  public void testSynchronous() throws Exception {
+    BufferedConsolePrinter printer = new BufferedConsolePrinter.Builder()
+        .flattener(MESSAGE_ONLY)
+        .channel(Channels.newChannel(output))
+        .bufferSize(64)
+        .synchronous()
+        .build();
+
+    printer.println(LogLevel.DEBUG, "tag", "中文");
+    assertEquals("中文" + SystemCompat.lineSeparator, output.toString("UTF-8"));
+
+    // Longer than the buffer.
+    String longMessage = repeat("0123456789", 20);
+    printer.println(LogLevel.DEBUG, "tag", longMessage);
+    assertEquals("中文" + SystemCompat.lineSeparator
+        + longMessage + SystemCompat.lineSeparator, output.toString("UTF-8"));
+  }
+
+  @Test
+  public void testInterruptedCaller() throws Exception {
+    // Channels of Channels are interruptible, like the channel of the standard output.
+    WritableByteChannel channel = Channels.newChannel(output);
+    BufferedConsolePrinter printer = new BufferedConsolePrinter.Builder()
+        .flattener(MESSAGE_ONLY)
+        .channel(channel)
+        .bufferSize(64)
+        .synchronous()
+        .build();
+
+    Thread.currentThread().interrupt();
+    try {
+      printer.println(LogLevel.DEBUG, "tag", repeat("0123456789", 10));
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+    assertTrue(channel.isOpen());
+    printer.println(LogLevel.DEBUG, "tag", "message");
+    assertEquals(repeat("0123456789", 10) + SystemCompat.lineSeparator
+        + "message" + SystemCompat.lineSeparator, output.toString("UTF-8"));
+  }
+
+  @Test
+  public void testAsynchronous() throws Exception {
+    BufferedConsolePrinter printer = new BufferedConsolePrinter.Builder()
+        .flattener(MESSAGE_ONLY)
+        .channel(Channels.newChannel(output))
+        .flushLatencyMillis(60 * 1000)
+        .build();
+
+    printer.println(LogLevel.DEBUG, "tag", "message1");
+    printer.println(LogLevel.DEBUG, "tag", "message2");
+    printer.flush();
+    assertEquals("message1" + SystemCompat.lineSeparator + "message2" + SystemCompat.lineSeparator,
+        output.toString("UTF-8"));
+  }
+
+  @Test
+  public void testConcurrentLogsNotMixed() throws Exception {
+    final BufferedConsolePrinter printer = new BufferedConsolePrinter.Builder()
+        .flattener(MESSAGE_ONLY)
+        .channel(Channels.newChannel(output))
+        .bufferSize(256)
+        .flushLatencyMillis(0)
+        .build();
+
+    final int threadCount = 4;
+    final int logCount = 500;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      final String prefix = repeat(Integer.toString(t), 50);
+      Thread thread = new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < logCount; i++) {
+            printer.println(LogLevel.DEBUG, "tag", prefix + ":" + i);
+          }
+        }
+      };
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    printer.flush();
+
+    String[] lines = output.toString("UTF-8").split(SystemCompat.lineSeparator);
+    assertEquals(threadCount * logCount, lines.length);
+    int[] nextIndexes = new int[threadCount];
+    for (String line : lines) {
+      int t = line.charAt(0) - '0';
+      assertEquals(repeat(Integer.toString(t), 50) + ":" + nextIndexes[t], line);
+      nextIndexes[t]++;
+    }
+  }
+
+  private static String repeat(String s, int times) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      sb.append(s);
+    }
+    return sb.toString();
+  }
+}
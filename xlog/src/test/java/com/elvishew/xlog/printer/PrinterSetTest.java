@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer;
+
+import com.elvishew.xlog.LogLevel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrinterSetTest {
+
+  @Test
+  public void testLevelFilterAndFailureContained() throws Exception {
+    final List<String> msgs = new ArrayList<>();
+    Printer failing = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        throw new IllegalStateException("Failing printer");
+      }
+    };
+    Printer erroring = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        throw new AssertionError("Erroring printer");
+      }
+    };
+    Printer warnPrinter = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        msgs.add(msg);
+      }
+    };
+    PrinterSet printerSet = new PrinterSet.Builder()
+        .addPrinter(failing)
+        .addPrinter(erroring)
+        .addPrinter(warnPrinter, LogLevel.WARN)
+        .build();
+
+    printerSet.println(LogLevel.DEBUG, "tag", "debug");
+    printerSet.println(LogLevel.WARN, "tag", "warn");
+    printerSet.println(LogLevel.ERROR, "tag", "error");
+
+    assertEquals(Arrays.asList("warn", "error"), msgs);
+    assertEquals(3, printerSet.getFailureCount(failing));
+    assertEquals(3, printerSet.getFailureCount(erroring));
+    assertEquals(0, printerSet.getFailureCount(warnPrinter));
+  }
+
+  @Test
+  public void testParallelSlowPrinterIsolated() throws Exception {
+    final CountDownLatch blocker = new CountDownLatch(1);
+    Printer slow = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        try {
+          blocker.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    final List<String> msgs = Collections.synchronizedList(new ArrayList<String>());
+    final Semaphore printed = new Semaphore(0);
+    Printer fast = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        msgs.add(msg);
+        printed.release();
+      }
+    };
+    PrinterSet printerSet = new PrinterSet.Builder()
+        .addPrinter(slow)
+        .addPrinter(fast)
+        .parallel()
+        .queueCapacity(4)
+        .build();
+
+    // The fast printer is not blocked by the slow one.
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      printerSet.println(LogLevel.INFO, "tag", "msg" + i);
+      expected.add("msg" + i);
+      assertTrue(printed.tryAcquire(5, TimeUnit.SECONDS));
+    }
+    assertEquals(expected, msgs);
+
+    // The slow printer is taking one log, and has 4 in the queue, the others are dropped.
+    long dropped = printerSet.getDroppedCount(slow);
+    assertTrue("Dropped: " + dropped, dropped == 5 || dropped == 6);
+    assertEquals(0, printerSet.getDroppedCount(fast));
+    blocker.countDown();
+  }
+
+  @Test
+  public void testParallelPrinterSurvivesError() throws Exception {
+    final List<String> msgs = Collections.synchronizedList(new ArrayList<String>());
+    final Semaphore printed = new Semaphore(0);
+    Printer erroneous = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        if (msg.equals("error")) {
+          throw new AssertionError("Erroneous printer");
+        }
+        msgs.add(msg);
+        printed.release();
+      }
+    };
+    PrinterSet printerSet = new PrinterSet.Builder()
+        .addPrinter(erroneous)
+        .parallel()
+        .build();
+
+    printerSet.println(LogLevel.INFO, "tag", "error");
+    printerSet.println(LogLevel.INFO, "tag", "msg");
+    assertTrue(printed.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Collections.singletonList("msg"), msgs);
+    assertEquals(1, printerSet.getFailureCount(erroneous));
+    assertEquals(0, printerSet.getDroppedCount(erroneous));
+  }
+
+  @Test
+  public void testBuildTwice() throws Exception {
+    final List<String> msgs = Collections.synchronizedList(new ArrayList<String>());
+    final Semaphore printed = new Semaphore(0);
+    Printer printer = new Printer() {
+      @Override
+      public void println(int logLevel, String tag, String msg) {
+        msgs.add(msg);
+        printed.release();
+      }
+    };
+    PrinterSet.Builder builder = new PrinterSet.Builder()
+        .addPrinter(printer)
+        .parallel();
+    PrinterSet first = builder.build();
+    first.println(LogLevel.INFO, "tag", "first");
+    assertTrue(printed.tryAcquire(5, TimeUnit.SECONDS));
+
+    // Building again does not affect the first set.
+    PrinterSet second = builder.build();
+    first.println(LogLevel.INFO, "tag", "first again");
+    assertTrue(printed.tryAcquire(5, TimeUnit.SECONDS));
+    second.println(LogLevel.INFO, "tag", "second");
+    assertTrue(printed.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("first", "first again", "second"), msgs);
+  }
+}
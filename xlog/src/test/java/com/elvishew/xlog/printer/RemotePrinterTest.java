@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.printer.remote.Transport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RemotePrinterTest {
+
+  private static final Flattener2 MESSAGE_ONLY = new Flattener2() {
+    @Override
+    public CharSequence flatten(long timeMillis, int logLevel, String tag, String message) {
+      return message;
+    }
+  };
+
+  private File spoolFolder;
+
+  @Before
+  public void setup() {
+    spoolFolder = new File(System.getProperty("java.io.tmpdir"),
+        "xlog-remote-spool-" + System.nanoTime());
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = spoolFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    spoolFolder.delete();
+  }
+
+  @Test
+  public void testBatchByCount() throws Exception {
+    RecordingTransport transport = new RecordingTransport(0);
+    RemotePrinter printer = new RemotePrinter.Builder(transport)
+        .flattener(MESSAGE_ONLY)
+        .maxBatchCount(3)
+        .compress(false)
+        .build();
+    for (int i = 0; i < 6; i++) {
+      printer.println(LogLevel.INFO, "tag", "log" + i);
+    }
+    assertEquals("log0\nlog1\nlog2\n", transport.takeBatch());
+    assertEquals("log3\nlog4\nlog5\n", transport.takeBatch());
+  }
+
+  @Test
+  public void testFlattenerErrorContained() throws Exception {
+    RecordingTransport transport = new RecordingTransport(0);
+    RemotePrinter printer = new RemotePrinter.Builder(transport)
+        .flattener(new Flattener2() {
+          @Override
+          public CharSequence flatten(long timeMillis, int logLevel, String tag, String message) {
+            if (message.equals("bad")) {
+              throw new AssertionError("bad log");
+            }
+            return message;
+          }
+        })
+        .maxBatchCount(2)
+        .compress(false)
+        .build();
+    printer.println(LogLevel.INFO, "tag", "log0");
+    printer.println(LogLevel.INFO, "tag", "bad");
+    printer.println(LogLevel.INFO, "tag", "log1");
+    assertEquals("log0\nlog1\n", transport.takeBatch());
+    assertEquals(1, printer.getDroppedLogCount());
+  }
+
+  @Test
+  public void testBatchByDelayAndCompressed() throws Exception {
+    RecordingTransport transport = new RecordingTransport(0);
+    RemotePrinter printer = new RemotePrinter.Builder(transport)
+        .flattener(MESSAGE_ONLY)
+        .maxBatchDelayMillis(50)
+        .build();
+    printer.println(LogLevel.INFO, "tag", "中文");
+    assertEquals("中文\n", transport.takeBatch());
+  }
+
+  @Test
+  public void testSpoolAndRetry() throws Exception {
+    RecordingTransport transport = new RecordingTransport(3);
+    RemotePrinter printer = new RemotePrinter.Builder(transport)
+        .flattener(MESSAGE_ONLY)
+        .maxBatchCount(1)
+        .spoolFolder(spoolFolder.getPath())
+        .retryBackoff(10, 40)
+        .build();
+    for (int i = 0; i < 5; i++) {
+      printer.println(LogLevel.INFO, "tag", "log" + i);
+    }
+
+    // Batches are sent in order, after the transport recovers.
+    for (int i = 0; i < 5; i++) {
+      assertEquals("log" + i + "\n", transport.takeBatch());
+    }
+    assertEquals(3, transport.failures.get());
+
+    // Spooled batches are removed after sent.
+    long deadline = System.currentTimeMillis() + 5000;
+    while (spoolFolder.list().length > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, spoolFolder.list().length);
+  }
+
+  @Test
+  public void testLoggingNotBlockedByTransport() throws Exception {
+    final CountDownLatch blocker = new CountDownLatch(1);
+    Transport blocking = new Transport() {
+      @Override
+      public void send(byte[] batch, boolean compressed) throws IOException {
+        try {
+          blocker.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+    };
+    RemotePrinter printer = new RemotePrinter.Builder(blocking)
+        .flattener(MESSAGE_ONLY)
+        .maxBatchCount(1)
+        .queueCapacity(2)
+        .build();
+    for (int i = 0; i < 100; i++) {
+      printer.println(LogLevel.INFO, "tag", "log" + i);
+    }
+    assertTrue(printer.getDroppedLogCount() > 0);
+    blocker.countDown();
+  }
+
+  /**
+   * Record batches sent, after failing a number of times.
+   */
+  private static class RecordingTransport implements Transport {
+
+    final BlockingQueue<String> batches = new LinkedBlockingQueue<>();
+
+    final AtomicInteger failures = new AtomicInteger();
+
+    private final int failuresBeforeSuccess;
+
+    RecordingTransport(int failuresBeforeSuccess) {
+      this.failuresBeforeSuccess = failuresBeforeSuccess;
+    }
+
+    @Override
+    public void send(byte[] batch, boolean compressed) throws IOException {
+      if (failures.get() < failuresBeforeSuccess) {
+        failures.incrementAndGet();
+        throw new IOException("Server unreachable");
+      }
+      InputStream in = new ByteArrayInputStream(batch);
+      if (compressed) {
+        in = new GZIPInputStream(in);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+      batches.add(out.toString("UTF-8"));
+    }
+
+    String takeBatch() throws InterruptedException {
+      String batch = batches.poll(5, TimeUnit.SECONDS);
+      if (batch == null) {
+        throw new AssertionError("No batch sent");
+      }
+      return batch;
+    }
+  }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.XLog;
+import com.elvishew.xlog.XLogUtil;
+import com.elvishew.xlog.internal.util.LogLinearHistogram;
+import com.elvishew.xlog.metrics.LogMetrics;
+import com.elvishew.xlog.metrics.MetricsSnapshot;
+import com.elvishew.xlog.printer.file.backup.BackupStrategy2;
+import com.elvishew.xlog.printer.file.backup.FileSizeBackupStrategy2;
+import com.elvishew.xlog.printer.file.clean.CleanStrategy;
+import com.elvishew.xlog.printer.file.naming.FileNameGenerator;
+import com.elvishew.xlog.printer.file.reader.LogReader;
+import com.elvishew.xlog.printer.file.reader.LogRecord;
+import com.elvishew.xlog.printer.file.writer.SimpleWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sustained multi-threaded load against {@link FilePrinter}, with rotation and cleaning, checking
+ * that no log is lost or reordered, and reporting the throughput, caller latency percentiles and
+ * caller-side allocation per log.
+ * <p>
+ * Each case runs for 1 second by default, override with {@code -Dxlog.stress.seconds=N}, and
+ * {@code -Dxlog.stress.producers=N} overrides the number of producer threads of all cases.
+ */
+public class FilePrinterStressTest {
+
+  /**
+   * The max number of logs queued but not written yet, producers wait beyond it, so that the queue
+   * of printer does not grow without limit.
+   */
+  private static final long MAX_PENDING_LOGS = 20000;
+
+  private File logFolder = new File("build/test/stress");
+
+  @Before
+  public void setup() {
+    deleteLogFiles();
+    logFolder.mkdirs();
+    LogMetrics.enable();
+  }
+
+  @After
+  public void tearDown() {
+    LogMetrics.disable();
+    deleteLogFiles();
+  }
+
+  private void deleteLogFiles() {
+    File[] files = logFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+  }
+
+  @Test
+  public void testSmallLogs() throws Exception {
+    Result result = run(new Config("small logs", 4, 64, 256 * 1024, 0));
+    assertTrue(result.metrics.getRotationCount() > 0);
+  }
+
+  @Test
+  public void testLargeLogs() throws Exception {
+    Result result = run(new Config("large logs", 2, 4096, 1024 * 1024, 0));
+    assertTrue(result.metrics.getRotationCount() > 0);
+  }
+
+  @Test
+  public void testSwitchingFilesAndCleaning() throws Exception {
+    Result result = run(new Config("switching files", 8, 128, 512 * 1024, 200));
+    assertTrue(result.files > 1);
+    assertTrue(result.metrics.getCleanupCount() > 0);
+  }
+
+  private Result run(final Config config) throws Exception {
+    final BackupStrategy2 backupStrategy =
+        new FileSizeBackupStrategy2(config.maxFileSize, BackupStrategy2.NO_LIMIT);
+    final SwitchingFileNameGenerator fileNameGenerator =
+        new SwitchingFileNameGenerator(config.switchMillis);
+    final AtomicLong writtenLogs = new AtomicLong();
+    FilePrinter filePrinter = new FilePrinter.Builder(logFolder.getPath())
+        .fileNameGenerator(fileNameGenerator)
+        .backupStrategy(backupStrategy)
+        .cleanStrategy(new CleanStrategy() {
+          @Override
+          public boolean shouldClean(File file) {
+            return file.getName().endsWith(".stale");
+          }
+        })
+        .writer(new SimpleWriter() {
+          @Override
+          public void appendLog(String log) {
+            super.appendLog(log);
+            writtenLogs.incrementAndGet();
+          }
+        })
+        .build();
+    XLogUtil.beforeTest();
+    XLog.init(LogLevel.ALL, filePrinter);
+
+    final int producers = Integer.getInteger("xlog.stress.producers", config.producers);
+    final long durationNanos = Integer.getInteger("xlog.stress.seconds", 1) * 1000000000L;
+    final StringBuilder padding = new StringBuilder();
+    for (int i = 0; i < config.messageSize; i++) {
+      padding.append((char) ('a' + i % 26));
+    }
+    final AtomicLong producedLogs = new AtomicLong();
+    final AtomicLong allocatedBytes = new AtomicLong();
+    final long[] producedByThread = new long[producers];
+    final LogLinearHistogram latency = new LogLinearHistogram();
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(producers);
+    for (int p = 0; p < producers; p++) {
+      final int producer = p;
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          long allocatedBefore = allocatedBytes();
+          long seq = 0;
+          try {
+            start.await();
+            long endNanos = System.nanoTime() + durationNanos;
+            while (System.nanoTime() < endNanos) {
+              while (producedLogs.get() - writtenLogs.get() > MAX_PENDING_LOGS) {
+                Thread.yield();
+              }
+              long before = System.nanoTime();
+              XLog.i("p" + producer + " " + seq + " " + padding);
+              latency.record(System.nanoTime() - before);
+              seq++;
+              producedLogs.incrementAndGet();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            producedByThread[producer] = seq;
+            long allocatedAfter = allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+              allocatedBytes.addAndGet(allocatedAfter - allocatedBefore);
+            } else {
+              allocatedBytes.set(Long.MIN_VALUE);
+            }
+            done.countDown();
+          }
+        }
+      }, "xlog-stress-" + p).start();
+    }
+
+    // Stale files to be cleaned, whenever the printer switches to a new file.
+    final File staleFile = new File(logFolder, "old.stale");
+    long startNanos = System.nanoTime();
+    start.countDown();
+    while (!done.await(50, TimeUnit.MILLISECONDS)) {
+      if (config.switchMillis > 0 && !staleFile.exists()) {
+        staleFile.createNewFile();
+      }
+    }
+    filePrinter.runPaused(new Runnable() {
+      @Override
+      public void run() {
+      }
+    });
+    long elapsedNanos = System.nanoTime() - startNanos;
+
+    // Read back all logs, and check the sequence of every producer.
+    long[] expectedSeq = new long[producers];
+    long readLogs = 0;
+    int files = 0;
+    for (String fileName : fileNameGenerator.getGeneratedFileNames()) {
+      LogReader reader = new LogReader.Builder(logFolder.getPath(), fileName)
+          .backupStrategy(backupStrategy)
+          .build();
+      try {
+        files += reader.getFiles().size();
+        LogRecord record;
+        while ((record = reader.next()) != null) {
+          String[] parts = record.msg.split(" ", 3);
+          int producer = Integer.parseInt(parts[0].substring(1));
+          long seq = Long.parseLong(parts[1]);
+          assertEquals("Log of producer " + producer + " lost or reordered in " + fileName,
+              expectedSeq[producer], seq);
+          assertEquals(padding.toString(), parts[2]);
+          expectedSeq[producer]++;
+          readLogs++;
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    for (int p = 0; p < producers; p++) {
+      assertEquals("Logs of producer " + p + " lost", producedByThread[p], expectedSeq[p]);
+    }
+    assertEquals(producedLogs.get(), readLogs);
+
+    Result result = new Result(LogMetrics.snapshot(), files);
+    assertEquals(0, result.metrics.getDroppedCount());
+    System.out.println(String.format(Locale.US,
+        "[%s] producers=%d, logs=%d, throughput=%.0f logs/s (%.1f MB/s), latency p50=%dns"
+            + " p99=%dns p999=%dns max=%dns, allocation=%s, files=%d, rotations=%d,"
+            + " cleanups=%d, peakQueue=%d",
+        config.name, producers, readLogs,
+        readLogs * 1e9 / elapsedNanos,
+        result.metrics.getBytesWritten() * 1e9 / elapsedNanos / (1024 * 1024),
+        latency.getValueAtPercentile(50), latency.getValueAtPercentile(99),
+        latency.getValueAtPercentile(99.9), latency.getMax(),
+        allocatedBytes.get() < 0 ? "n/a" : (allocatedBytes.get() / Math.max(1, readLogs))
+            + " B/log",
+        files, result.metrics.getRotationCount(), result.metrics.getCleanupCount(),
+        result.metrics.getPeakQueueDepth()));
+    return result;
+  }
+
+  /**
+   * Get the bytes allocated by current thread, or -1 if not supported by the JVM.
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+
+  private static class Config {
+
+    final String name;
+
+    final int producers;
+
+    final int messageSize;
+
+    final long maxFileSize;
+
+    /**
+     * Switch to a new file every this milliseconds, 0 if never.
+     */
+    final long switchMillis;
+
+    Config(String name, int producers, int messageSize, long maxFileSize, long switchMillis) {
+      this.name = name;
+      this.producers = producers;
+      this.messageSize = messageSize;
+      this.maxFileSize = maxFileSize;
+      this.switchMillis = switchMillis;
+    }
+  }
+
+  private static class Result {
+
+    final MetricsSnapshot metrics;
+
+    final int files;
+
+    Result(MetricsSnapshot metrics, int files) {
+      this.metrics = metrics;
+      this.files = files;
+    }
+  }
+
+  /**
+   * Generate a new file name periodically, and remember the generated names in order.
+   */
+  private static class SwitchingFileNameGenerator implements FileNameGenerator {
+
+    private final long switchMillis;
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<String> fileNames = new ArrayList<>();
+
+    SwitchingFileNameGenerator(long switchMillis) {
+      this.switchMillis = switchMillis;
+    }
+
+    @Override
+    public boolean isFileNameChangeable() {
+      return switchMillis > 0;
+    }
+
+    @Override
+    public String generateFileName(int logLevel, long timestamp) {
+      long generation = switchMillis > 0
+          ? (System.nanoTime() - startNanos) / (switchMillis * 1000000) : 0;
+      String fileName = "log-" + generation;
+      synchronized (fileNames) {
+        if (fileNames.isEmpty() || !fileNames.get(fileNames.size() - 1).equals(fileName)) {
+          fileNames.add(fileName);
+        }
+      }
+      return fileName;
+    }
+
+    List<String> getGeneratedFileNames() {
+      synchronized (fileNames) {
+        return new ArrayList<>(fileNames);
+      }
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.PatternFlattener;
+import com.elvishew.xlog.printer.file.naming.ChangelessFileNameGenerator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogArchiverTest {
+
+  private File logFolder = new File("build/test/archive/logs");
+
+  private File zipFile = new File("build/test/archive/logs.zip");
+
+  private File manifestFile = new File("build/test/archive/manifest");
+
+  @Before
+  public void setup() {
+    File[] files = logFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    zipFile.delete();
+    manifestFile.delete();
+    logFolder.mkdirs();
+  }
+
+  @Test
+  public void testArchiveAll() throws Exception {
+    Map<String, byte[]> expected = new HashMap<>();
+    for (int i = 0; i < 20; i++) {
+      StringBuilder sb = new StringBuilder();
+      for (int j = 0; j < 1000 * i; j++) {
+        sb.append("log ").append(j).append(" of file ").append(i).append('\n');
+      }
+      expected.put("log" + i, writeFile("log" + i, sb.toString().getBytes("UTF-8")));
+    }
+    // Already compressed.
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    GZIPOutputStream gzip = new GZIPOutputStream(gzipped);
+    gzip.write("compressed log".getBytes("UTF-8"));
+    gzip.close();
+    expected.put("log.gz", writeFile("log.gz", gzipped.toByteArray()));
+
+    int archived = new LogArchiver.Builder(logFolder.getPath())
+        .parallelism(3)
+        .build()
+        .archive(zipFile.getPath());
+    assertEquals(expected.size(), archived);
+    Map<String, ZipEntry> entries = assertZipContent(expected);
+    assertEquals(ZipEntry.STORED, entries.get("log.gz").getMethod());
+    assertEquals(ZipEntry.DEFLATED, entries.get("log19").getMethod());
+    assertTrue(entries.get("log19").getCompressedSize() < entries.get("log19").getSize() / 2);
+
+    // Large files are compressed into temporary files, which are all deleted.
+    assertTrue(entries.get("log19").getSize() > 256 * 1024);
+    for (String name : zipFile.getParentFile().list()) {
+      assertFalse(name, name.endsWith(".deflated"));
+    }
+  }
+
+  @Test
+  public void testArchiveIncrementally() throws Exception {
+    Map<String, byte[]> expected = new HashMap<>();
+    expected.put("log.bak.1", writeFile("log.bak.1", "old logs".getBytes("UTF-8")));
+    expected.put("log", writeFile("log", "new logs".getBytes("UTF-8")));
+    LogArchiver archiver = new LogArchiver.Builder(logFolder.getPath())
+        .manifest(manifestFile)
+        .build();
+    assertEquals(2, archiver.archive(zipFile.getPath()));
+    assertZipContent(expected);
+
+    // Nothing changed.
+    assertEquals(0, archiver.archive(zipFile.getPath()));
+    assertZipContent(new HashMap<String, byte[]>());
+
+    // Backup, and write new logs.
+    File logFile = new File(logFolder, "log");
+    File backupFile = new File(logFolder, "log.bak.2");
+    new File(logFolder, "log.bak.1").renameTo(backupFile);
+    logFile.renameTo(new File(logFolder, "log.bak.1"));
+    expected.clear();
+    expected.put("log", writeFile("log", "newer logs".getBytes("UTF-8")));
+    assertEquals(1, archiver.archive(zipFile.getPath()));
+    assertZipContent(expected);
+  }
+
+  @Test
+  public void testArchiveWhileLogging() throws Exception {
+    final FilePrinter filePrinter = new FilePrinter.Builder(logFolder.getPath())
+        .fileNameGenerator(new ChangelessFileNameGenerator("log"))
+        .flattener(new PatternFlattener("{m}"))
+        .build();
+    final int logCount = 10000;
+    Thread logger = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < logCount; i++) {
+          filePrinter.println(LogLevel.INFO, "tag", "log " + i);
+        }
+      }
+    });
+    logger.start();
+    LogArchiver archiver = new LogArchiver.Builder(logFolder.getPath())
+        .filePrinter(filePrinter)
+        .build();
+    for (int i = 0; i < 5; i++) {
+      archiver.archive(zipFile.getPath());
+      ZipFile zip = new ZipFile(zipFile);
+      try {
+        ZipEntry entry = zip.getEntry("log");
+        if (entry == null) {
+          continue;
+        }
+        // Always ends with a complete log.
+        byte[] content = readAll(zip.getInputStream(entry));
+        String logs = new String(content, "UTF-8");
+        String[] lines = logs.split("\n");
+        for (int j = 0; j < lines.length; j++) {
+          assertEquals("log " + j, lines[j].trim());
+        }
+        assertTrue(logs.endsWith("\n"));
+      } finally {
+        zip.close();
+      }
+    }
+    logger.join();
+
+    // Logs printed before archiving are all archived.
+    archiver.archive(zipFile.getPath());
+    ZipFile zip = new ZipFile(zipFile);
+    try {
+      String logs = new String(readAll(zip.getInputStream(zip.getEntry("log"))), "UTF-8");
+      assertEquals(logCount, logs.split("\n").length);
+    } finally {
+      zip.close();
+    }
+  }
+
+  @Test
+  public void testEmptyFolder() throws Exception {
+    assertEquals(0, new LogArchiver.Builder(logFolder.getPath()).build()
+        .archive(zipFile.getPath()));
+    assertZipContent(new HashMap<String, byte[]>());
+    assertFalse(new File(zipFile.getPath() + ".tmp").exists());
+  }
+
+  private byte[] writeFile(String name, byte[] content) throws Exception {
+    FileOutputStream out = new FileOutputStream(new File(logFolder, name));
+    try {
+      out.write(content);
+    } finally {
+      out.close();
+    }
+    return content;
+  }
+
+  private Map<String, ZipEntry> assertZipContent(Map<String, byte[]> expected) throws Exception {
+    Map<String, ZipEntry> entries = new HashMap<>();
+    ZipFile zip = new ZipFile(zipFile);
+    try {
+      Enumeration<? extends ZipEntry> enumeration = zip.entries();
+      while (enumeration.hasMoreElements()) {
+        ZipEntry entry = enumeration.nextElement();
+        entries.put(entry.getName(), entry);
+        assertArrayEquals(entry.getName(), expected.get(entry.getName()),
+            readAll(zip.getInputStream(entry)));
+      }
+    } finally {
+      zip.close();
+    }
+    assertEquals(expected.keySet(), entries.keySet());
+    return entries;
+  }
+
+  private static byte[] readAll(InputStream in) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    in.close();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.DefaultFlattener;
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.flattener.PatternFlattener;
+import com.elvishew.xlog.printer.file.backup.BackupStrategy2;
+import com.elvishew.xlog.printer.file.backup.FileSizeBackupStrategy2;
+import com.elvishew.xlog.printer.file.writer.BinaryWriter;
+import com.elvishew.xlog.printer.file.writer.SimpleWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LogReaderTest {
+
+  private static final long TIME = 1500000000000L;
+
+  private static final String PATTERN = "{d yyyy-MM-dd HH:mm:ss.SSS} {l}/{t}: {m}";
+
+  private File logFolder = new File("build/test/reader");
+
+  private FileSizeBackupStrategy2 backupStrategy = new FileSizeBackupStrategy2(0, 3);
+
+  @Before
+  public void setup() {
+    File[] files = logFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    logFolder.mkdirs();
+  }
+
+  @Test
+  public void testReadPatternLogsWithBackups() throws Exception {
+    Flattener2 flattener = new PatternFlattener(PATTERN);
+    // Oldest logs go to the last backup.
+    writeTextLogs(backupStrategy.getBackupFileName("log", 2), flattener, 0, 10);
+    writeTextLogs(backupStrategy.getBackupFileName("log", 1), flattener, 10, 20);
+    writeTextLogs("log", flattener, 20, 30);
+
+    List<LogRecord> records = readAll(new LogReader.Builder(logFolder.getPath(), "log")
+        .backupStrategy(backupStrategy)
+        .pattern(PATTERN)
+        .build());
+    assertEquals(30, records.size());
+    for (int i = 0; i < 30; i++) {
+      assertRecord(i, records.get(i));
+    }
+  }
+
+  @Test
+  public void testReadUnlimitedBackups() throws Exception {
+    FileSizeBackupStrategy2 unlimited = new FileSizeBackupStrategy2(0, BackupStrategy2.NO_LIMIT);
+    Flattener2 flattener = new PatternFlattener(PATTERN);
+    // Unlimited backups are never shifted, oldest logs stay in the first backup.
+    writeTextLogs(unlimited.getBackupFileName("log", 1), flattener, 0, 10);
+    writeTextLogs(unlimited.getBackupFileName("log", 2), flattener, 10, 20);
+    writeTextLogs("log", flattener, 20, 30);
+
+    List<LogRecord> records = readAll(new LogReader.Builder(logFolder.getPath(), "log")
+        .backupStrategy(unlimited)
+        .pattern(PATTERN)
+        .build());
+    assertEquals(30, records.size());
+    for (int i = 0; i < 30; i++) {
+      assertRecord(i, records.get(i));
+    }
+  }
+
+  @Test
+  public void testReadDefaultLogs() throws Exception {
+    writeTextLogs("log", new DefaultFlattener(), 0, 10);
+
+    List<LogRecord> records = readAll(new LogReader.Builder(logFolder.getPath(), "log")
+        .build());
+    assertEquals(10, records.size());
+    for (int i = 0; i < 10; i++) {
+      assertRecord(i, records.get(i));
+    }
+  }
+
+  @Test
+  public void testFilters() throws Exception {
+    Flattener2 flattener = new PatternFlattener(PATTERN);
+    writeTextLogs(backupStrategy.getBackupFileName("log", 1), flattener, 0, 50);
+    writeTextLogs("log", flattener, 50, 100);
+
+    List<LogRecord> records = readAll(new LogReader.Builder(logFolder.getPath(), "log")
+        .backupStrategy(backupStrategy)
+        .pattern(PATTERN)
+        .minLevel(LogLevel.WARN)
+        .tags("tag0", "tag1")
+        .timeRange(TIME + 30 * 1000, TIME + 70 * 1000)
+        .build());
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 30; i <= 70; i++) {
+      if (levelOf(i) >= LogLevel.WARN && i % 3 <= 1) {
+        expected.add(i);
+      }
+    }
+    assertEquals(expected.size(), records.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertRecord(expected.get(i), records.get(i));
+    }
+  }
+
+  @Test
+  public void testReadBinaryLogs() throws Exception {
+    BinaryWriter writer = new BinaryWriter();
+    writer.open(new File(logFolder, "log"));
+    for (int i = 0; i < 10; i++) {
+      writer.appendLog(TIME + i * 1000, levelOf(i), "tag" + (i % 3), messageOf(i));
+    }
+    writer.close();
+
+    List<LogRecord> records = readAll(new LogReader.Builder(logFolder.getPath(), "log")
+        .timeRange(TIME + 5 * 1000, Long.MAX_VALUE)
+        .build());
+    assertEquals(5, records.size());
+    for (int i = 0; i < 5; i++) {
+      assertRecord(i + 5, records.get(i));
+    }
+  }
+
+  @Test
+  public void testNoLogFile() throws Exception {
+    LogReader reader = new LogReader.Builder(logFolder.getPath(), "log").build();
+    assertNull(reader.next());
+  }
+
+  private void writeTextLogs(String fileName, Flattener2 flattener, int from, int to) {
+    SimpleWriter writer = new SimpleWriter();
+    writer.open(new File(logFolder, fileName));
+    for (int i = from; i < to; i++) {
+      writer.appendLog(flattener.flatten(TIME + i * 1000, levelOf(i), "tag" + (i % 3),
+          messageOf(i)).toString());
+    }
+    writer.close();
+  }
+
+  private static int levelOf(int i) {
+    return LogLevel.VERBOSE + i % 6;
+  }
+
+  private static String messageOf(int i) {
+    // Some messages span multiple lines.
+    return i % 4 == 0 ? "log " + i + "\nsecond line\n  third: line" : "log " + i;
+  }
+
+  private static void assertRecord(int i, LogRecord record) {
+    assertEquals(TIME + i * 1000, record.timeMillis);
+    assertEquals(levelOf(i), record.level);
+    assertEquals("tag" + (i % 3), record.tag);
+    assertEquals(messageOf(i), record.msg);
+  }
+
+  private static List<LogRecord> readAll(LogReader reader) throws Exception {
+    List<LogRecord> records = new ArrayList<>();
+    try {
+      LogRecord record;
+      while ((record = reader.next()) != null) {
+        records.add(record);
+      }
+    } finally {
+      reader.close();
+    }
+    return records;
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.reader;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.internal.printer.file.TimeIndexWriter;
+import com.elvishew.xlog.internal.printer.file.backup.BackupUtil;
+import com.elvishew.xlog.printer.file.backup.FileSizeBackupStrategy2;
+import com.elvishew.xlog.printer.file.writer.BinaryWriter;
+import com.elvishew.xlog.printer.file.writer.SimpleWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimeIndexTest {
+
+  private static final long TIME = 1500000000000L;
+
+  private static final int LOG_COUNT = 2000;
+
+  private File logFolder = new File("build/test/index");
+
+  private File logFile = new File(logFolder, "log");
+
+  @Before
+  public void setup() {
+    File[] files = logFolder.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    logFolder.mkdirs();
+  }
+
+  @Test
+  public void testTextLogIndex() throws Exception {
+    SimpleWriter writer = new SimpleWriter();
+    TimeIndexWriter indexWriter = new TimeIndexWriter(1024);
+    writer.open(logFile);
+    indexWriter.open(logFile);
+    for (int i = 0; i < LOG_COUNT; i++) {
+      String log = (TIME + i * 1000) + " log " + i;
+      indexWriter.beforeAppendText(TIME + i * 1000, log.length());
+      writer.appendLog(log);
+    }
+    indexWriter.close();
+    writer.close();
+
+    assertEquals(TIME, TimeIndex.getFirstTime(logFile));
+    assertEquals(0, TimeIndex.findOffset(logFile, TIME - 1));
+    long indexEntries = TimeIndex.indexFileOf(logFile).length() / TimeIndex.ENTRY_SIZE;
+    assertTrue(indexEntries > 10 && indexEntries < 100);
+
+    for (int target : new int[]{0, 1, 999, 1000, 1500, LOG_COUNT - 1}) {
+      long targetTime = TIME + target * 1000;
+      long offset = TimeIndex.findOffset(logFile, targetTime);
+      FileInputStream in = new FileInputStream(logFile);
+      in.skip(offset);
+      BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+      try {
+        // Start at a log before or at the target, and not too far from it.
+        int first = Integer.parseInt(reader.readLine().split(" log ")[1]);
+        assertTrue(first <= target && target - first < 100);
+      } finally {
+        reader.close();
+      }
+    }
+  }
+
+  @Test
+  public void testBinaryLogIndex() throws Exception {
+    BinaryWriter writer = new BinaryWriter();
+    TimeIndexWriter indexWriter = new TimeIndexWriter(1024);
+    writer.open(logFile);
+    indexWriter.open(logFile);
+    for (int i = 0; i < LOG_COUNT; i++) {
+      indexWriter.beforeAppendBinary(TIME + i * 1000, writer);
+      writer.appendLog(TIME + i * 1000, LogLevel.INFO, "tag" + (i % 5), "log " + i);
+    }
+    indexWriter.close();
+    writer.close();
+
+    int target = 1234;
+    long offset = TimeIndex.findOffset(logFile, TIME + target * 1000);
+    assertTrue(offset > 0);
+    FileInputStream in = new FileInputStream(logFile);
+    in.skip(offset);
+    BinaryLogDecoder decoder = new BinaryLogDecoder(in, false);
+    try {
+      // Decoding starts right at a sync point.
+      LogRecord record = decoder.next();
+      int first = Integer.parseInt(record.msg.substring("log ".length()));
+      assertTrue(first <= target && target - first < 100);
+      assertEquals("tag" + (first % 5), record.tag);
+      assertEquals(TIME + first * 1000, record.timeMillis);
+    } finally {
+      decoder.close();
+    }
+  }
+
+  @Test
+  public void testIndexMovedWithBackup() throws Exception {
+    SimpleWriter writer = new SimpleWriter();
+    TimeIndexWriter indexWriter = new TimeIndexWriter(1024);
+    writer.open(logFile);
+    indexWriter.open(logFile);
+    indexWriter.beforeAppendText(TIME, 3);
+    writer.appendLog("log");
+    indexWriter.close();
+    writer.close();
+
+    FileSizeBackupStrategy2 backupStrategy = new FileSizeBackupStrategy2(0, 3);
+    BackupUtil.backup(logFile, backupStrategy, TimeIndex.FILE_SUFFIX);
+    File backupFile = new File(logFolder, backupStrategy.getBackupFileName("log", 1));
+    assertFalse(TimeIndex.indexFileOf(logFile).exists());
+    assertEquals(TIME, TimeIndex.getFirstTime(backupFile));
+
+    // Index of a log file created again starts over.
+    writer.open(logFile);
+    indexWriter.open(logFile);
+    indexWriter.beforeAppendText(TIME + 1, 3);
+    writer.appendLog("log");
+    indexWriter.close();
+    writer.close();
+    assertEquals(TIME + 1, TimeIndex.getFirstTime(logFile));
+  }
+}
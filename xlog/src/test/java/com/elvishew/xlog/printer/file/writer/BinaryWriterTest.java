@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.file.writer;
+
+import com.elvishew.xlog.LogLevel;
+import com.elvishew.xlog.flattener.ClassicFlattener;
+import com.elvishew.xlog.flattener.Flattener2;
+import com.elvishew.xlog.internal.SystemCompat;
+import com.elvishew.xlog.printer.file.reader.BinaryLogDecoder;
+import com.elvishew.xlog.printer.file.reader.LogRecord;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryWriterTest {
+
+  private static final long TIME = 1500000000000L;
+
+  private File logFile = new File("build/test/binary", "log");
+
+  @Before
+  public void setup() {
+    logFile.delete();
+    logFile.getParentFile().mkdirs();
+  }
+
+  @Test
+  public void testWriteAndDecode() throws Exception {
+    BinaryWriter writer = new BinaryWriter(100);
+    assertTrue(writer.open(logFile));
+    writer.appendLog("Header");
+    for (int i = 0; i < 20; i++) {
+      writer.appendLog(TIME + i * 10, LogLevel.DEBUG, "tag" + (i % 3), "message " + i);
+    }
+    writer.appendLog(TIME, LogLevel.ERROR, "标签", "中文 😀");
+    writer.appendLog(TIME - 1000, 1000, "tag", "custom level, time backwards");
+    writer.close();
+
+    // Append after reopened.
+    assertTrue(writer.open(logFile));
+    writer.appendLog(TIME + 1, LogLevel.INFO, "tag1", "after reopened");
+    writer.close();
+
+    BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(logFile));
+    try {
+      LogRecord record = decoder.next();
+      assertEquals(LogRecord.LEVEL_RAW, record.level);
+      assertEquals("Header", record.msg);
+      for (int i = 0; i < 20; i++) {
+        assertRecord(decoder.next(), TIME + i * 10, LogLevel.DEBUG, "tag" + (i % 3),
+            "message " + i);
+      }
+      assertRecord(decoder.next(), TIME, LogLevel.ERROR, "标签", "中文 😀");
+      assertRecord(decoder.next(), TIME - 1000, 1000, "tag", "custom level, time backwards");
+      assertRecord(decoder.next(), TIME + 1, LogLevel.INFO, "tag1", "after reopened");
+      assertNull(decoder.next());
+    } finally {
+      decoder.close();
+    }
+  }
+
+  @Test
+  public void testDecodeToText() throws Exception {
+    BinaryWriter writer = new BinaryWriter();
+    assertTrue(writer.open(logFile));
+    Flattener2 flattener = new ClassicFlattener();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      writer.appendLog(TIME + i, LogLevel.INFO, "MainActivity", "Log number " + i);
+      expected.append(flattener.flatten(TIME + i, LogLevel.INFO, "MainActivity", "Log number " + i))
+          .append(SystemCompat.lineSeparator);
+    }
+    writer.close();
+
+    // Much smaller than the text.
+    assertTrue(logFile.length() * 2 < expected.length());
+
+    StringBuilder text = new StringBuilder();
+    BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(logFile));
+    try {
+      assertEquals(100, decoder.decodeTo(flattener, text));
+    } finally {
+      decoder.close();
+    }
+    assertEquals(expected.toString(), text.toString());
+  }
+
+  @Test
+  public void testDecodeTruncatedFile() throws Exception {
+    BinaryWriter writer = new BinaryWriter();
+    assertTrue(writer.open(logFile));
+    writer.appendLog(TIME, LogLevel.INFO, "tag", "complete");
+    writer.appendLog(TIME, LogLevel.INFO, "tag", "partially written");
+    writer.close();
+    RandomAccessFile file = new RandomAccessFile(logFile, "rw");
+    file.setLength(file.length() - 3);
+    file.close();
+
+    BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(logFile));
+    try {
+      assertRecord(decoder.next(), TIME, LogLevel.INFO, "tag", "complete");
+      assertNull(decoder.next());
+    } finally {
+      decoder.close();
+    }
+  }
+
+  @Test
+  public void testNotBinaryLogFile() throws Exception {
+    FileOutputStream out = new FileOutputStream(logFile);
+    out.write("2017-07-14 10:40:00.000 I/tag: text log".getBytes());
+    out.close();
+    assertFalse(BinaryLogDecoder.isBinaryLogFile(logFile));
+    try {
+      new BinaryLogDecoder(new FileInputStream(logFile));
+      throw new AssertionError("Text log file should not be decoded");
+    } catch (IOException expected) {
+    }
+  }
+
+  private static void assertRecord(LogRecord record, long timeMillis, int level, String tag,
+                                   String msg) {
+    assertEquals(timeMillis, record.timeMillis);
+    assertEquals(level, record.level);
+    assertEquals(tag, record.tag);
+    assertEquals(msg, record.msg);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Elvis Hew
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.elvishew.xlog.printer.remote;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class TransportTest {
+
+  private static final byte[] BATCH = "log1\nlog2\n".getBytes();
+
+  @Test
+  public void testHttpTransport() throws Exception {
+    final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/logs", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        received.add(exchange.getRequestMethod() + " "
+            + exchange.getRequestHeaders().getFirst("Content-Encoding") + " "
+            + new String(readFully(exchange.getRequestBody())));
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+      }
+    });
+    server.createContext("/error", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        readFully(exchange.getRequestBody());
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+      }
+    });
+    server.start();
+    try {
+      String base = "http://127.0.0.1:" + server.getAddress().getPort();
+      new HttpTransport(new URL(base + "/logs")).send(BATCH, true);
+      assertEquals("POST gzip log1\nlog2\n", received.poll(5, TimeUnit.SECONDS));
+
+      try {
+        new HttpTransport(new URL(base + "/error")).send(BATCH, false);
+        fail("Error response should fail the sending");
+      } catch (IOException expected) {
+      }
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void testTcpTransport() throws Exception {
+    final ServerSocket serverSocket = new ServerSocket(0);
+    final BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+    Thread server = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Socket socket = serverSocket.accept();
+          DataInputStream in = new DataInputStream(socket.getInputStream());
+          for (int i = 0; i < 2; i++) {
+            int flags = in.readByte();
+            byte[] batch = new byte[in.readInt()];
+            in.readFully(batch);
+            received.add(new byte[]{(byte) flags});
+            received.add(batch);
+            socket.getOutputStream().write(0);
+          }
+          socket.close();
+        } catch (IOException e) {
+          e.printStackTrace();
+        }
+      }
+    };
+    server.start();
+
+    TcpTransport transport = new TcpTransport("127.0.0.1", serverSocket.getLocalPort());
+    try {
+      transport.send(BATCH, true);
+      transport.send(BATCH, false);
+      assertArrayEquals(new byte[]{TcpTransport.FLAG_COMPRESSED}, received.take());
+      assertArrayEquals(BATCH, received.take());
+      assertArrayEquals(new byte[]{0}, received.take());
+      assertArrayEquals(BATCH, received.take());
+
+      // The server is gone.
+      server.join();
+      serverSocket.close();
+      try {
+        transport.send(BATCH, false);
+        fail("Sending to a closed server should fail");
+      } catch (IOException expected) {
+      }
+    } finally {
+      transport.close();
+    }
+  }
+
+  private static byte[] readFully(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      out.write(buffer, 0, count);
+    }
+    return out.toByteArray();
+  }
+}